@@ -30,6 +30,7 @@ import java.text.NumberFormat;
 import java.util.Date;
 import java.util.Locale;
 
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
 import megamek.MegaMek;
@@ -41,8 +42,12 @@ import megamek.common.logging.LogLevel;
 import megamek.common.logging.MMLogger;
 import megamek.common.preference.PreferenceManager;
 import megamek.common.util.MegaMekFile;
+import megameklab.com.printing.RecordSheetExporter;
 import megameklab.com.ui.StartupGUI;
 import megameklab.com.util.CConfig;
+import megameklab.com.util.Diagnostics;
+import megameklab.com.util.EquipmentCatalog;
+import megameklab.com.util.StartupOrchestrator;
 import megameklab.com.util.UnitUtil;
 
 public class MegaMekLab {
@@ -52,11 +57,27 @@ public class MegaMekLab {
 
     private static MMLogger logger = null;
 
+    /** The startup phase that loads the equipment types, or null if they are loaded directly */
+    private static volatile StartupOrchestrator.Phase equipment = null;
+
+    /** Command line argument that selects headless record sheet export */
+    public static final String ARG_EXPORT = "-export"; //$NON-NLS-1$
+
     public static void main(String[] args) {
+        Diagnostics.installShutdownHook();
+        if ((args.length > 0) && args[0].equalsIgnoreCase(ARG_EXPORT)) {
+            System.exit(exportRecordSheets(args));
+        }
     	System.setProperty("apple.laf.useScreenMenuBar", "true");
         System.setProperty("com.apple.mrj.application.apple.menu.about.name","MegaMekLab");
         redirectOutput();
-        //add classic battletech font
+        startup();
+    }
+
+    /**
+     * Adds the classic battletech font to the fonts available to the application.
+     */
+    private static void registerBTFont() {
         try {
             GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
             File btFontFile = new MegaMekFile(Configuration.fontsDir(), FILENAME_BT_CLASSIC_FONT).getFile();
@@ -66,7 +87,6 @@ public class MegaMekLab {
         } catch (IOException | FontFormatException e) {
             System.out.println("Error Registering BT Classic Font! Error: " + e.getMessage());
         }
-        startup();
     }
 
     private static void redirectOutput() {
@@ -128,19 +148,124 @@ public class MegaMekLab {
         getLogger().log(MegaMekLab.class, METHOD_NAME, LogLevel.INFO, msg);
     }
     
+    /**
+     * Runs the startup phases in parallel where they do not depend on each other. The start up
+     * frame is shown as soon as the configuration and look and feel are ready, while the equipment
+     * continues to load in the background; anything that needs the equipment is put off with
+     * {@link #whenEquipmentLoaded(Runnable)}. The unit summary cache is loaded after the equipment,
+     * and nothing waits for it until a unit is selected.
+     */
     private static void startup() {
+        final String METHOD_NAME = "startup()";
+        final long start = System.nanoTime();
         showInfo();
         Locale.setDefault(Locale.US);
-        EquipmentType.initializeTypes();
-        MechSummaryCache.getInstance();
-        new CConfig();
-        UnitUtil.loadFonts();
-        setLookAndFeel();
+        StartupOrchestrator orchestrator = new StartupOrchestrator();
+        orchestrator.add("BT font", MegaMekLab::registerBTFont);
+        StartupOrchestrator.Phase config = orchestrator.add("Configuration", CConfig::new);
+        StartupOrchestrator.Phase lookAndFeel = orchestrator.add("Look and feel",
+                MegaMekLab::setLookAndFeel, config);
+        orchestrator.add("Record sheet fonts", UnitUtil::loadFonts, config);
+        equipment = orchestrator.add("Equipment", () -> {
+            EquipmentType.initializeTypes();
+            EquipmentCatalog.getInstance().initialize();
+        });
+        orchestrator.add("Unit cache", MechSummaryCache::getInstance, equipment);
+        orchestrator.shutdownWhenDone();
+
+        lookAndFeel.await();
         //create a start up frame and display it
         StartupGUI sud = new StartupGUI();
         sud.setVisible(true);
+        Diagnostics.getInstance().record("startup.frameShown", start);
+        getLogger().log(MegaMekLab.class, METHOD_NAME, LogLevel.INFO,
+                "Start up frame shown after " + orchestrator.getElapsedMillis() + " ms");
+    }
+
+    /**
+     * Runs an action on the event dispatch thread once the equipment types have finished loading.
+     * This must be called on the event dispatch thread. If the equipment is already loaded, the
+     * action runs immediately.
+     *
+     * @param action The action to run
+     */
+    public static void whenEquipmentLoaded(Runnable action) {
+        final StartupOrchestrator.Phase phase = equipment;
+        if ((null == phase) || phase.isDone()) {
+            action.run();
+        } else {
+            phase.whenDone(() -> SwingUtilities.invokeLater(action));
+        }
     }
     
+    /**
+     * Writes record sheets to files without opening any windows. Arguments are
+     * <pre>
+     * -export [-format svg|png] [-out dir] [-dpi n] [-single] source
+     * </pre>
+     * where source is a MUL file, a directory of unit files, or a text file listing one unit name
+     * per line.
+     * 
+     * @param args The command line arguments
+     * @return     The exit status
+     */
+    private static int exportRecordSheets(String[] args) {
+        final String METHOD_NAME = "exportRecordSheets(String[])";
+        System.setProperty("java.awt.headless", "true");
+
+        RecordSheetExporter.Format format = RecordSheetExporter.Format.SVG;
+        File outputDir = new File(".");
+        int dpi = RecordSheetExporter.DEFAULT_DPI;
+        boolean singlePrint = false;
+        File source = null;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equalsIgnoreCase("-format") && (i + 1 < args.length)) {
+                    format = RecordSheetExporter.Format.parse(args[++i]);
+                    if (null == format) {
+                        System.err.println("Unsupported format: " + args[i]);
+                        return 1;
+                    }
+                } else if (args[i].equalsIgnoreCase("-out") && (i + 1 < args.length)) {
+                    outputDir = new File(args[++i]);
+                } else if (args[i].equalsIgnoreCase("-dpi") && (i + 1 < args.length)) {
+                    dpi = Integer.parseInt(args[++i]);
+                } else if (args[i].equalsIgnoreCase("-single")) {
+                    singlePrint = true;
+                } else {
+                    source = new File(args[i]);
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number: " + e.getMessage());
+            return 1;
+        }
+        if ((null == source) || !source.exists() || (dpi < 1)) {
+            System.err.println("Usage: " + ARG_EXPORT
+                    + " [-format svg|png] [-out dir] [-dpi n] [-single] <mul file|unit directory|unit list>");
+            return 1;
+        }
+
+        showInfo();
+        Locale.setDefault(Locale.US);
+        EquipmentType.initializeTypes();
+        new CConfig();
+        UnitUtil.loadFonts();
+
+        RecordSheetExporter exporter = new RecordSheetExporter(outputDir, format);
+        exporter.setDpi(dpi);
+        exporter.setSinglePrint(singlePrint);
+        try {
+            int pages = exporter.export(source);
+            System.out.println("Wrote " + pages + " record sheet pages to " + outputDir.getAbsolutePath());
+            return 0;
+        } catch (Exception e) {
+            getLogger().error(MegaMekLab.class, METHOD_NAME, e);
+            System.err.println("Record sheet export failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
     private static void setLookAndFeel() {
         try {
             String plaf = CConfig.getParam(CConfig.CONFIG_PLAF, UIManager.getSystemLookAndFeelClassName());
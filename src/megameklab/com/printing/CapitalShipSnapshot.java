@@ -0,0 +1,299 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.printing;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import megamek.common.AmmoType;
+import megamek.common.Bay;
+import megamek.common.Jumpship;
+import megamek.common.Mounted;
+import megamek.common.WeaponType;
+
+/**
+ * Adds the values printed on jumpship, warship, and space station record sheets to the
+ * {@link PrintSnapshot}: the weapon bay lines, heat, thresholds, crew, transport bays, and
+ * the structure blocks.
+ */
+public class CapitalShipSnapshot extends PrintSnapshot {
+
+    private final List<WeaponBayText> capitalWeapTexts;
+    private final List<WeaponBayText> standardWeapTexts;
+    private final boolean hasAR10;
+    private final int[] heatInArc;
+    private final int[] threshold;
+    private final int heatSinks;
+    private final boolean doubleHeatSinks;
+    private final int crew;
+    private final int marines;
+    private final int passengers;
+    private final int battleArmor;
+    private final int otherCrew;
+    private final int lifeBoats;
+    private final int escapePods;
+    private final List<Integer> gravDecks;
+    private final int printableBayCount;
+    private final List<String> bayLines;
+    private final int si;
+    private final int kfIntegrity;
+    private final int sailIntegrity;
+    private final int dockingCollars;
+
+    /**
+     * @param ship           The ship being printed
+     * @param ignorePilot    Whether to ignore pilot skills and C3 networks when calculating BV
+     * @param walk           The formatted safe thrust
+     * @param run            The formatted max thrust
+     * @param jump           The formatted jump MP
+     */
+    public CapitalShipSnapshot(Jumpship ship, boolean ignorePilot, String walk, String run, String jump) {
+        super(ship, ignorePilot, walk, run, jump);
+        List<Mounted> standardWeapons = new ArrayList<>();
+        List<Mounted> capitalWeapons = new ArrayList<>();
+        for (Mounted m : ship.getWeaponList()) {
+            WeaponType wtype = (WeaponType) m.getType();
+            if (wtype.isCapital()) {
+                capitalWeapons.add(m);
+            } else {
+                standardWeapons.add(m);
+            }
+        }
+        capitalWeapTexts = computeWeaponBayTexts(ship, capitalWeapons);
+        standardWeapTexts = computeWeaponBayTexts(ship, standardWeapons);
+        hasAR10 = ship.getTotalWeaponList().stream()
+                .anyMatch(w -> ((WeaponType) w.getType()).getAmmoType() == AmmoType.T_AR10);
+
+        heatInArc = new int[ship.locations()];
+        threshold = new int[ship.locations()];
+        for (int loc = 0; loc < ship.locations(); loc++) {
+            heatInArc[loc] = ship.getHeatInArc(loc, false);
+            if ((loc >= ship.firstArmorIndex()) && (loc < Jumpship.LOC_HULL)) {
+                threshold[loc] = ship.getThresh(loc);
+            }
+        }
+        heatSinks = ship.getHeatSinks();
+        doubleHeatSinks = ship.getHeatType() == Jumpship.HEAT_DOUBLE;
+
+        crew = ship.getNCrew();
+        marines = ship.getNMarines();
+        passengers = ship.getNPassenger();
+        battleArmor = ship.getNBattleArmor();
+        otherCrew = ship.getNOtherCrew();
+        lifeBoats = ship.getLifeBoats();
+        escapePods = ship.getEscapePods();
+
+        gravDecks = Collections.unmodifiableList(new ArrayList<>(ship.getGravDecks()));
+        printableBayCount = (int) ship.getTransports().stream()
+                .filter(t -> (t instanceof Bay) && !((Bay) t).isQuarters()).count();
+        bayLines = Collections.unmodifiableList(computeBayLines(ship));
+
+        si = ship.get0SI();
+        kfIntegrity = ship.getKFIntegrity();
+        sailIntegrity = ship.getSailIntegrity();
+        dockingCollars = ship.getDockingCollars().size();
+    }
+
+    /**
+     * Iterate through a list of weapons and create information about what weapons
+     * belong in what bays, how many, the bay damage, and also condense entries when
+     * possible.
+     *
+     * @param ship    The ship being printed
+     * @param weapons The weapon bays to print
+     * @return        The bay texts, sorted by location
+     */
+    private static List<WeaponBayText> computeWeaponBayTexts(Jumpship ship, List<Mounted> weapons) {
+        // Collection info on weapons to print
+        List<WeaponBayText> weaponBayTexts = new ArrayList<>();
+        for (Mounted bay : weapons) {
+            WeaponBayText wbt = new WeaponBayText(bay.getLocation(), false);
+            for (Integer wId : bay.getBayWeapons()) {
+                Mounted weap = ship.getEquipment(wId);
+                wbt.addBayWeapon(weap);
+            }
+            // Combine or add
+            boolean combined = false;
+            for (WeaponBayText combine : weaponBayTexts) {
+                if (combine.canCombine(wbt)) {
+                    combine.combine(wbt);
+                    combined = true;
+                    break;
+                }
+            }
+            if (!combined) {
+                weaponBayTexts.add(wbt);
+            }
+        }
+        Collections.sort(weaponBayTexts);
+
+        return Collections.unmodifiableList(weaponBayTexts);
+    }
+
+    /**
+     * Formats a line for each cargo and transport bay. We can have multiple Bay instances within
+     * one conceptual bay on the ship, so all bays with the same ID are gathered into one line.
+     *
+     * @param ship The ship being printed
+     * @return     The bay lines, in bay number order
+     */
+    private static List<String> computeBayLines(Jumpship ship) {
+        Map<Integer, List<Bay>> bayMap = new TreeMap<>();
+        for (Bay bay : ship.getTransportBays()) {
+            if (bay.isQuarters()) {
+                continue;
+            }
+            bayMap.computeIfAbsent(bay.getBayNumber(), k -> new ArrayList<>()).add(bay);
+        }
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Integer, List<Bay>> entry : bayMap.entrySet()) {
+            StringBuilder bayTypeString = new StringBuilder();
+            StringBuilder bayCapacityString = new StringBuilder();
+            bayCapacityString.append(" (");
+            List<Bay> bays = entry.getValue();
+            // Display larger storage first
+            bays.sort(Comparator.comparingDouble(Bay::getCapacity).reversed());
+            int doors = 0;
+            for (int i = 0; i < bays.size(); i++) {
+                Bay b = bays.get(i);
+                bayTypeString.append(b.getType());
+                bayCapacityString.append(NumberFormat.getInstance().format(b.getCapacity()));
+                if ((i + 1) < bays.size()) {
+                    bayTypeString.append("/");
+                    bayCapacityString.append("/");
+                }
+                doors = Math.max(doors, b.getDoors());
+            }
+            bayCapacityString.append(")");
+            lines.add("Bay " + entry.getKey() + ": " + bayTypeString
+                    + bayCapacityString + " (" + doors + (doors == 1 ? " Door)" : " Doors)"));
+        }
+        return lines;
+    }
+
+    /**
+     * @return The capital scale weapon bays, sorted by location
+     */
+    public List<WeaponBayText> getCapitalWeapTexts() {
+        return capitalWeapTexts;
+    }
+
+    /**
+     * @return The standard scale weapon bays, sorted by location
+     */
+    public List<WeaponBayText> getStandardWeapTexts() {
+        return standardWeapTexts;
+    }
+
+    /**
+     * @return Whether the ship mounts any AR10 launchers
+     */
+    public boolean hasAR10() {
+        return hasAR10;
+    }
+
+    /**
+     * @param loc The firing arc
+     * @return    The total heat of the weapons in the arc
+     */
+    public int getHeatInArc(int loc) {
+        return heatInArc[loc];
+    }
+
+    /**
+     * @param loc The location index
+     * @return    The damage threshold for the location
+     */
+    public int getThreshold(int loc) {
+        return threshold[loc];
+    }
+
+    public int getHeatSinks() {
+        return heatSinks;
+    }
+
+    public boolean hasDoubleHeatSinks() {
+        return doubleHeatSinks;
+    }
+
+    public int getCrew() {
+        return crew;
+    }
+
+    public int getMarines() {
+        return marines;
+    }
+
+    public int getPassengers() {
+        return passengers;
+    }
+
+    public int getBattleArmor() {
+        return battleArmor;
+    }
+
+    public int getOtherCrew() {
+        return otherCrew;
+    }
+
+    public int getLifeBoats() {
+        return lifeBoats;
+    }
+
+    public int getEscapePods() {
+        return escapePods;
+    }
+
+    /**
+     * @return The diameter of each grav deck, in meters
+     */
+    public List<Integer> getGravDecks() {
+        return gravDecks;
+    }
+
+    /**
+     * @return The number of transport bays other than quarters
+     */
+    public int getPrintableBayCount() {
+        return printableBayCount;
+    }
+
+    /**
+     * @return The formatted cargo and transport bay lines
+     */
+    public List<String> getBayLines() {
+        return bayLines;
+    }
+
+    public int getSI() {
+        return si;
+    }
+
+    public int getKFIntegrity() {
+        return kfIntegrity;
+    }
+
+    public int getSailIntegrity() {
+        return sailIntegrity;
+    }
+
+    public int getDockingCollars() {
+        return dockingCollars;
+    }
+}
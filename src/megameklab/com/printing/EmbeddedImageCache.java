@@ -0,0 +1,243 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.printing;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+import megamek.common.annotations.Nullable;
+
+/**
+ * Process-wide cache of images prepared for embedding in a record sheet. Each image is reduced to
+ * the resolution it will be printed at and encoded as a data URI once, and the same URI is used
+ * for every sheet that embeds the image in a box of the same size. Entries are keyed by file and
+ * box size and are invalidated if the file's modification time changes.
+ */
+public class EmbeddedImageCache {
+
+    /** The maximum number of encoded images to keep in memory */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /** The resolution images are reduced to, relative to the 72 units per inch of the sheet */
+    public static final int TARGET_DPI = 300;
+
+    private static final EmbeddedImageCache instance = new EmbeddedImageCache(DEFAULT_CAPACITY);
+
+    private final Map<String, EmbeddedImage> images;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @return The shared image cache
+     */
+    public static EmbeddedImageCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param capacity The maximum number of images to hold before evicting the least recently
+     *                 used one.
+     */
+    EmbeddedImageCache(final int capacity) {
+        images = new LinkedHashMap<String, EmbeddedImage>(capacity + 1, 0.75f, true) {
+            private static final long serialVersionUID = 6042919713385224166L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EmbeddedImage> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Provides the encoded form of an image to be drawn in a box of the given size, loading and
+     * encoding it if it is not already in the cache.
+     *
+     * @param imageFile The image file
+     * @param width     The width of the box the image is scaled to fit, in sheet units
+     * @param height    The height of the box the image is scaled to fit, in sheet units
+     * @return          The encoded image, or null if the file format is not recognized
+     * @throws IOException If the file cannot be read
+     */
+    public @Nullable EmbeddedImage getImage(File imageFile, double width, double height) throws IOException {
+        final String key = imageFile.getAbsolutePath() + "|" + width + "x" + height;
+        final long lastModified = imageFile.lastModified();
+        EmbeddedImage image;
+        synchronized (images) {
+            image = images.get(key);
+        }
+        if ((null != image) && (image.lastModified == lastModified)) {
+            hits.incrementAndGet();
+            return image;
+        }
+        misses.incrementAndGet();
+        image = load(imageFile, lastModified, width, height);
+        synchronized (images) {
+            if (null == image) {
+                images.remove(key);
+            } else {
+                images.put(key, image);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * @return The number of requests that were satisfied from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of requests that required reading the file
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of images currently held in the cache
+     */
+    public int size() {
+        synchronized (images) {
+            return images.size();
+        }
+    }
+
+    /**
+     * Removes all images from the cache and resets the counters.
+     */
+    public void clear() {
+        synchronized (images) {
+            images.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    private static @Nullable EmbeddedImage load(File imageFile, long lastModified, double width,
+            double height) throws IOException {
+        String mimeType;
+        try (InputStream is = new BufferedInputStream(new FileInputStream(imageFile))) {
+            mimeType = URLConnection.guessContentTypeFromStream(is);
+        }
+        if (null == mimeType) {
+            return null;
+        }
+        BufferedImage source = ImageIO.read(imageFile);
+        if (null == source) {
+            return null;
+        }
+        final double scale = Math.min(width / source.getWidth(), height / source.getHeight());
+        final int targetWidth = (int) Math.ceil(source.getWidth() * scale * TARGET_DPI / 72.0);
+        final int targetHeight = (int) Math.ceil(source.getHeight() * scale * TARGET_DPI / 72.0);
+
+        byte[] bytes;
+        if ((targetWidth >= source.getWidth()) || (targetHeight >= source.getHeight())) {
+            // Already at or below the printed resolution, so the file can be embedded as it is.
+            bytes = Files.readAllBytes(imageFile.toPath());
+        } else {
+            BufferedImage scaled = downscale(source, targetWidth, targetHeight);
+            String format = mimeType.substring(mimeType.indexOf("/") + 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if (!ImageIO.write(scaled, format, out)) {
+                out.reset();
+                ImageIO.write(scaled, "png", out);
+                mimeType = "image/png";
+            }
+            bytes = out.toByteArray();
+        }
+        return new EmbeddedImage("data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(bytes),
+                source.getWidth(), source.getHeight(), lastModified);
+    }
+
+    /**
+     * Reduces an image to the target size by repeatedly halving it, which preserves more detail
+     * than a single bilinear step when the reduction is large.
+     */
+    private static BufferedImage downscale(BufferedImage source, int targetWidth, int targetHeight) {
+        final int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB
+                : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(targetWidth, w / 2);
+            h = Math.max(targetHeight, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g2d = next.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(current, 0, 0, w, h, null);
+            g2d.dispose();
+            current = next;
+        } while ((w > targetWidth) || (h > targetHeight));
+        return current;
+    }
+
+    /**
+     * An image encoded as a data URI, with the dimensions of the original file so that it can be
+     * placed with the same aspect ratio.
+     */
+    public static class EmbeddedImage {
+        private final String dataUri;
+        private final int width;
+        private final int height;
+        private final long lastModified;
+
+        private EmbeddedImage(String dataUri, int width, int height, long lastModified) {
+            this.dataUri = dataUri;
+            this.width = width;
+            this.height = height;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * @return The image data in a form that can be used as the target of an image link
+         */
+        public String getDataUri() {
+            return dataUri;
+        }
+
+        /**
+         * @return The width of the original image
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * @return The height of the original image
+         */
+        public int getHeight() {
+            return height;
+        }
+    }
+}
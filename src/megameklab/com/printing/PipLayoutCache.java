@@ -0,0 +1,219 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.printing;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import megameklab.com.printing.PrintRecordSheet.PipType;
+import megameklab.com.util.Diagnostics;
+
+/**
+ * Process-wide cache of computed pip layouts. Finding the layout for a pip region is an iterative
+ * search, but the result depends only on the region's row bounds, the number of pips and the
+ * drawing options. Layouts are keyed by template and region id, and the row bounds they were
+ * computed from are stored with them so that a changed template is detected and laid out again.
+ */
+public class PipLayoutCache {
+
+    /** The maximum number of layouts to keep in memory */
+    public static final int DEFAULT_CAPACITY = 2048;
+
+    private static final PipLayoutCache instance = new PipLayoutCache(DEFAULT_CAPACITY);
+
+    private final Map<Key, PipLayout> layouts;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @return The shared layout cache
+     */
+    public static PipLayoutCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param capacity The maximum number of layouts to hold before evicting the least recently
+     *                 used one.
+     */
+    PipLayoutCache(final int capacity) {
+        layouts = new LinkedHashMap<Key, PipLayout>(capacity + 1, 0.75f, true) {
+            private static final long serialVersionUID = 3177529530741946412L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PipLayout> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Finds the layout for a pip region, computing it if it is not in the cache.
+     *
+     * @param template  Identifies the template the region belongs to
+     * @param regionId  The id of the region within the template
+     * @param rows      The row bounds read from the region, in document order
+     * @param pipCount  The number of pips
+     * @param symmetric Whether the pips are laid out symmetrically about the center line
+     * @param pipType   The shape of the pips
+     * @param size      The ratio of the pip radius to the row height
+     * @param solver    Computes the layout on a cache miss
+     * @return          The pip layout
+     */
+    public PipLayout getLayout(String template, String regionId, List<Rectangle2D> rows, int pipCount,
+            boolean symmetric, PipType pipType, double size, Supplier<PipLayout> solver) {
+        final Key key = new Key(template, regionId, pipCount, symmetric, pipType, size);
+        PipLayout layout;
+        synchronized (layouts) {
+            layout = layouts.get(key);
+        }
+        if ((null != layout) && layout.rows.equals(rows)) {
+            hits.incrementAndGet();
+            return layout;
+        }
+        misses.incrementAndGet();
+        final long start = System.nanoTime();
+        layout = solver.get();
+        Diagnostics.getInstance().record("pip.layout", start);
+        layout.rows = new ArrayList<>(rows);
+        synchronized (layouts) {
+            layouts.put(key, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * @return The number of layouts that were found in the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of layouts that had to be computed
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of layouts currently held in the cache
+     */
+    public int size() {
+        synchronized (layouts) {
+            return layouts.size();
+        }
+    }
+
+    /**
+     * Removes all layouts from the cache and resets the counters.
+     */
+    public void clear() {
+        synchronized (layouts) {
+            layouts.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * The position and radius of each pip in a region, in the order they are added to the sheet.
+     */
+    public static class PipLayout {
+        private double[] pips = new double[48];
+        private int count = 0;
+        private List<Rectangle2D> rows = new ArrayList<>();
+
+        /**
+         * Adds a pip to the layout. This is only used while the layout is being computed.
+         *
+         * @param x      The left edge of the pip
+         * @param y      The top edge of the pip
+         * @param radius The pip radius
+         */
+        void add(double x, double y, double radius) {
+            if (pips.length < (count + 1) * 3) {
+                pips = Arrays.copyOf(pips, pips.length * 2);
+            }
+            pips[count * 3] = x;
+            pips[count * 3 + 1] = y;
+            pips[count * 3 + 2] = radius;
+            count++;
+        }
+
+        /**
+         * @return The number of pips in the layout
+         */
+        public int getPipCount() {
+            return count;
+        }
+
+        public double getX(int pip) {
+            return pips[pip * 3];
+        }
+
+        public double getY(int pip) {
+            return pips[pip * 3 + 1];
+        }
+
+        public double getRadius(int pip) {
+            return pips[pip * 3 + 2];
+        }
+    }
+
+    private static class Key {
+        private final String template;
+        private final String regionId;
+        private final int pipCount;
+        private final boolean symmetric;
+        private final PipType pipType;
+        private final double size;
+
+        Key(String template, String regionId, int pipCount, boolean symmetric, PipType pipType,
+                double size) {
+            this.template = template;
+            this.regionId = regionId;
+            this.pipCount = pipCount;
+            this.symmetric = symmetric;
+            this.pipType = pipType;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return (pipCount == other.pipCount) && (symmetric == other.symmetric)
+                    && (pipType == other.pipType) && (Double.compare(size, other.size) == 0)
+                    && Objects.equals(template, other.template) && Objects.equals(regionId, other.regionId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(template, regionId, pipCount, symmetric, pipType, size);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.printing;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.batik.anim.dom.SVGDOMImplementation;
+import org.apache.batik.dom.util.SAXDocumentFactory;
+import org.apache.batik.util.SVGConstants;
+import org.apache.batik.util.XMLResourceDescriptor;
+import org.w3c.dom.Attr;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.NodeList;
+
+import megamek.common.annotations.Nullable;
+import megameklab.com.MegaMekLab;
+
+/**
+ * Library of the canon armor and structure pip patterns for biped 'Mechs. Each pattern file is
+ * read the first time it is requested and reduced to the attributes of its {@code <path>}
+ * elements, which are used to add the pips to a record sheet without parsing the file again.
+ * Requests for patterns that do not exist are also remembered.
+ */
+public class PipPatternLibrary {
+
+    /** The directory containing the pattern files */
+    public static final String PIP_DIR = "data/images/recordsheets/biped_pips";
+
+    private static final PipPatternLibrary instance = new PipPatternLibrary(new File(PIP_DIR));
+
+    /** Placeholder for a pattern file that does not exist or could not be read */
+    private static final PipPattern MISSING = new PipPattern(new String[0][]);
+
+    private final File directory;
+    private final Map<String, PipPattern> patterns = new ConcurrentHashMap<>();
+
+    /**
+     * @return The shared pattern library
+     */
+    public static PipPatternLibrary getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param directory The directory containing the pattern files
+     */
+    PipPatternLibrary(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Finds the pattern for the armor in a location.
+     *
+     * @param locAbbr The location name used in the pattern file names, with {@code _R} appended for
+     *                rear armor
+     * @param armor   The amount of armor
+     * @return        The pattern, or null if there is no canon pattern for the location and value
+     */
+    public @Nullable PipPattern getArmorPattern(String locAbbr, int armor) {
+        return getPattern(String.format("Armor_%s_%d_Humanoid.svg", locAbbr, armor));
+    }
+
+    /**
+     * Finds the internal structure pattern for a weight class.
+     *
+     * @param tonnage The weight of the 'Mech
+     * @return        The pattern, or null if there is no canon pattern for the weight
+     */
+    public @Nullable PipPattern getStructurePattern(int tonnage) {
+        return getPattern(String.format("BipedIS%d.svg", tonnage));
+    }
+
+    /**
+     * @return The number of pattern files that have been requested so far
+     */
+    public int size() {
+        return patterns.size();
+    }
+
+    /**
+     * Removes all loaded patterns, forcing the files to be read again when requested.
+     */
+    public void clear() {
+        patterns.clear();
+    }
+
+    private @Nullable PipPattern getPattern(String fileName) {
+        PipPattern pattern = patterns.computeIfAbsent(fileName, this::load);
+        return (pattern == MISSING) ? null : pattern;
+    }
+
+    private PipPattern load(String fileName) {
+        final String METHOD_NAME = "load(String)"; //$NON-NLS-1$
+        File f = new File(directory, fileName);
+        if (!f.exists()) {
+            return MISSING;
+        }
+        Document doc;
+        try (InputStream is = new BufferedInputStream(new FileInputStream(f))) {
+            DOMImplementation impl = SVGDOMImplementation.getDOMImplementation();
+            final String parser = XMLResourceDescriptor.getXMLParserClassName();
+            SAXDocumentFactory df = new SAXDocumentFactory(impl, parser);
+            doc = df.createDocument(f.toURI().toASCIIString(), is);
+        } catch (Exception e) {
+            MegaMekLab.getLogger().error(PipPatternLibrary.class, METHOD_NAME,
+                    "Failed to open pip SVG file! Path: " + f.getName());
+            return MISSING;
+        }
+        if (null == doc) {
+            MegaMekLab.getLogger().error(PipPatternLibrary.class, METHOD_NAME,
+                    "Failed to open pip SVG file! Path: " + f.getName());
+            return MISSING;
+        }
+        NodeList nl = doc.getElementsByTagName(SVGConstants.SVG_PATH_TAG);
+        String[][] paths = new String[nl.getLength()][];
+        for (int i = 0; i < nl.getLength(); i++) {
+            paths[i] = compact((Element) nl.item(i));
+        }
+        return new PipPattern(paths);
+    }
+
+    /**
+     * Reduces a path element to alternating names and values of its attributes. Namespaced
+     * attributes added by the editing software are dropped, and the whitespace in the path data
+     * is collapsed. The names and the repeated style values are interned, since they are shared by
+     * nearly every path.
+     */
+    private static String[] compact(Element path) {
+        NamedNodeMap attributes = path.getAttributes();
+        List<String> values = new ArrayList<>(attributes.getLength() * 2);
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            if ((null != attr.getNamespaceURI()) || (attr.getName().indexOf(':') >= 0)) {
+                continue;
+            }
+            values.add(attr.getName().intern());
+            if (attr.getName().equals(SVGConstants.SVG_D_ATTRIBUTE)) {
+                values.add(attr.getValue().trim().replaceAll("\\s+", " "));
+            } else {
+                values.add(attr.getValue().intern());
+            }
+        }
+        return values.toArray(new String[0]);
+    }
+
+    /**
+     * The geometry and style of the pips in a single pattern file. Instances are immutable and can
+     * be added to any number of documents concurrently.
+     */
+    public static class PipPattern {
+        private final String[][] paths;
+
+        private PipPattern(String[][] paths) {
+            this.paths = paths;
+        }
+
+        /**
+         * @return The number of path elements in the pattern
+         */
+        public int getPathCount() {
+            return paths.length;
+        }
+
+        /**
+         * Adds the pattern's path elements to the parent element.
+         *
+         * @param parent The element to add the pips to
+         */
+        public void stamp(Element parent) {
+            final Document doc = parent.getOwnerDocument();
+            for (String[] attributes : paths) {
+                Element path = doc.createElementNS(PrintRecordSheet.svgNS, SVGConstants.SVG_PATH_TAG);
+                for (int i = 0; i < attributes.length; i += 2) {
+                    path.setAttributeNS(null, attributes[i], attributes[i + 1]);
+                }
+                parent.appendChild(path);
+            }
+        }
+    }
+}
@@ -16,16 +16,9 @@ package megameklab.com.printing;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.print.PageFormat;
-import java.text.NumberFormat;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
 
 import org.apache.batik.util.SVGConstants;
 import org.w3c.dom.Element;
@@ -36,10 +29,8 @@ import org.w3c.dom.svg.SVGRectElement;
 import com.kitfox.svg.SVGException;
 
 import megamek.common.AmmoType;
-import megamek.common.Bay;
 import megamek.common.Entity;
 import megamek.common.Jumpship;
-import megamek.common.Mounted;
 import megamek.common.SpaceStation;
 import megamek.common.UnitType;
 import megamek.common.Warship;
@@ -110,11 +101,8 @@ public class PrintCapitalShip extends PrintEntity {
      */
     private final Jumpship ship;
 
-    private List<WeaponBayText> capitalWeapTexts;
-    private List<WeaponBayText> standardWeapTexts;
     private final int[] linesPerBlock = new int[NUM_BLOCKS];
     private final boolean[] blockOnReverse = new boolean[NUM_BLOCKS];
-    private List<Bay> printableBays;
     private boolean secondPage = false;
 
     /**
@@ -133,23 +121,24 @@ public class PrintCapitalShip extends PrintEntity {
         processWeapons();
     }
 
+    @Override
+    protected PrintSnapshot createSnapshot() {
+        return new CapitalShipSnapshot(ship, !showPilotInfo(), formatWalk(), formatRun(), formatJump());
+    }
+
+    /**
+     * @return The snapshot of the ship's printed values
+     */
+    private CapitalShipSnapshot getShipSnapshot() {
+        return (CapitalShipSnapshot) getSnapshot();
+    }
+
     private void processWeapons() {
-        List<Mounted> standardWeapons = new ArrayList<>();
-        List<Mounted> capitalWeapons = new ArrayList<>();
-        for (Mounted m : ship.getWeaponList()) {
-            WeaponType wtype = (WeaponType) m.getType();
-            if (wtype.isCapital()) {
-                capitalWeapons.add(m);
-            } else {
-                standardWeapons.add(m);
-            }
-        }
-        capitalWeapTexts = computeWeaponBayTexts(capitalWeapons);
-        standardWeapTexts = computeWeaponBayTexts(standardWeapons);
-        for (WeaponBayText wbt : capitalWeapTexts) {
+        final CapitalShipSnapshot snapshot = getShipSnapshot();
+        for (WeaponBayText wbt : snapshot.getCapitalWeapTexts()) {
             linesPerBlock[BLOCK_CAPITAL] += wbt.weapons.size();
         }
-        for (WeaponBayText wbt : standardWeapTexts) {
+        for (WeaponBayText wbt : snapshot.getStandardWeapTexts()) {
             linesPerBlock[BLOCK_STANDARD] += wbt.weapons.size();
         }
         // Add extra lines for column headers and trailing line break
@@ -159,21 +148,18 @@ public class PrintCapitalShip extends PrintEntity {
         if (linesPerBlock[BLOCK_STANDARD] > 0) {
             linesPerBlock[BLOCK_STANDARD] += 3;
         }
-        if (ship.getTotalWeaponList().stream()
-                .anyMatch(w -> ((WeaponType) w.getType()).getAmmoType() == AmmoType.T_AR10)) {
+        if (snapshot.hasAR10()) {
             linesPerBlock[BLOCK_AR10_AMMO] = 5;
         }
         // Add lines equal to half the grav decks (rounded up) and one each for section
         // title and following empty line
-        if (ship.getGravDecks().size() > 0) {
-            linesPerBlock[BLOCK_GRAV_DECK] = ((ship.getGravDecks().size() + 1) / 2) + 2;
+        if (snapshot.getGravDecks().size() > 0) {
+            linesPerBlock[BLOCK_GRAV_DECK] = ((snapshot.getGravDecks().size() + 1) / 2) + 2;
         }
         // Add lines equal to number of transport bays and one each for section title
         // and following empty line
-        printableBays = ship.getTransports().stream().filter(t -> t instanceof Bay)
-                .map(t -> (Bay) t).filter(b -> !b.isQuarters()).collect(Collectors.toList());
-        if (printableBays.size() > 0) {
-            linesPerBlock[BLOCK_BAYS] = printableBays.size() + 2;
+        if (snapshot.getPrintableBayCount() > 0) {
+            linesPerBlock[BLOCK_BAYS] = snapshot.getPrintableBayCount() + 2;
         }
 
         int linesOnFront = Arrays.stream(linesPerBlock).sum();
@@ -201,41 +187,6 @@ public class PrintCapitalShip extends PrintEntity {
         }
     }
 
-    /**
-     * Iterate through a list of weapons and create information about what weapons
-     * belong in what bays, how many, the bay damage, and also condense entries when
-     * possible.
-     *
-     * @param weapons
-     * @return
-     */
-    private List<WeaponBayText> computeWeaponBayTexts(List<Mounted> weapons) {
-        // Collection info on weapons to print
-        List<WeaponBayText> weaponBayTexts = new ArrayList<>();
-        for (Mounted bay : weapons) {
-            WeaponBayText wbt = new WeaponBayText(bay.getLocation(), false);
-            for (Integer wId : bay.getBayWeapons()) {
-                Mounted weap = ship.getEquipment(wId);
-                wbt.addBayWeapon(weap);
-            }
-            // Combine or add
-            boolean combined = false;
-            for (WeaponBayText combine : weaponBayTexts) {
-                if (combine.canCombine(wbt)) {
-                    combine.combine(wbt);
-                    combined = true;
-                    break;
-                }
-            }
-            if (!combined) {
-                weaponBayTexts.add(wbt);
-            }
-        }
-        Collections.sort(weaponBayTexts);
-
-        return weaponBayTexts;
-    }
-
     /**
      * Creates an SVG object for the record sheet using the global printing options
      *
@@ -307,26 +258,27 @@ public class PrintCapitalShip extends PrintEntity {
     protected void writeTextFields() {
         super.writeTextFields();
         setTextField("name", ""); // TODO: fluff name needs MM support
-        setTextField("crew", ship.getNCrew());
-        setTextField("marines", ship.getNMarines());
-        setTextField("passengers", ship.getNPassenger());
+        final CapitalShipSnapshot snapshot = getShipSnapshot();
+        setTextField("crew", snapshot.getCrew());
+        setTextField("marines", snapshot.getMarines());
+        setTextField("passengers", snapshot.getPassengers());
         setTextField("baLabel", ship.isClan() ? "Elementals" : "BattleArmor");
-        setTextField("battleArmor", ship.getNBattleArmor());
-        setTextField("otherOccupants", ship.getNOtherCrew());
-        setTextField("lifeBoats", ship.getLifeBoats());
-        setTextField("escapePods", ship.getEscapePods());
-        setTextField("heatSinks", ship.getHeatSinks());
+        setTextField("battleArmor", snapshot.getBattleArmor());
+        setTextField("otherOccupants", snapshot.getOtherCrew());
+        setTextField("lifeBoats", snapshot.getLifeBoats());
+        setTextField("escapePods", snapshot.getEscapePods());
+        setTextField("heatSinks", snapshot.getHeatSinks());
         setTextField("doubleHeatSinks",
-                ship.getHeatType() == Jumpship.HEAT_DOUBLE ? "(" + (ship.getHeatSinks() * 2) + ")" : "");
-        setTextField("noseHeat", ship.getHeatInArc(Jumpship.LOC_NOSE, false));
-        setTextField("foreHeat", ship.getHeatInArc(Jumpship.LOC_FLS, false)
-                + " / " + ship.getHeatInArc(Jumpship.LOC_FRS, false));
-        setTextField("aftSidesHeat", ship.getHeatInArc(Jumpship.LOC_ALS, false)
-                + " / " + ship.getHeatInArc(Jumpship.LOC_ARS, false));
-        setTextField("aftHeat", ship.getHeatInArc(Jumpship.LOC_AFT, false));
+                snapshot.hasDoubleHeatSinks() ? "(" + (snapshot.getHeatSinks() * 2) + ")" : "");
+        setTextField("noseHeat", snapshot.getHeatInArc(Jumpship.LOC_NOSE));
+        setTextField("foreHeat", snapshot.getHeatInArc(Jumpship.LOC_FLS)
+                + " / " + snapshot.getHeatInArc(Jumpship.LOC_FRS));
+        setTextField("aftSidesHeat", snapshot.getHeatInArc(Jumpship.LOC_ALS)
+                + " / " + snapshot.getHeatInArc(Jumpship.LOC_ARS));
+        setTextField("aftHeat", snapshot.getHeatInArc(Jumpship.LOC_AFT));
         if (ship instanceof Warship) {
-            setTextField("broadsideHeat", ship.getHeatInArc(Warship.LOC_RBS, false)
-                    + " / " + ship.getHeatInArc(Warship.LOC_LBS, false));
+            setTextField("broadsideHeat", snapshot.getHeatInArc(Warship.LOC_RBS)
+                    + " / " + snapshot.getHeatInArc(Warship.LOC_LBS));
         }
     }
 
@@ -334,24 +286,26 @@ public class PrintCapitalShip extends PrintEntity {
     protected void drawArmor() {
         for (int loc = firstArmorLocation(); loc < Jumpship.LOC_HULL; loc++) {
             setTextField("textThresholdArmor_" + getEntity().getLocationAbbr(loc),
-                    String.format("%d (%d)", ship.getThresh(loc), ship.getOArmor(loc)));
+                    String.format("%d (%d)", getShipSnapshot().getThreshold(loc),
+                            getSnapshot().getArmor(loc)));
         }
         drawArmorStructurePips();
     }
 
     @Override
     protected void drawStructure() {
-        setTextField("siText", ship.get0SI());
-        setTextField("kfText", ship.getKFIntegrity());
-        setTextField("sailText", ship.getSailIntegrity());
-        setTextField("dcText", ship.getDockingCollars().size());
+        final CapitalShipSnapshot snapshot = getShipSnapshot();
+        setTextField("siText", snapshot.getSI());
+        setTextField("kfText", snapshot.getKFIntegrity());
+        setTextField("sailText", snapshot.getSailIntegrity());
+        setTextField("dcText", snapshot.getDockingCollars());
 
         if (ship instanceof Warship) {
-            printInternalRegion("siPips", ship.get0SI(), 100);
+            printInternalRegion("siPips", snapshot.getSI(), 100);
         }
-        printInternalRegion("kfPips", ship.getKFIntegrity(), 30);
-        printInternalRegion("sailPips", ship.getSailIntegrity(), 10);
-        printInternalRegion("dcPips", ship.getDockingCollars().size(), 10);
+        printInternalRegion("kfPips", snapshot.getKFIntegrity(), 30);
+        printInternalRegion("sailPips", snapshot.getSailIntegrity(), 10);
+        printInternalRegion("dcPips", snapshot.getDockingCollars(), 10);
     }
 
     @Override
@@ -360,7 +314,7 @@ public class PrintCapitalShip extends PrintEntity {
             final String id = "armorPips_" + ship.getLocationAbbr(loc);
             Element element = getSVGDocument().getElementById(id);
             if ((null != element) && (element instanceof SVGRectElement)) {
-                printArmorRegion((SVGRectElement) element, loc, ship.getOArmor(loc));
+                printArmorRegion((SVGRectElement) element, loc, getSnapshot().getArmor(loc));
             } else {
                 MegaMekLab.getLogger().error(getClass(), "drawArmorStructurePips()",
                         "No SVGRectElement found with id " + id);
@@ -402,6 +356,7 @@ public class PrintCapitalShip extends PrintEntity {
      */
     private void printInternalRegion(SVGRectElement svgRect, int structure, int pipsPerBlock) {
         Rectangle2D bbox = getRectBBox(svgRect);
+        PipPaths paths = new PipPaths();
 
         // Print in two blocks
         if (structure > pipsPerBlock) {
@@ -418,8 +373,7 @@ public class PrintCapitalShip extends PrintEntity {
                         - ((PIPS_PER_ROW * IS_PIP_WIDTH) / 2);
                 startY = (int) bbox.getY() + IS_PIP_HEIGHT;
             }
-            printPipBlock(startX, startY, (SVGElement) svgRect.getParentNode(), pips,
-                    IS_PIP_WIDTH, IS_PIP_HEIGHT, "white", false);
+            printPipBlock(startX, startY, paths, pips, IS_PIP_WIDTH, IS_PIP_HEIGHT, false);
 
             // Block 2
             if (aspectRatio >= 1) { // Landscape - 2 columns
@@ -429,15 +383,14 @@ public class PrintCapitalShip extends PrintEntity {
                 startY = (int) bbox.getY() + (IS_PIP_HEIGHT * ((pips / PIPS_PER_ROW) + 1));
             }
             pips = (int) Math.ceil(structure / 2.0);
-            printPipBlock(startX, startY, (SVGElement) svgRect.getParentNode(), pips,
-                    IS_PIP_WIDTH, IS_PIP_HEIGHT, "white", false);
+            printPipBlock(startX, startY, paths, pips, IS_PIP_WIDTH, IS_PIP_HEIGHT, false);
         } else { // Print in one block
             int startX = ((int) bbox.getX() + (int) ((bbox.getWidth() / 2) + 0.5))
                     - ((PIPS_PER_ROW * IS_PIP_WIDTH) / 2);
             int startY = (int) bbox.getY() + IS_PIP_HEIGHT;
-            printPipBlock(startX, startY, (SVGElement) svgRect.getParentNode(), structure,
-                    IS_PIP_WIDTH, IS_PIP_HEIGHT, "white", false);
+            printPipBlock(startX, startY, paths, structure, IS_PIP_WIDTH, IS_PIP_HEIGHT, false);
         }
+        paths.appendTo((SVGElement) svgRect.getParentNode(), "white");
     }
 
     /**
@@ -496,10 +449,10 @@ public class PrintCapitalShip extends PrintEntity {
         double xpos = startX;
         double ypos = startY;
         int remainingBlocks = numBlocks;
+        PipPaths paths = new PipPaths();
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                armor = printPipBlock(xpos, ypos, (SVGElement) svgRect.getParentNode(),
-                        armor, pipWidth, pipHeight, "#ffffff", true);
+                armor = printPipBlock(xpos, ypos, paths, armor, pipWidth, pipHeight, true);
                 remainingBlocks--;
                 xpos += blockWidth;
             }
@@ -510,6 +463,7 @@ public class PrintCapitalShip extends PrintEntity {
                 xpos += blockWidth / 2.0;
             }
         }
+        paths.appendTo((SVGElement) svgRect.getParentNode(), "#ffffff");
     }
 
     /**
@@ -520,16 +474,16 @@ public class PrintCapitalShip extends PrintEntity {
      *            The x coordinate of the top left of the block
      * @param startY
      *            The y coordinate of the top left of the block
-     * @param parent
-     *            The parent node of the bounding rectangle
+     * @param paths
+     *            Collects the pips for the region the block belongs to
      * @param numPips
      *            The number of pips to print
      * @param shadow
      *            Whether to add a drop shadow
-     * @return The Y location of the end of the block
+     * @return The number of pips that did not fit in the block
      */
-    private int printPipBlock(double startX, double startY, SVGElement parent, int numPips, double pipWidth,
-            double pipHeight, String fillColor, boolean shadow) {
+    private int printPipBlock(double startX, double startY, PipPaths paths, int numPips, double pipWidth,
+            double pipHeight, boolean shadow) {
 
         final double shadowOffsetX = pipWidth * SHADOW_OFFSET;
         final double shadowOffsetY = pipHeight * SHADOW_OFFSET;
@@ -541,10 +495,10 @@ public class PrintCapitalShip extends PrintEntity {
             currX = startX + ((((10 - numRowPips) / 2f) * pipWidth) + 0.5);
             for (int col = 0; col < numRowPips; col++) {
                 if (shadow) {
-                    parent.appendChild(createPip(pipWidth, pipHeight, "#c8c7c7", currX + shadowOffsetX,
-                            currY + shadowOffsetY, false));
+                    appendRect(paths.shadows, currX + shadowOffsetX, currY + shadowOffsetY,
+                            pipWidth, pipHeight);
                 }
-                parent.appendChild(createPip(pipWidth, pipHeight, fillColor, currX, currY, true));
+                appendRect(paths.pips, currX, currY, pipWidth, pipHeight);
 
                 currX += pipWidth;
                 numPips--;
@@ -558,19 +512,86 @@ public class PrintCapitalShip extends PrintEntity {
         return numPips;
     }
 
-    private Element createPip(double pipWidth, double pipHeight, String fillColor,
-            double currX, double currY, boolean stroke) {
-        Element box = getSVGDocument().createElementNS(svgNS, SVGConstants.SVG_RECT_TAG);
-        box.setAttributeNS(null, SVGConstants.SVG_X_ATTRIBUTE, String.valueOf(currX));
-        box.setAttributeNS(null, SVGConstants.SVG_Y_ATTRIBUTE, String.valueOf(currY));
-        box.setAttributeNS(null, SVGConstants.SVG_WIDTH_ATTRIBUTE, String.valueOf(pipWidth));
-        box.setAttributeNS(null, SVGConstants.SVG_HEIGHT_ATTRIBUTE, String.valueOf(pipHeight));
-        if (stroke) {
-            box.setAttributeNS(null, SVGConstants.SVG_STROKE_ATTRIBUTE, String.valueOf("#000000"));
-            box.setAttributeNS(null, SVGConstants.SVG_STROKE_WIDTH_ATTRIBUTE, String.valueOf(0.5));
-        }
-        box.setAttributeNS(null, SVGConstants.SVG_FILL_ATTRIBUTE, fillColor);
-        return box;
+    /**
+     * Adds a rectangle to path data as a separate closed subpath.
+     */
+    private static void appendRect(StringBuilder d, double x, double y, double width, double height) {
+        d.append('M');
+        appendNumber(d, x);
+        d.append(',');
+        appendNumber(d, y);
+        d.append('h');
+        appendNumber(d, width);
+        d.append('v');
+        appendNumber(d, height);
+        d.append('h');
+        appendNumber(d, -width);
+        d.append('z');
+    }
+
+    /**
+     * Writes a coordinate rounded to a thousandth of a point, without trailing zeros, which
+     * keeps the path data short without any visible difference.
+     */
+    private static void appendNumber(StringBuilder d, double value) {
+        long thousandths = Math.round(value * 1000);
+        if (thousandths < 0) {
+            d.append('-');
+            thousandths = -thousandths;
+        }
+        d.append(thousandths / 1000);
+        int fraction = (int) (thousandths % 1000);
+        if (fraction != 0) {
+            d.append('.');
+            if (fraction < 100) {
+                d.append('0');
+            }
+            if (fraction < 10) {
+                d.append('0');
+            }
+            while ((fraction % 10) == 0) {
+                fraction /= 10;
+            }
+            d.append(fraction);
+        }
+    }
+
+    /**
+     * Collects the pips of a region as the outlines of a single path, with another path for their
+     * drop shadows. A WarShip can have thousands of armor pips in an arc, and adding them as one
+     * element each makes the document slow to build, render and print.
+     */
+    private class PipPaths {
+        private final StringBuilder pips = new StringBuilder();
+        private final StringBuilder shadows = new StringBuilder();
+
+        /**
+         * Adds the shadow path, if any, followed by the pip path. The pips are drawn over all of
+         * the shadows, which gives the same result as drawing each pip after its own shadow since
+         * a shadow only extends under the pips that follow it.
+         *
+         * @param parent    The element to add the paths to
+         * @param fillColor The fill color of the pips
+         */
+        void appendTo(SVGElement parent, String fillColor) {
+            if (shadows.length() > 0) {
+                parent.appendChild(createPipPath(shadows, "#c8c7c7", false));
+            }
+            if (pips.length() > 0) {
+                parent.appendChild(createPipPath(pips, fillColor, true));
+            }
+        }
+
+        private Element createPipPath(CharSequence d, String fillColor, boolean stroke) {
+            Element path = getSVGDocument().createElementNS(svgNS, SVGConstants.SVG_PATH_TAG);
+            path.setAttributeNS(null, SVGConstants.SVG_D_ATTRIBUTE, d.toString());
+            if (stroke) {
+                path.setAttributeNS(null, SVGConstants.SVG_STROKE_ATTRIBUTE, "#000000");
+                path.setAttributeNS(null, SVGConstants.SVG_STROKE_WIDTH_ATTRIBUTE, "0.5");
+            }
+            path.setAttributeNS(null, SVGConstants.SVG_FILL_ATTRIBUTE, fillColor);
+            return path;
+        }
     }
 
     @Override
@@ -599,7 +620,7 @@ public class PrintCapitalShip extends PrintEntity {
         InventoryWriter iw = new InventoryWriter(svgRect, lines);
         if ((linesPerBlock[BLOCK_CAPITAL] > 0) && (blockOnReverse[BLOCK_CAPITAL] == reverse)) {
             iw.printCapitalHeader();
-            for (WeaponBayText bay : capitalWeapTexts) {
+            for (WeaponBayText bay : getShipSnapshot().getCapitalWeapTexts()) {
                 iw.printWeaponBay(bay, true);
             }
             iw.newLine();
@@ -612,7 +633,7 @@ public class PrintCapitalShip extends PrintEntity {
         if (linesPerBlock[BLOCK_STANDARD] > 0) {
             if (blockOnReverse[BLOCK_STANDARD] == reverse) {
                 iw.printStandardHeader();
-                for (WeaponBayText bay : standardWeapTexts) {
+                for (WeaponBayText bay : getShipSnapshot().getStandardWeapTexts()) {
                     iw.printWeaponBay(bay, false);
                 }
             } else if (!reverse) {
@@ -762,13 +783,13 @@ public class PrintCapitalShip extends PrintEntity {
                 }
                 String nameString;
                 if (bay.weaponAmmo.containsKey(wtype)) {
-                    Mounted ammo = bay.weaponAmmo.get(wtype);
+                    int ammo = bay.weaponAmmo.get(wtype);
                     if (wtype.getAmmoType() == AmmoType.T_AR10) {
-                        nameString = wtype.getShortName() + " (" + (int) ammo.getAmmoCapacity() + " ton capacity)";
+                        nameString = wtype.getShortName() + " (" + ammo + " ton capacity)";
                     } else if (wtype.isCapital() && wtype.hasFlag(WeaponType.F_MISSILE)) {
-                        nameString = wtype.getShortName() + " (" + ammo.getBaseShotsLeft() + " missiles)";
+                        nameString = wtype.getShortName() + " (" + ammo + " missiles)";
                     } else {
-                        nameString = wtype.getShortName() + " (" + ammo.getBaseShotsLeft() + " rounds)";
+                        nameString = wtype.getShortName() + " (" + ammo + " rounds)";
                     }
                 } else {
                     nameString = wtype.getShortName();
@@ -869,23 +890,24 @@ public class PrintCapitalShip extends PrintEntity {
          * @return
          */
         private void printGravDecks() {
-            if (ship.getTotalGravDeck() > 0) {
+            final List<Integer> gravDecks = getShipSnapshot().getGravDecks();
+            if (gravDecks.size() > 0) {
                 addTextElement(canvas, nameX, currY, "Grav Decks:", FONT_SIZE_MEDIUM, "start", "bold");
                 currY += getFontHeight(FONT_SIZE_MEDIUM) * LINE_SPACING;
                 double xpos = nameX;
                 double ypos = currY;
                 int count = 1;
-                for (int size : ship.getGravDecks()) {
+                for (int size : gravDecks) {
                     String gravString = "Grav Deck #" + count + ": " + size + "-meters";
                     addTextElement(canvas, xpos, ypos, gravString, fontSize, "start", "normal");
                     ypos += lineHeight;
-                    if (count == (ship.getGravDecks().size() / 2)) {
+                    if (count == (gravDecks.size() / 2)) {
                         ypos = currY;
                         xpos = nameX + (bbox.getWidth() / 2.0);
                     }
                     count++;
                 }
-                currY += lineHeight * (((ship.getGravDecks().size() + 1) / 2) + 1);
+                currY += lineHeight * (((gravDecks.size() + 1) / 2) + 1);
             }
         }
 
@@ -898,53 +920,11 @@ public class PrintCapitalShip extends PrintEntity {
          * @throws SVGException
          */
         private void printBayInfo() {
-            if (ship.getTransportBays().size() > 0) {
+            final List<String> bayLines = getShipSnapshot().getBayLines();
+            if (bayLines.size() > 0) {
                 addTextElement(canvas, nameX, currY, "Cargo:", FONT_SIZE_MEDIUM, "start", "bold");
                 currY += getFontHeight(FONT_SIZE_MEDIUM) * LINE_SPACING;
-                // We can have multiple Bay instances within one conceptual bay on the ship
-                // We need to gather all bays with the same ID to print out the string
-                Map<Integer, List<Bay>> bayMap = new TreeMap<>();
-                for (Bay bay : ship.getTransportBays()) {
-                    if (bay.isQuarters()) {
-                        continue;
-                    }
-                    List<Bay> bays = bayMap.get(bay.getBayNumber());
-                    if (bays == null) {
-                        bays = new ArrayList<>();
-                        bays.add(bay);
-                        bayMap.put(bay.getBayNumber(), bays);
-                    } else {
-                        bays.add(bay);
-                    }
-                }
-                // Print each bay
-                for (Integer bayNum : bayMap.keySet()) {
-                    StringBuilder bayTypeString = new StringBuilder();
-                    StringBuilder bayCapacityString = new StringBuilder();
-                    bayCapacityString.append(" (");
-                    List<Bay> bays = bayMap.get(bayNum);
-                    // Display larger storage first
-                    java.util.Collections.sort(bays, new Comparator<Bay>() {
-
-                        @Override
-                        public int compare(Bay b1, Bay b2) {
-                            return (int) (b2.getCapacity() - b1.getCapacity());
-                        }
-                    });
-                    int doors = 0;
-                    for (int i = 0; i < bays.size(); i++) {
-                        Bay b = bays.get(i);
-                        bayTypeString.append(b.getType());
-                        bayCapacityString.append(NumberFormat.getInstance().format(b.getCapacity()));
-                        if ((i + 1) < bays.size()) {
-                            bayTypeString.append("/");
-                            bayCapacityString.append("/");
-                        }
-                        doors = Math.max(doors, b.getDoors());
-                    }
-                    bayCapacityString.append(")");
-                    String bayString = "Bay " + bayNum + ": " + bayTypeString
-                            + bayCapacityString + " (" + doors + (doors == 1 ? " Door)" : " Doors)");
+                for (String bayString : bayLines) {
                     addTextElement(canvas, nameX, currY, bayString, fontSize, "start", "normal");
                     currY += lineHeight;
                 }
@@ -62,6 +62,8 @@ public abstract class PrintEntity extends PrintRecordSheet {
             | (1 << EquipmentType.T_ARMOR_HEAT_DISSIPATING)
             | (1 << EquipmentType.T_ARMOR_IMPACT_RESISTANT)
             | (1 << EquipmentType.T_ARMOR_BALLISTIC_REINFORCED);
+
+    private PrintSnapshot snapshot;
     
     /**
      * Creates an SVG object for the record sheet
@@ -74,6 +76,31 @@ public abstract class PrintEntity extends PrintRecordSheet {
     }
 
     protected abstract Entity getEntity();
+
+    /**
+     * Provides the calculated values for the unit, creating the snapshot the first time it is needed.
+     * The same snapshot is used every time the sheet is rendered. Subclasses should request it at
+     * the end of the constructor so that rendering does not need to read the unit's state later,
+     * possibly on another thread.
+     *
+     * @return The print snapshot for the unit
+     */
+    protected synchronized PrintSnapshot getSnapshot() {
+        if (null == snapshot) {
+            snapshot = createSnapshot();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gathers the values to print for the unit. Subclasses that print equipment lines or critical
+     * slots from the snapshot should override this to include them.
+     *
+     * @return A new snapshot of the unit
+     */
+    protected PrintSnapshot createSnapshot() {
+        return new PrintSnapshot(getEntity(), !showPilotInfo(), formatWalk(), formatRun(), formatJump());
+    }
     
     /**
      * When printing from a MUL the pilot data is filled in unless the option has been disabled. This
@@ -140,9 +167,9 @@ public abstract class PrintEntity extends PrintRecordSheet {
     protected void writeTextFields() {
         setTextField("title", getRecordSheetTitle().toUpperCase());
         setTextField("type", getEntity().getShortNameRaw());
-        setTextField("mpWalk", formatWalk());
-        setTextField("mpRun", formatRun());
-        setTextField("mpJump", formatJump());
+        setTextField("mpWalk", getSnapshot().getWalk());
+        setTextField("mpRun", getSnapshot().getRun());
+        setTextField("mpJump", getSnapshot().getJump());
         setTextField("tonnage", NumberFormat.getInstance().format((int) getEntity().getWeight()));
         setTextField("techBase", formatTechBase());
         setTextField("rulesLevel", formatRulesLevel());
@@ -150,8 +177,7 @@ public abstract class PrintEntity extends PrintRecordSheet {
         setTextField("cost", formatCost());
         // If we're using a MUL to print generic sheets we also want to ignore any BV adjustments
         // for C3 networks or pilot skills.
-        setTextField("bv", NumberFormat.getInstance().format(getEntity()
-                .calculateBattleValue(!showPilotInfo(), !showPilotInfo())));
+        setTextField("bv", NumberFormat.getInstance().format(getSnapshot().getBattleValue()));
         UnitRole role = UnitRoleHandler.getRoleFor(getEntity());
         if (!options.showRole() || (role == UnitRole.UNDETERMINED)) {
             hideElement("lblRole", true);
@@ -289,9 +315,9 @@ public abstract class PrintEntity extends PrintRecordSheet {
         final String FORMAT = "( %d )";
         for (int loc = firstArmorLocation(); loc < getEntity().locations(); loc++) {
             setTextField("textArmor_" + getEntity().getLocationAbbr(loc),
-                    String.format(FORMAT, getEntity().getOArmor(loc)));
+                    String.format(FORMAT, getSnapshot().getArmor(loc)));
             setTextField("textIS_" + getEntity().getLocationAbbr(loc),
-                    String.format(FORMAT, getEntity().getOInternal(loc)));
+                    String.format(FORMAT, getSnapshot().getInternal(loc)));
         }
         drawArmorStructurePips();
     }
@@ -308,8 +334,8 @@ public abstract class PrintEntity extends PrintRecordSheet {
                 element = getSVGDocument().getElementById("armorPips" + getEntity().getLocationAbbr(loc));
             }
             if (null != element) {
-                addPips(element, getEntity().getOArmor(loc), isCenterlineLocation(loc),
-                        PipType.forAT(getEntity().getArmorType(loc)));
+                addPips(element, getSnapshot().getArmor(loc), isCenterlineLocation(loc),
+                        PipType.forAT(getSnapshot().getArmorType(loc)));
             }
         }
     }
@@ -420,7 +446,7 @@ public abstract class PrintEntity extends PrintRecordSheet {
     
     protected String formatCost() {
         NumberFormat nf = NumberFormat.getNumberInstance(Locale.getDefault());
-        return nf.format(getEntity().getCost(true)) + " C-bills";
+        return nf.format(getSnapshot().getCost()) + " C-bills";
     }
     
 }
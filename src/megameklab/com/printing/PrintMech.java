@@ -16,23 +16,16 @@ package megameklab.com.printing;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.print.PageFormat;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
-import org.apache.batik.anim.dom.SVGDOMImplementation;
-import org.apache.batik.dom.util.SAXDocumentFactory;
 import org.apache.batik.util.SVGConstants;
-import org.apache.batik.util.XMLResourceDescriptor;
-import org.w3c.dom.DOMImplementation;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 import org.w3c.dom.svg.SVGRectElement;
 
 import megamek.common.AmmoType;
@@ -50,6 +43,7 @@ import megamek.common.Mounted;
 import megamek.common.QuadVee;
 import megamek.common.annotations.Nullable;
 import megameklab.com.MegaMekLab;
+import megameklab.com.printing.PipPatternLibrary.PipPattern;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RecordSheetEquipmentLine;
 import megameklab.com.util.UnitUtil;
@@ -77,6 +71,8 @@ public class PrintMech extends PrintEntity {
     public PrintMech(Mech mech, int startPage, RecordSheetOptions options) {
         super(startPage, options);
         this.mech = mech;
+        // Take the snapshot now so the sheet reflects the unit as it was when printing started
+        getSnapshot();
     }
     
     /**
@@ -147,6 +143,91 @@ public class PrintMech extends PrintEntity {
     protected Entity getEntity() {
         return mech;
     }
+
+    @Override
+    protected PrintSnapshot createSnapshot() {
+        Map<Integer, Map<RecordSheetEquipmentLine,Integer>> eqMap = new TreeMap<>();
+        Map<String,Integer> ammo = new TreeMap<>();
+        // One-shot ammo has no location and is left out of both the equipment and ammo lists.
+        for (Mounted m : mech.getEquipment()) {
+            if ((m.getType() instanceof AmmoType)
+                    && (((AmmoType) m.getType()).getAmmoType() != AmmoType.T_COOLANT_POD)) {
+                if (m.getLocation() != Entity.LOC_NONE) {
+                    String shortName = m.getType().getShortName().replace("Ammo", "");
+                    shortName = shortName.replace("(Clan)", "");
+                    String munition = ((AmmoType) m.getType()).getSubMunitionName().replace("(Clan) ", "");
+                    shortName = shortName.replace(munition, "");
+                    ammo.merge(shortName.trim(), m.getBaseShotsLeft(), Integer::sum);
+                }
+                continue;
+            }
+            if ((m.getType() instanceof AmmoType)
+                    || (m.getLocation() == Entity.LOC_NONE)
+                    || !UnitUtil.isPrintableEquipment(m.getType(), true)) {
+                continue;
+            }
+            if (mech.hasETypeFlag(Entity.ETYPE_QUADVEE)
+                    && (m.getType() instanceof MiscType)
+                    && m.getType().hasFlag(MiscType.F_TRACKS)) {
+                continue;
+            }
+            eqMap.putIfAbsent(m.getLocation(), new HashMap<>());
+            RecordSheetEquipmentLine line = new RecordSheetEquipmentLine(m);
+            eqMap.get(m.getLocation()).merge(line, 1, Integer::sum);
+        }
+
+        List<List<PrintSnapshot.CritSlot>> crits = new ArrayList<>();
+        Map<Object, Integer> groups = new IdentityHashMap<>();
+        for (int loc = 0; loc < mech.locations(); loc++) {
+            List<PrintSnapshot.CritSlot> slots = new ArrayList<>();
+            for (int slot = 0; slot < mech.getNumberOfCriticals(loc); slot++) {
+                slots.add(createCritSlot(mech.getCritical(loc, slot), loc, groups));
+            }
+            crits.add(slots);
+        }
+        return new PrintSnapshot(mech, !showPilotInfo(), formatWalk(), formatRun(), formatJump(),
+                eqMap, ammo, crits);
+    }
+
+    /**
+     * Formats a critical slot for printing. Spreadable equipment such as TSM and armor or structure
+     * is carried by a single mount across several locations, but each slot is printed as a separate
+     * component, so those slots are never grouped with their neighbors.
+     *
+     * @param crit   The critical slot, or null if it is empty
+     * @param loc    The location of the slot
+     * @param groups Group identifiers already assigned, keyed by mount, or by slot for spreadable
+     *               equipment
+     * @return       The printed form of the slot
+     */
+    private PrintSnapshot.CritSlot createCritSlot(@Nullable CriticalSlot crit, int loc,
+            Map<Object, Integer> groups) {
+        if (null == crit) {
+            return new PrintSnapshot.CritSlot(formatCritName(null), false, false, false,
+                    PrintSnapshot.CritSlot.NO_GROUP, 0);
+        }
+        boolean armored = crit.isArmored();
+        boolean hittable = true;
+        boolean modularArmor = false;
+        int group = PrintSnapshot.CritSlot.NO_GROUP;
+        int groupSize = 0;
+        if (crit.getType() == CriticalSlot.TYPE_EQUIPMENT) {
+            final Mounted m = crit.getMount();
+            hittable = m.getType().isHittable();
+            modularArmor = (m.getType() instanceof MiscType) && m.getType().hasFlag(MiscType.F_MODULAR_ARMOR);
+            final boolean spread = !UnitUtil.isFixedLocationSpreadEquipment(m.getType())
+                    && (UnitUtil.isTSM(m.getType()) || UnitUtil.isArmorOrStructure(m.getType()));
+            if (spread) {
+                armored = m.isArmored();
+            }
+            if (hittable && (m.getType().getCriticals(mech) > (mech.isSuperHeavy()? 2 : 1))) {
+                group = groups.computeIfAbsent(spread ? crit : m, k -> groups.size());
+                groupSize = mech.getNumberOfCriticals(m.getType(), loc);
+            }
+        }
+        return new PrintSnapshot.CritSlot(formatCritName(crit), hittable, armored, modularArmor,
+                group, groupSize);
+    }
     
     @Override
     public void printImage(Graphics2D g2d, PageFormat pageFormat, int pageNum) {
@@ -292,66 +373,36 @@ public class PrintMech extends PrintEntity {
         if (rear) {
             Element element = getSVGDocument().getElementById("textArmor_" + mech.getLocationAbbr(loc) + "R");
             if (null != element) {
-                element.setTextContent(String.format("( %d )", mech.getOArmor(loc, true)));
+                element.setTextContent(String.format("( %d )", getSnapshot().getRearArmor(loc)));
             }
         }
 
-        NodeList nl = loadPipSVG(String.format("data/images/recordsheets/biped_pips/Armor_%s_%d_Humanoid.svg",
-                locAbbr, mech.getOArmor(loc, rear)));
-        if (null == nl) {
+        PipPattern pattern = PipPatternLibrary.getInstance().getArmorPattern(locAbbr,
+                rear ? getSnapshot().getRearArmor(loc) : getSnapshot().getArmor(loc));
+        if (null == pattern) {
             return false;
         }
-        return copyPipPattern(nl, "canonArmorPips");
+        return copyPipPattern(pattern, "canonArmorPips");
     }
     
     private boolean loadISPips() {
-        NodeList nl = loadPipSVG(String.format("data/images/recordsheets/biped_pips/BipedIS%d.svg",
-                (int) mech.getWeight()));
-        if (null == nl) {
+        PipPattern pattern = PipPatternLibrary.getInstance().getStructurePattern((int) mech.getWeight());
+        if (null == pattern) {
             return false;
         }
         hideElement("structurePips");
-        return copyPipPattern(nl, "canonStructurePips");
+        return copyPipPattern(pattern, "canonStructurePips");
     }
 
-    private boolean copyPipPattern(NodeList nl, String parentName) {
+    private boolean copyPipPattern(PipPattern pattern, String parentName) {
         Element parent = getSVGDocument().getElementById(parentName);
         if (null == parent) {
             return false;
         }
-        for (int node = 0; node < nl.getLength(); node++) {
-            final Node wn = nl.item(node);
-            parent.appendChild(getSVGDocument().importNode(wn, true));
-        }
+        pattern.stamp(parent);
         return true;
     }
 
-    private @Nullable NodeList loadPipSVG(String filename) {
-        final String METHOD_NAME = "loadPipsSVG(int, int)"; //$NON-NLS-1$
-        File f = new File(filename);
-        if (!f.exists()) {
-            return null;
-        }
-        Document doc;
-        try {
-            InputStream is = new FileInputStream(f);
-            DOMImplementation impl = SVGDOMImplementation.getDOMImplementation();
-            final String parser = XMLResourceDescriptor.getXMLParserClassName();
-            SAXDocumentFactory df = new SAXDocumentFactory(impl, parser);
-            doc = df.createDocument(f.toURI().toASCIIString(), is);
-        } catch (Exception e) {
-            MegaMekLab.getLogger().error(PrintRecordSheet.class, METHOD_NAME,
-                    "Failed to open pip SVG file! Path: " + f.getName());
-            return null;
-        }
-        if (null == doc) {
-            MegaMekLab.getLogger().error(PrintRecordSheet.class, METHOD_NAME,
-                    "Failed to open pip SVG file! Path: " + f.getName());
-            return null;
-        }
-        return doc.getElementsByTagName(SVGConstants.SVG_PATH_TAG);
-    }
-    
     // Mech armor and structure pips require special handling for rear armor and superheavy head armor/IS
     @Override
     protected void drawArmorStructurePips() {
@@ -376,28 +427,28 @@ public class PrintMech extends PrintEntity {
                 element = getSVGDocument().getElementById("armorPips" + mech.getLocationAbbr(loc));
             }
             if ((null != element) && !frontComplete) {
-                addPips(element, mech.getOArmor(loc),
+                addPips(element, getSnapshot().getArmor(loc),
                         (loc == Mech.LOC_HEAD) || (loc == Mech.LOC_CT) || (loc == Mech.LOC_CLEG),
-                        PipType.forAT(mech.getArmorType(loc)));
+                        PipType.forAT(getSnapshot().getArmorType(loc)));
                 //                        setArmorPips(element, mech.getOArmor(loc), true);
                 //                      (loc == Mech.LOC_HEAD) || (loc == Mech.LOC_CT));
             }
             if ((loc > Mech.LOC_HEAD) && !structComplete) {
                 element = getSVGDocument().getElementById("isPips" + mech.getLocationAbbr(loc));
                 if (null != element) {
-                    addPips(element, mech.getOInternal(loc),
+                    addPips(element, getSnapshot().getInternal(loc),
                             (loc == Mech.LOC_CT) || (loc == Mech.LOC_CLEG));
                 }
             }
             if (mech.hasRearArmor(loc) && !rearComplete) {
                 element = getSVGDocument().getElementById("textArmor_" + mech.getLocationAbbr(loc) + "R");
                 if (null != element) {
-                    element.setTextContent(String.format(FORMAT, mech.getOArmor(loc, true)));
+                    element.setTextContent(String.format(FORMAT, getSnapshot().getRearArmor(loc)));
                 }
                 element = getSVGDocument().getElementById("armorPips" + mech.getLocationAbbr(loc) + "R");
                 if (null != element) {
-                    addPips(element, mech.getOArmor(loc, true), loc == Mech.LOC_CT,
-                            PipType.forAT(mech.getArmorType(loc)));
+                    addPips(element, getSnapshot().getRearArmor(loc), loc == Mech.LOC_CT,
+                            PipType.forAT(getSnapshot().getArmorType(loc)));
                 }
             }
             
@@ -423,34 +474,8 @@ public class PrintMech extends PrintEntity {
     
     @Override
     protected void writeEquipment(SVGRectElement svgRect) {
-        Map<Integer, Map<RecordSheetEquipmentLine,Integer>> eqMap = new TreeMap<>();
-        Map<String,Integer> ammo = new TreeMap<>();
-        for (Mounted m : mech.getEquipment()) {
-            if ((m.getType() instanceof AmmoType)
-                    && (((AmmoType) m.getType()).getAmmoType() != AmmoType.T_COOLANT_POD)) {
-                if (m.getLocation() != Entity.LOC_NONE) {
-                    String shortName = m.getType().getShortName().replace("Ammo", "");
-                    shortName = shortName.replace("(Clan)", "");
-                    String munition = ((AmmoType) m.getType()).getSubMunitionName().replace("(Clan) ", "");
-                    shortName = shortName.replace(munition, "");
-                    ammo.merge(shortName.trim(), m.getBaseShotsLeft(), Integer::sum);
-                }
-                continue;
-            }
-            if ((m.getType() instanceof AmmoType)
-                    || (m.getLocation() == Entity.LOC_NONE)
-                    || !UnitUtil.isPrintableEquipment(m.getType(), true)) {
-                continue;
-            }
-            if (mech.hasETypeFlag(Entity.ETYPE_QUADVEE)
-                    && (m.getType() instanceof MiscType)
-                    && m.getType().hasFlag(MiscType.F_TRACKS)) {
-                continue;
-            }
-            eqMap.putIfAbsent(m.getLocation(), new HashMap<>());
-            RecordSheetEquipmentLine line = new RecordSheetEquipmentLine(m);
-            eqMap.get(m.getLocation()).merge(line, 1, Integer::sum);
-        }
+        Map<Integer, Map<RecordSheetEquipmentLine,Integer>> eqMap = getSnapshot().getEquipment();
+        Map<String,Integer> ammo = getSnapshot().getAmmo();
         
         Rectangle2D bbox = getRectBBox(svgRect);
         Element canvas = (Element) svgRect.getParentNode();
@@ -560,6 +585,7 @@ public class PrintMech extends PrintEntity {
     }
     
     private void writeLocationCriticals(int loc, SVGRectElement svgRect) {
+        List<PrintSnapshot.CritSlot> slots = getSnapshot().getCriticals(loc);
         Rectangle2D bbox = getRectBBox(svgRect);
         Element canvas = (Element) svgRect.getParentNode();
         int viewWidth = (int)bbox.getWidth();
@@ -570,14 +596,15 @@ public class PrintMech extends PrintEntity {
         double critX = viewX + viewWidth * 0.11;
         double critWidth = viewX + viewWidth - critX;
         double gap = 0;
-        if (mech.getNumberOfCriticals(loc) > 6) {
+        if (slots.size() > 6) {
             gap = viewHeight * 0.05;
         }
-        double lineHeight = (viewHeight - gap) / mech.getNumberOfCriticals(loc);
+        double lineHeight = (viewHeight - gap) / slots.size();
         double currY = viewY;
         float fontSize = (float) Math.floor(lineHeight * 0.85f);
         
-        Mounted startingMount = null;
+        int startingMount = PrintSnapshot.CritSlot.NO_GROUP;
+        int startingMountSize = 0;
         double startingMountY = 0;
         double endingMountY = 0;
         double connWidth = viewWidth * 0.02;
@@ -590,29 +617,25 @@ public class PrintMech extends PrintEntity {
                     SVGConstants.SVG_START_VALUE, SVGConstants.SVG_NORMAL_VALUE);
         }
         
-        for (int slot = 0; slot < mech.getNumberOfCriticals(loc); slot++) {
+        for (int slot = 0; slot < slots.size(); slot++) {
             currY += lineHeight;
             if (slot == 6) {
                 currY += gap;
             }
             addTextElement(canvas, viewX, currY, ((slot % 6) + 1) + ".", fontSize, "start", "bold");
-            CriticalSlot crit = mech.getCritical(loc, slot);
+            PrintSnapshot.CritSlot crit = slots.get(slot);
             String style = SVGConstants.SVG_BOLD_VALUE;
             String fill = FILL_BLACK;
-            if ((null == crit)
-                    || ((crit.getType() == CriticalSlot.TYPE_EQUIPMENT)
-                            && (!crit.getMount().getType().isHittable()))) {
+            if (!crit.isHittable()) {
                 style = SVGConstants.SVG_NORMAL_VALUE;
                 fill = FILL_GREY;
-                addTextElementToFit(canvas, critX, currY, critWidth, formatCritName(crit), fontSize, "start", style, fill);
+                addTextElementToFit(canvas, critX, currY, critWidth, crit.getName(), fontSize, "start", style, fill);
             } else if (crit.isArmored()) {
                 Element pip = createPip(critX, currY - fontSize * 0.8, fontSize * 0.4, 0.7);
                 canvas.appendChild(pip);
-                addTextElement(canvas, critX + fontSize, currY, formatCritName(crit), fontSize, "start", style, fill);
-            } else if ((crit.getType() == CriticalSlot.TYPE_EQUIPMENT)
-                    && (crit.getMount().getType() instanceof MiscType)
-                    && (crit.getMount().getType().hasFlag(MiscType.F_MODULAR_ARMOR))) {
-                String critName = formatCritName(crit);
+                addTextElement(canvas, critX + fontSize, currY, crit.getName(), fontSize, "start", style, fill);
+            } else if (crit.isModularArmor()) {
+                String critName = crit.getName();
                 addTextElement(canvas, critX, currY, critName, fontSize, "start", style, fill);
                 x = critX + getTextLength(critName, fontSize);
                 double remainingW = viewX + viewWidth - x;
@@ -631,28 +654,24 @@ public class PrintMech extends PrintEntity {
                     x += spacing;
                 }
             } else {
-                addTextElement(canvas, critX, currY, formatCritName(crit), fontSize,
+                addTextElement(canvas, critX, currY, crit.getName(), fontSize,
                         SVGConstants.SVG_START_VALUE, style, fill);
             }
-            Mounted m = null;
-            if ((null != crit) && (crit.getType() == CriticalSlot.TYPE_EQUIPMENT)
-                    && (crit.getMount().getType().isHittable())
-                    && (crit.getMount().getType().getCriticals(mech) > (mech.isSuperHeavy()? 2 : 1))) {
-                m = crit.getMount();
-            }
-            if ((startingMount != null) && (startingMount != m)) {
+            int m = crit.getGroup();
+            if ((startingMount != PrintSnapshot.CritSlot.NO_GROUP) && (startingMount != m)) {
                 connectSlots(canvas, critX - 1, startingMountY, connWidth, endingMountY - startingMountY);
             }
             if (m != startingMount) {
                 startingMount = m;
-                if (null != m) {
+                startingMountSize = crit.getGroupSize();
+                if (m != PrintSnapshot.CritSlot.NO_GROUP) {
                     startingMountY = currY - lineHeight * 0.6;
                 }
             } else {
                 endingMountY = currY;
             }
         }
-        if ((null != startingMount) && (mech.getNumberOfCriticals(startingMount.getType(), loc) > 1)) {
+        if ((startingMount != PrintSnapshot.CritSlot.NO_GROUP) && (startingMountSize > 1)) {
             connectSlots(canvas, critX - 1, startingMountY, connWidth, endingMountY - startingMountY);
         }
     }
@@ -740,7 +759,7 @@ public class PrintMech extends PrintEntity {
         int viewX = (int)bbox.getX();
         int viewY = (int)bbox.getY();
 
-        int si = mech.getOInternal(Mech.LOC_CT);
+        int si = getSnapshot().getInternal(Mech.LOC_CT);
 
         double size = 9.2;
         double radius = 2.8;
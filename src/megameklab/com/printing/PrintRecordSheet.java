@@ -16,16 +16,17 @@ package megameklab.com.printing;
 import megamek.common.EquipmentType;
 import megamek.common.logging.LogLevel;
 import megameklab.com.MegaMekLab;
+import megameklab.com.printing.EmbeddedImageCache.EmbeddedImage;
+import megameklab.com.printing.PipLayoutCache.PipLayout;
 import megameklab.com.util.CConfig;
+import megameklab.com.util.Diagnostics;
 import org.apache.batik.anim.dom.SVGDOMImplementation;
 import org.apache.batik.bridge.BridgeContext;
 import org.apache.batik.bridge.GVTBuilder;
 import org.apache.batik.bridge.UserAgentAdapter;
-import org.apache.batik.dom.util.SAXDocumentFactory;
 import org.apache.batik.gvt.GraphicsNode;
 import org.apache.batik.svggen.SVGGraphics2D;
 import org.apache.batik.util.SVGConstants;
-import org.apache.batik.util.XMLResourceDescriptor;
 import org.w3c.dom.DOMImplementation;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -36,15 +37,12 @@ import org.w3c.dom.svg.SVGRectElement;
 import org.w3c.dom.xpath.XPathEvaluator;
 import org.w3c.dom.xpath.XPathResult;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
-import java.awt.image.RenderedImage;
 import java.awt.print.PageFormat;
 import java.awt.print.Printable;
 import java.awt.print.PrinterException;
 import java.io.*;
-import java.net.URLConnection;
 import java.util.List;
 import java.util.*;
 
@@ -83,6 +81,17 @@ public abstract class PrintRecordSheet implements Printable {
     private Document svgDocument;
     private SVGGraphics2D svgGenerator;
     
+    /**
+     * The sheet that most recently built a page. Only one page is kept in memory at a time, so
+     * when another sheet builds a page the previous one releases its graphics tree.
+     */
+    private static PrintRecordSheet lastRendered = null;
+
+    // The graphics tree for the most recently built page, which is replayed when the printer
+    // requests the same page again.
+    private int renderedPage = -1;
+    private GraphicsNode renderedNode = null;
+
     private Font normalFont = null;
     private Font boldFont = null;
     private String typeface = null;
@@ -187,45 +196,128 @@ public abstract class PrintRecordSheet implements Printable {
 
     @Override
     public int print(Graphics graphics, PageFormat pageFormat, int pageIndex) throws PrinterException {
-        final String METHOD_NAME = "print(Graphics,PageFormat,int)";
-        
+        final long start = System.nanoTime();
         Graphics2D g2d = (Graphics2D) graphics;
         if (null != g2d) {
-            File f = new File("data/images/recordsheets/" + getSVGFileName(pageIndex - firstPage));
-            svgDocument = null;
-            try {
-                InputStream is = new FileInputStream(f);
-                DOMImplementation impl = SVGDOMImplementation.getDOMImplementation();
-                final String parser = XMLResourceDescriptor.getXMLParserClassName();
-                SAXDocumentFactory df = new SAXDocumentFactory(impl, parser);
-                svgDocument = df.createDocument(f.toURI().toASCIIString(), is);
-            } catch (Exception e) {
-                MegaMekLab.getLogger().error(PrintRecordSheet.class, METHOD_NAME, e);
+            GraphicsNode node = getRenderedPage(pageIndex);
+            if (null == node) {
+                node = createPage(g2d, pageFormat, pageIndex);
+                retainRenderedPage(pageIndex, node);
             }
-            if (null == svgDocument) {
-                MegaMekLab.getLogger().error(PrintRecordSheet.class, METHOD_NAME,
-                        "Failed to open Mech SVG file! Path: data/images/recordsheets/"
-                                + getSVGFileName(pageIndex - firstPage));
-            } else {
-                subFonts((SVGDocument) svgDocument);
-                svgGenerator = new SVGGraphics2D(svgDocument);
-                printImage(g2d, pageFormat, pageIndex - firstPage);
-                GraphicsNode node = build();
+            if (null != node) {
                 node.paint(g2d);
-                /* Testing code that outputs the generated svg
-                try {
-                    Transformer transformer = TransformerFactory.newInstance().newTransformer();
-                    Result output = new StreamResult(new File("out.svg"));
-                    Source input = new DOMSource(svgDocument);
-                    transformer.transform(input, output);
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                }
-                 */
             }
         }
+        Diagnostics.getInstance().record("PrintRecordSheet.print", start);
         return Printable.PAGE_EXISTS;
     }
+
+    /**
+     * Fills in the template for the page and builds the graphics tree without painting it. This
+     * allows pages to be prepared ahead of the printer on another thread. Pages of the same sheet
+     * share a document, so only one page of a sheet can be prepared at a time. The sheet does not
+     * keep the document once the graphics tree has been built, so the memory used by a prepared
+     * page is only held by whoever keeps the returned tree.
+     *
+     * <p>The thread preparing the page may be interrupted to abandon it, in which case a
+     * {@link PrinterException} is thrown.</p>
+     *
+     * @param pageFormat The page format to use for the page
+     * @param pageIndex  The page index within the book
+     * @return           The graphics tree for the page, or null if the template could not be loaded
+     * @throws PrinterException
+     */
+    public synchronized GraphicsNode createPage(PageFormat pageFormat, int pageIndex) throws PrinterException {
+        try {
+            return createPage(null, pageFormat, pageIndex);
+        } finally {
+            svgDocument = null;
+            svgGenerator = null;
+        }
+    }
+
+    private synchronized GraphicsNode createPage(Graphics2D g2d, PageFormat pageFormat, int pageIndex)
+            throws PrinterException {
+        final String METHOD_NAME = "createPage(Graphics2D,PageFormat,int)";
+        final long start = System.nanoTime();
+
+        File f = new File("data/images/recordsheets/" + getSVGFileName(pageIndex - firstPage));
+        svgDocument = RecordSheetTemplateCache.getInstance().getDocument(f);
+        if (null == svgDocument) {
+            MegaMekLab.getLogger().error(PrintRecordSheet.class, METHOD_NAME,
+                    "Failed to open Mech SVG file! Path: data/images/recordsheets/"
+                            + getSVGFileName(pageIndex - firstPage));
+            return null;
+        }
+        checkInterrupted(pageIndex);
+        subFonts((SVGDocument) svgDocument);
+        svgGenerator = new SVGGraphics2D(svgDocument);
+        printImage(g2d, pageFormat, pageIndex - firstPage);
+        checkInterrupted(pageIndex);
+        GraphicsNode node = build();
+        /* Testing code that outputs the generated svg
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            Result output = new StreamResult(new File("out.svg"));
+            Source input = new DOMSource(svgDocument);
+            transformer.transform(input, output);
+        } catch (Exception ex) {
+            ex.printStackTrace();
+        }
+         */
+        Diagnostics.getInstance().record("PrintRecordSheet.createPage", start);
+        return node;
+    }
+
+    /**
+     * Stops preparing a page if the thread has been interrupted because the page is no longer
+     * needed.
+     */
+    private void checkInterrupted(int pageIndex) throws PrinterException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new PrinterException("Preparation of page " + (pageIndex + 1) + " was cancelled");
+        }
+    }
+
+    /**
+     * Keeps the graphics tree for a page so that repeated calls to
+     * {@link #print(Graphics, PageFormat, int) print} for the same page do not need to rebuild it.
+     * The sheet that previously retained a page releases it.
+     *
+     * @param pageIndex The page index within the book
+     * @param node      The graphics tree for the page
+     */
+    private void retainRenderedPage(int pageIndex, GraphicsNode node) {
+        synchronized (PrintRecordSheet.class) {
+            if ((null != lastRendered) && (lastRendered != this)) {
+                lastRendered.releaseRenderedPage();
+            }
+            lastRendered = this;
+        }
+        synchronized (this) {
+            renderedPage = pageIndex;
+            renderedNode = node;
+        }
+    }
+
+    /**
+     * @param pageIndex The page index within the book
+     * @return          The graphics tree built for the page if it is the most recently built one,
+     *                  otherwise null
+     */
+    private synchronized GraphicsNode getRenderedPage(int pageIndex) {
+        return (renderedPage == pageIndex) ? renderedNode : null;
+    }
+
+    /**
+     * Discards the retained graphics tree and document for the most recently built page.
+     */
+    protected synchronized void releaseRenderedPage() {
+        renderedPage = -1;
+        renderedNode = null;
+        svgDocument = null;
+        svgGenerator = null;
+    }
     
     protected GraphicsNode build() {
         GVTBuilder builder = new GVTBuilder();
@@ -258,7 +350,8 @@ public abstract class PrintRecordSheet implements Printable {
     /**
      * Renders the sheet to the Graphics object.
      * 
-     * @param g2d        The graphics object passed by {@link Printable#print(Graphics, PageFormat, int) print}
+     * @param g2d        The graphics object passed by {@link Printable#print(Graphics, PageFormat, int) print},
+     *                   or null if the page is being prepared ahead of printing
      * @param pageFormat The page format passed by {@link Printable#print(Graphics, PageFormat, int) print}
      * @param pageNum    Indicates which page of multi-page sheets to print. The first page is 0.
      * 
@@ -568,29 +661,11 @@ public abstract class PrintRecordSheet implements Printable {
         }
         
         final String METHOD_NAME = "addArmorPips(SVGElement,int)";
-        double spacing = 6.15152;
-        double left = Double.MAX_VALUE;
-        double top = Double.MAX_VALUE;
-        double right = 0;
-        double bottom = 0;
         List<Rectangle2D> regions = new ArrayList<>();
         for (int i = 0; i < group.getChildNodes().getLength(); i++) {
             final Node r = group.getChildNodes().item(i);
             if (r instanceof SVGRectElement) {
-                Rectangle2D bbox = getRectBBox((SVGRectElement) r);
-                if (bbox.getX() < left) {
-                    left = bbox.getX();
-                }
-                if (bbox.getY() < top) {
-                    top = bbox.getY();
-                }
-                if (bbox.getX() + bbox.getWidth() > right) {
-                    right = bbox.getX() + bbox.getWidth();
-                }
-                if (bbox.getY() + bbox.getHeight() > bottom) {
-                    bottom = bbox.getY() + bbox.getHeight();
-                }
-                regions.add(bbox);
+                regions.add(getRectBBox((SVGRectElement) r));
             }
         }
         if (regions.isEmpty()) {
@@ -598,6 +673,48 @@ public abstract class PrintRecordSheet implements Printable {
                     "No pip rows defined for region " + group.getAttribute("id"));
             return;
         }
+
+        PipLayout layout = PipLayoutCache.getInstance().getLayout(svgDocument.getDocumentURI(),
+                group.getAttribute("id"), regions, pipCount, symmetric, pipType, size,
+                () -> layoutPips(regions, pipCount, symmetric, size));
+        for (int i = 0; i < layout.getPipCount(); i++) {
+            group.appendChild(createPip(layout.getX(i), layout.getY(i), layout.getRadius(i),
+                    strokeWidth, pipType));
+        }
+    }
+
+    /**
+     * Computes the position of each pip in a region.
+     *
+     * @param rowBounds The bounds of the pip rows, in document order
+     * @param pipCount  The number of pips to place in the region
+     * @param symmetric Whether the left and right sides should be mirror images
+     * @param size      The ratio of pip radius to the spacing between pips
+     * @return          The pip layout
+     */
+    private static PipLayout layoutPips(List<Rectangle2D> rowBounds, int pipCount, boolean symmetric,
+            double size) {
+        PipLayout layout = new PipLayout();
+        double spacing = 6.15152;
+        double left = Double.MAX_VALUE;
+        double top = Double.MAX_VALUE;
+        double right = 0;
+        double bottom = 0;
+        List<Rectangle2D> regions = new ArrayList<>(rowBounds);
+        for (Rectangle2D bbox : regions) {
+            if (bbox.getX() < left) {
+                left = bbox.getX();
+            }
+            if (bbox.getY() < top) {
+                top = bbox.getY();
+            }
+            if (bbox.getX() + bbox.getWidth() > right) {
+                right = bbox.getX() + bbox.getWidth();
+            }
+            if (bbox.getY() + bbox.getHeight() > bottom) {
+                bottom = bbox.getY() + bbox.getHeight();
+            }
+        }
         
         Rectangle2D bounds = new Rectangle2D.Double(left, top, right - left, bottom - top);
         double aspect = bounds.getWidth() / bounds.getHeight();
@@ -835,7 +952,6 @@ public abstract class PrintRecordSheet implements Printable {
         for (r = 0; r < pipsByRow.length; r++) {
             if (pipsByRow[r] > 0) {
                 double radius = rows.get(r).getHeight() * size;
-                Element pip = null;
                 // Symmetric and this row is centered
                 if (symmetric && (halfPipCount[r][0] == halfPipCount[r][1])) {
                     double leftX = centerLine - hSpacing;
@@ -844,8 +960,7 @@ public abstract class PrintRecordSheet implements Printable {
                         leftX -= radius;
                         rightX += hSpacing - radius;
                         if (pipsByRow[r] % 2 == 1) {
-                            pip = createPip(leftX + hSpacing, rows.get(r).getY(), radius, strokeWidth, pipType);
-                            group.appendChild(pip);
+                            layout.add(leftX + hSpacing, rows.get(r).getY(), radius);
                             pipsByRow[r]--;
                         }
                     } else {
@@ -853,10 +968,8 @@ public abstract class PrintRecordSheet implements Printable {
                         rightX += hSpacing / 2 - radius;
                     }
                     while (pipsByRow[r] > 0) {
-                        pip = createPip(leftX, rows.get(r).getY(), radius, strokeWidth, pipType);
-                        group.appendChild(pip);
-                        pip = createPip(rightX, rows.get(r).getY(), radius, strokeWidth, pipType);
-                        group.appendChild(pip);
+                        layout.add(leftX, rows.get(r).getY(), radius);
+                        layout.add(rightX, rows.get(r).getY(), radius);
                         leftX -= hSpacing;
                         rightX += hSpacing;
                         pipsByRow[r] -= 2;
@@ -872,14 +985,14 @@ public abstract class PrintRecordSheet implements Printable {
                         x += ((rowLength[r] - pipsByRow[r]) / 2) * hSpacing;
                     }
                     while (pipsByRow[r] > 0) {
-                        pip = createPip(x, rows.get(r).getY(), radius, strokeWidth, pipType);
-                        group.appendChild(pip);
+                        layout.add(x, rows.get(r).getY(), radius);
                         pipsByRow[r]--;
                         x += hSpacing;
                     }
                 }
             }
         }
+        return layout;
     }
     
     /**
@@ -889,7 +1002,7 @@ public abstract class PrintRecordSheet implements Printable {
      * @param scale The scaling factor
      * @return      A list of rectangular regions scaled according to the provided factor.
      */
-    private List<Rectangle2D> rescaleRows(List<Rectangle2D> rows, double scale) {
+    private static List<Rectangle2D> rescaleRows(List<Rectangle2D> rows, double scale) {
         if (rows.isEmpty() || (rows.size() == Math.floor(rows.size() * scale))) {
             return rows;
         }
@@ -955,7 +1068,7 @@ public abstract class PrintRecordSheet implements Printable {
      * @param aspect    The aspect ratio of the region (w/h)
      * @return          The number of rows to use in the pattern
      */
-    private int adjustedRows(int pipCount, int maxRows, int maxWidth, double aspect) {
+    private static int adjustedRows(int pipCount, int maxRows, int maxWidth, double aspect) {
         double nRows = Math.min(pipCount,  maxRows);
         double width = Math.ceil(pipCount / nRows);
         double pipAspect = width / nRows;
@@ -1266,16 +1379,16 @@ public abstract class PrintRecordSheet implements Printable {
             return;
         }
         try {
-            InputStream is = new BufferedInputStream(new FileInputStream(imageFile));
-            String mimeType = URLConnection.guessContentTypeFromStream(is);
-            String format = mimeType.substring(mimeType.indexOf("/") + 1);
+            EmbeddedImage image = EmbeddedImageCache.getInstance().getImage(imageFile,
+                    bbox.getWidth(), bbox.getHeight());
+            if (null == image) {
+                MegaMekLab.getLogger().log(PrintRecordSheet.class, METHOD_NAME, LogLevel.ERROR,
+                        "Unrecognized fluff image format: " + imageFile.getPath());
+                return;
+            }
 
-            RenderedImage fluffImage = ImageIO.read(imageFile);
-            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-            ImageIO.write(fluffImage, format, bytes);
-            
-            double width = fluffImage.getWidth();
-            double height = fluffImage.getHeight();
+            double width = image.getWidth();
+            double height = image.getHeight();
             double scale = Math.min(bbox.getWidth() / width, bbox.getHeight() / height);
             width *= scale;
             height *= scale;
@@ -1291,7 +1404,7 @@ public abstract class PrintRecordSheet implements Printable {
             img.setAttributeNS(null, SVGConstants.SVG_WIDTH_ATTRIBUTE, Double.toString(width));
             img.setAttributeNS(null, SVGConstants.SVG_HEIGHT_ATTRIBUTE, Double.toString(height));
             img.setAttributeNS(SVGConstants.XLINK_NAMESPACE_URI, SVGConstants.XLINK_HREF_QNAME,
-                    "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(bytes.toByteArray()));
+                    image.getDataUri());
             canvas.appendChild(img);
         } catch (FileNotFoundException e) {
             MegaMekLab.getLogger().log(PrintRecordSheet.class, METHOD_NAME, LogLevel.ERROR,
@@ -0,0 +1,240 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.printing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import megamek.common.Entity;
+import megameklab.com.util.RecordSheetEquipmentLine;
+
+/**
+ * Read-only copy of the values that a record sheet prints for a unit. The values that require
+ * calculation (battle value, cost, movement) or that printing previously obtained by modifying the
+ * unit (equipment lines and critical slots) are gathered once when the snapshot is created, so the
+ * sheet can be rendered again, or on another thread, without touching the unit.
+ */
+public class PrintSnapshot {
+
+    private final int[] armor;
+    private final int[] rearArmor;
+    private final int[] internal;
+    private final int[] armorType;
+    private final int battleValue;
+    private final double cost;
+    private final String walk;
+    private final String run;
+    private final String jump;
+    private final Map<Integer, Map<RecordSheetEquipmentLine, Integer>> equipment;
+    private final Map<String, Integer> ammo;
+    private final List<List<CritSlot>> criticals;
+
+    /**
+     * Creates a snapshot without equipment lines or critical slots.
+     *
+     * @param entity         The unit being printed
+     * @param ignorePilot    Whether to ignore pilot skills and C3 networks when calculating BV
+     * @param walk           The formatted walk/cruise MP
+     * @param run            The formatted run/flank MP
+     * @param jump           The formatted jump MP
+     */
+    public PrintSnapshot(Entity entity, boolean ignorePilot, String walk, String run, String jump) {
+        this(entity, ignorePilot, walk, run, jump, Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyList());
+    }
+
+    /**
+     * @param entity         The unit being printed
+     * @param ignorePilot    Whether to ignore pilot skills and C3 networks when calculating BV
+     * @param walk           The formatted walk/cruise MP
+     * @param run            The formatted run/flank MP
+     * @param jump           The formatted jump MP
+     * @param equipment      Equipment lines grouped by location, with the number of each
+     * @param ammo           Total shots for each ammo type
+     * @param criticals      The critical slots for each location, in location order
+     */
+    public PrintSnapshot(Entity entity, boolean ignorePilot, String walk, String run, String jump,
+            Map<Integer, Map<RecordSheetEquipmentLine, Integer>> equipment,
+            Map<String, Integer> ammo, List<List<CritSlot>> criticals) {
+        final int locs = entity.locations();
+        armor = new int[locs];
+        rearArmor = new int[locs];
+        internal = new int[locs];
+        armorType = new int[locs];
+        for (int loc = 0; loc < locs; loc++) {
+            armor[loc] = entity.getOArmor(loc);
+            if (entity.hasRearArmor(loc)) {
+                rearArmor[loc] = entity.getOArmor(loc, true);
+            }
+            internal[loc] = entity.getOInternal(loc);
+            armorType[loc] = entity.getArmorType(loc);
+        }
+        battleValue = entity.calculateBattleValue(ignorePilot, ignorePilot);
+        cost = entity.getCost(true);
+        this.walk = walk;
+        this.run = run;
+        this.jump = jump;
+
+        Map<Integer, Map<RecordSheetEquipmentLine, Integer>> eqCopy = new TreeMap<>();
+        for (Map.Entry<Integer, Map<RecordSheetEquipmentLine, Integer>> e : equipment.entrySet()) {
+            eqCopy.put(e.getKey(), Collections.unmodifiableMap(new LinkedHashMap<>(e.getValue())));
+        }
+        this.equipment = Collections.unmodifiableMap(eqCopy);
+        this.ammo = Collections.unmodifiableMap(new TreeMap<>(ammo));
+        List<List<CritSlot>> critCopy = new ArrayList<>(criticals.size());
+        for (List<CritSlot> slots : criticals) {
+            critCopy.add(Collections.unmodifiableList(new ArrayList<>(slots)));
+        }
+        this.criticals = Collections.unmodifiableList(critCopy);
+    }
+
+    /**
+     * @param loc The location index
+     * @return    The front armor in the location
+     */
+    public int getArmor(int loc) {
+        return armor[loc];
+    }
+
+    /**
+     * @param loc The location index
+     * @return    The rear armor in the location, or zero if the location has no rear armor
+     */
+    public int getRearArmor(int loc) {
+        return rearArmor[loc];
+    }
+
+    /**
+     * @param loc The location index
+     * @return    The internal structure in the location
+     */
+    public int getInternal(int loc) {
+        return internal[loc];
+    }
+
+    /**
+     * @param loc The location index
+     * @return    The armor type in the location
+     */
+    public int getArmorType(int loc) {
+        return armorType[loc];
+    }
+
+    public int getBattleValue() {
+        return battleValue;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public String getWalk() {
+        return walk;
+    }
+
+    public String getRun() {
+        return run;
+    }
+
+    public String getJump() {
+        return jump;
+    }
+
+    /**
+     * @return The equipment lines grouped by location, mapped to the number of identical lines
+     */
+    public Map<Integer, Map<RecordSheetEquipmentLine, Integer>> getEquipment() {
+        return equipment;
+    }
+
+    /**
+     * @return The total number of shots for each ammo type, keyed by the name to print
+     */
+    public Map<String, Integer> getAmmo() {
+        return ammo;
+    }
+
+    /**
+     * @param loc The location index
+     * @return    The critical slots in the location, or an empty list if none were recorded
+     */
+    public List<CritSlot> getCriticals(int loc) {
+        if (loc < criticals.size()) {
+            return criticals.get(loc);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * The printed form of a single critical slot
+     */
+    public static final class CritSlot {
+        /** Group value for slots that are not connected to neighboring slots */
+        public static final int NO_GROUP = -1;
+
+        private final String name;
+        private final boolean hittable;
+        private final boolean armored;
+        private final boolean modularArmor;
+        private final int group;
+        private final int groupSize;
+
+        /**
+         * @param name         The text to print for the slot
+         * @param hittable     False if the slot is empty or holds equipment that cannot be hit
+         * @param armored      Whether the component is armored
+         * @param modularArmor Whether the slot holds modular armor
+         * @param group        An identifier shared by every slot occupied by the same multi-slot
+         *                     component, or {@link #NO_GROUP}
+         * @param groupSize    The number of slots of the same equipment type in the location
+         */
+        public CritSlot(String name, boolean hittable, boolean armored, boolean modularArmor,
+                int group, int groupSize) {
+            this.name = name;
+            this.hittable = hittable;
+            this.armored = armored;
+            this.modularArmor = modularArmor;
+            this.group = group;
+            this.groupSize = groupSize;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHittable() {
+            return hittable;
+        }
+
+        public boolean isArmored() {
+            return armored;
+        }
+
+        public boolean isModularArmor() {
+            return modularArmor;
+        }
+
+        public int getGroup() {
+            return group;
+        }
+
+        public int getGroupSize() {
+            return groupSize;
+        }
+    }
+}
@@ -34,15 +34,33 @@ public class PrintTask extends SwingWorker<Void, Integer> {
     
     private final PrinterJob job;
     private final PrintRequestAttributeSet aset;
+    private final RecordSheetPipeline pipeline;
     
     public PrintTask(PrinterJob job, PrintRequestAttributeSet aset) {
+        this(job, aset, null);
+    }
+    
+    /**
+     * @param job      The print job
+     * @param aset     The print request attributes
+     * @param pipeline The pipeline preparing the pages for the job, which is shut down when the
+     *                 job is finished. May be null.
+     */
+    public PrintTask(PrinterJob job, PrintRequestAttributeSet aset, RecordSheetPipeline pipeline) {
         this.job = job;
         this.aset = aset;
+        this.pipeline = pipeline;
     }
 
     @Override
     protected Void doInBackground() throws Exception {
-        job.print(aset);
+        try {
+            job.print(aset);
+        } finally {
+            if (null != pipeline) {
+                pipeline.shutdown();
+            }
+        }
         return null;
     }
     
@@ -0,0 +1,282 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.printing;
+
+import java.awt.Dimension;
+import java.awt.print.Book;
+import java.awt.print.PageFormat;
+import java.awt.print.Paper;
+import java.awt.print.Printable;
+import java.awt.print.PrinterException;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.batik.anim.dom.SVGDOMImplementation;
+import org.apache.batik.dom.util.DOMUtilities;
+import org.apache.batik.svggen.SVGGraphics2D;
+import org.apache.batik.transcoder.TranscoderException;
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.PNGTranscoder;
+import org.apache.batik.util.SVGConstants;
+import org.w3c.dom.Document;
+
+import megamek.common.Entity;
+import megamek.common.EntityListFile;
+import megamek.common.MechFileParser;
+import megamek.common.MechSummary;
+import megamek.common.MechSummaryCache;
+import megamek.common.logging.LogLevel;
+import megameklab.com.MegaMekLab;
+import megameklab.com.util.UnitPrintManager;
+
+/**
+ * Writes record sheets to image files without a printer or display. The units are assigned to
+ * record sheets the same way as when printing, and each page is written to its own file as it is
+ * reached. Pages are prepared through a {@link RecordSheetPipeline}, so the number of pages held
+ * in memory is limited by its look-ahead window.
+ */
+public class RecordSheetExporter {
+
+    /**
+     * Output file formats
+     */
+    public enum Format {
+        SVG ("svg"),
+        PNG ("png");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @param name The name of the format, case insensitive
+         * @return     The matching format, or null if there is no match
+         */
+        public static Format parse(String name) {
+            for (Format f : values()) {
+                if (f.extension.equalsIgnoreCase(name)) {
+                    return f;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Resolution used when rasterizing pages */
+    public static final int DEFAULT_DPI = 150;
+
+    private final File outputDir;
+    private final Format format;
+    private int dpi = DEFAULT_DPI;
+    private boolean singlePrint = false;
+
+    /**
+     * @param outputDir The directory to write the record sheets to
+     * @param format    The file format
+     */
+    public RecordSheetExporter(File outputDir, Format format) {
+        this.outputDir = outputDir;
+        this.format = format;
+    }
+
+    /**
+     * @param dpi The resolution to use when writing raster image formats
+     */
+    public void setDpi(int dpi) {
+        this.dpi = dpi;
+    }
+
+    /**
+     * @param singlePrint If true, each record sheet will only contain a single unit
+     */
+    public void setSinglePrint(boolean singlePrint) {
+        this.singlePrint = singlePrint;
+    }
+
+    /**
+     * Loads the units from the source and writes their record sheets. The source may be a MUL
+     * file, a directory containing unit files, or a text file with one unit name per line.
+     *
+     * @param source The MUL file, unit directory, or unit list
+     * @return       The number of pages written
+     * @throws Exception If the units cannot be loaded or the output cannot be written
+     */
+    public int export(File source) throws Exception {
+        final String METHOD_NAME = "export(File)";
+
+        List<Entity> units = loadUnits(source);
+        List<Entity> unprintable = new ArrayList<>();
+        Book book = UnitPrintManager.createBook(units, singlePrint, createPageFormat(), unprintable);
+        for (Entity en : unprintable) {
+            MegaMekLab.getLogger().log(RecordSheetExporter.class, METHOD_NAME, LogLevel.WARNING,
+                    "Printing is not currently supported for " + en.getChassis() + " " + en.getModel());
+        }
+        String baseName = source.getName();
+        if (!source.isDirectory() && (baseName.lastIndexOf('.') > 0)) {
+            baseName = baseName.substring(0, baseName.lastIndexOf('.'));
+        }
+        return export(book, baseName);
+    }
+
+    /**
+     * Writes each page of the book to a separate file.
+     *
+     * @param book     The record sheets to write
+     * @param baseName The prefix for the output file names, which are numbered by page
+     * @return         The number of pages written
+     * @throws IOException      If there is an error writing one of the files
+     * @throws PrinterException If one of the pages cannot be rendered
+     */
+    public int export(Book book, String baseName) throws IOException, PrinterException {
+        if (!outputDir.exists() && !outputDir.mkdirs()) {
+            throw new IOException("Could not create output directory " + outputDir.getPath());
+        }
+        final String nameFormat = "%s_%0" + Math.max(3, Integer.toString(book.getNumberOfPages()).length())
+                + "d.%s";
+        RecordSheetPipeline pipeline = new RecordSheetPipeline(book);
+        try {
+            for (int page = 0; page < pipeline.getNumberOfPages(); page++) {
+                File file = new File(outputDir, String.format(nameFormat, baseName, page + 1,
+                        format.getExtension()));
+                writePage(pipeline.getPrintable(page), pipeline.getPageFormat(page), page, file);
+            }
+        } finally {
+            pipeline.shutdown();
+        }
+        return book.getNumberOfPages();
+    }
+
+    private void writePage(Printable printable, PageFormat pageFormat, int pageIndex, File file)
+            throws IOException, PrinterException {
+        Document doc = SVGDOMImplementation.getDOMImplementation().createDocument(PrintRecordSheet.svgNS,
+                SVGConstants.SVG_SVG_TAG, null);
+        SVGGraphics2D g2d = new SVGGraphics2D(doc);
+        g2d.setSVGCanvasSize(new Dimension((int) pageFormat.getWidth(), (int) pageFormat.getHeight()));
+        printable.print(g2d, pageFormat, pageIndex);
+        g2d.getRoot(doc.getDocumentElement());
+        g2d.dispose();
+
+        switch (format) {
+            case PNG:
+                PNGTranscoder transcoder = new PNGTranscoder();
+                transcoder.addTranscodingHint(PNGTranscoder.KEY_WIDTH,
+                        (float) (pageFormat.getWidth() * dpi / 72.0));
+                try (OutputStream os = new BufferedOutputStream(new FileOutputStream(file))) {
+                    transcoder.transcode(new TranscoderInput(doc), new TranscoderOutput(os));
+                } catch (TranscoderException e) {
+                    throw new IOException("Could not write " + file.getPath(), e);
+                }
+                break;
+            case SVG:
+            default:
+                try (Writer w = new OutputStreamWriter(new BufferedOutputStream(new FileOutputStream(file)),
+                        StandardCharsets.UTF_8)) {
+                    DOMUtilities.writeDocument(doc, w);
+                }
+                break;
+        }
+    }
+
+    /**
+     * @return A US Letter page format with the entire page available for printing
+     */
+    private static PageFormat createPageFormat() {
+        PageFormat pageFormat = new PageFormat();
+        Paper p = pageFormat.getPaper();
+        p.setImageableArea(0, 0, p.getWidth(), p.getHeight());
+        pageFormat.setPaper(p);
+        return pageFormat;
+    }
+
+    /**
+     * Loads the units to export.
+     *
+     * @param source A MUL file, a directory containing unit files, or a text file with one unit
+     *               name per line
+     * @return       The loaded units
+     * @throws Exception If the file cannot be read or parsed
+     */
+    private static List<Entity> loadUnits(File source) throws Exception {
+        final String METHOD_NAME = "loadUnits(File)";
+
+        List<Entity> units = new ArrayList<>();
+        if (source.isDirectory()) {
+            File[] files = source.listFiles((dir, name) -> {
+                String lc = name.toLowerCase(Locale.ROOT);
+                return lc.endsWith(".mtf") || lc.endsWith(".blk");
+            });
+            if (null != files) {
+                Arrays.sort(files);
+                for (File f : files) {
+                    units.add(new MechFileParser(f).getEntity());
+                }
+            }
+        } else if (source.getName().toLowerCase(Locale.ROOT).endsWith(".mul")) {
+            units.addAll(EntityListFile.loadFrom(source));
+        } else {
+            MechSummaryCache cache = MechSummaryCache.getInstance();
+            // Register before checking, so loading cannot finish between the check and the wait
+            final CountDownLatch loaded = new CountDownLatch(1);
+            final MechSummaryCache.Listener listener = loaded::countDown;
+            cache.addListener(listener);
+            try {
+                if (!cache.isInitialized()) {
+                    loaded.await();
+                }
+            } finally {
+                cache.removeListener(listener);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(source), StandardCharsets.UTF_8))) {
+                String line;
+                while (null != (line = reader.readLine())) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    MechSummary ms = cache.getMech(line);
+                    if (null == ms) {
+                        MegaMekLab.getLogger().log(RecordSheetExporter.class, METHOD_NAME, LogLevel.WARNING,
+                                "Unit not found: " + line);
+                    } else {
+                        units.add(new MechFileParser(ms.getSourceFile(), ms.getEntryName()).getEntity());
+                    }
+                }
+            }
+        }
+        return units;
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.printing;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.print.Book;
+import java.awt.print.PageFormat;
+import java.awt.print.Pageable;
+import java.awt.print.Printable;
+import java.awt.print.PrinterException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.batik.gvt.GraphicsNode;
+
+/**
+ * Wraps a {@link Book} of record sheets and prepares the pages ahead of the printer on a pool of
+ * worker threads. When the printer requests a page, the pages that follow it within the look-ahead
+ * window are scheduled, and any prepared pages outside the window are discarded, so the number of
+ * pages held in memory is limited by the window size.
+ *
+ * Only pages belonging to a {@link PrintRecordSheet} can be prepared in advance; any other
+ * {@link Printable} is passed through and printed on the printer thread as usual. Because the
+ * pages are rendered in the background, the sheets must be created from units that nothing else
+ * modifies, such as copies of the units open in the editor.
+ */
+public class RecordSheetPipeline implements Pageable {
+
+    /** The default number of pages to prepare ahead of the printer */
+    public static final int DEFAULT_WINDOW = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private final Book book;
+    private final int window;
+    private final ExecutorService executor;
+    private final Map<Integer, Future<GraphicsNode>> pages = new TreeMap<>();
+
+    /**
+     * Creates a pipeline with the default look-ahead window.
+     *
+     * @param book The record sheets to print
+     */
+    public RecordSheetPipeline(Book book) {
+        this(book, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param book   The record sheets to print
+     * @param window The maximum number of pages to prepare ahead of the printer. This also
+     *               determines the maximum number of worker threads.
+     */
+    public RecordSheetPipeline(Book book, int window) {
+        this.book = book;
+        this.window = Math.max(1, window);
+        executor = Executors.newFixedThreadPool(Math.min(this.window,
+                Runtime.getRuntime().availableProcessors()), new WorkerFactory());
+    }
+
+    @Override
+    public int getNumberOfPages() {
+        return book.getNumberOfPages();
+    }
+
+    @Override
+    public PageFormat getPageFormat(int pageIndex) throws IndexOutOfBoundsException {
+        return book.getPageFormat(pageIndex);
+    }
+
+    @Override
+    public Printable getPrintable(int pageIndex) throws IndexOutOfBoundsException {
+        Printable printable = book.getPrintable(pageIndex);
+        if (printable instanceof PrintRecordSheet) {
+            return new PreparedPage();
+        }
+        return printable;
+    }
+
+    /**
+     * Stops the worker threads and discards any prepared pages. This should be called when the
+     * print job is finished.
+     */
+    public void shutdown() {
+        synchronized (pages) {
+            for (Future<GraphicsNode> f : pages.values()) {
+                f.cancel(true);
+            }
+            pages.clear();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Retrieves the graphics tree for a page, waiting for it to be finished if necessary, and
+     * updates the look-ahead window to start with the requested page.
+     *
+     * @param pageIndex The page index within the book
+     * @return          The graphics tree for the page
+     * @throws PrinterException If the page could not be prepared
+     */
+    private GraphicsNode getPage(int pageIndex) throws PrinterException {
+        Future<GraphicsNode> future;
+        synchronized (pages) {
+            for (Iterator<Map.Entry<Integer, Future<GraphicsNode>>> iter = pages.entrySet().iterator();
+                    iter.hasNext(); ) {
+                Map.Entry<Integer, Future<GraphicsNode>> entry = iter.next();
+                if ((entry.getKey() < pageIndex) || (entry.getKey() >= pageIndex + window)) {
+                    // Interrupt pages that are still being prepared so they do not hold on to
+                    // their documents
+                    entry.getValue().cancel(true);
+                    iter.remove();
+                }
+            }
+            for (int i = pageIndex; (i < pageIndex + window) && (i < book.getNumberOfPages()); i++) {
+                if (!pages.containsKey(i) && (book.getPrintable(i) instanceof PrintRecordSheet)) {
+                    final PrintRecordSheet sheet = (PrintRecordSheet) book.getPrintable(i);
+                    final PageFormat pageFormat = book.getPageFormat(i);
+                    final int index = i;
+                    pages.put(i, executor.submit(() -> sheet.createPage(pageFormat, index)));
+                }
+            }
+            future = pages.get(pageIndex);
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            PrinterException ex = new PrinterException("Error rendering page " + (pageIndex + 1));
+            ex.initCause(e.getCause());
+            throw ex;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PrinterException("Interrupted while rendering page " + (pageIndex + 1));
+        }
+    }
+
+    /**
+     * Stands in for a {@link PrintRecordSheet} and paints the graphics tree prepared by the pipeline.
+     */
+    private class PreparedPage implements Printable {
+
+        @Override
+        public int print(Graphics graphics, PageFormat pageFormat, int pageIndex) throws PrinterException {
+            if (null != graphics) {
+                GraphicsNode node = getPage(pageIndex);
+                if (null != node) {
+                    node.paint((Graphics2D) graphics);
+                }
+            }
+            return Printable.PAGE_EXISTS;
+        }
+    }
+
+    /**
+     * Creates daemon threads so that an abandoned pipeline does not keep the application alive.
+     */
+    private static class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "RecordSheetRenderer-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+
+}
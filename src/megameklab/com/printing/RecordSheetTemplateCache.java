@@ -0,0 +1,189 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.printing;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.batik.anim.dom.SVGDOMImplementation;
+import org.apache.batik.dom.util.DOMUtilities;
+import org.apache.batik.dom.util.SAXDocumentFactory;
+import org.apache.batik.util.XMLResourceDescriptor;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.svg.SVGDocument;
+
+import megamek.common.annotations.Nullable;
+import megameklab.com.MegaMekLab;
+import megameklab.com.util.Diagnostics;
+
+/**
+ * Process-wide cache of parsed record sheet templates. Each template file is parsed once into a
+ * master document, and every request returns a deep copy of the master that the caller is free
+ * to modify. Entries are keyed by path and invalidated if the file's modification time changes,
+ * and the least recently used template is dropped when the cache is full.
+ */
+public class RecordSheetTemplateCache {
+
+    /** The maximum number of parsed templates to keep in memory */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final RecordSheetTemplateCache instance = new RecordSheetTemplateCache(DEFAULT_CAPACITY);
+
+    private final Map<String, CachedTemplate> templates;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @return The shared template cache
+     */
+    public static RecordSheetTemplateCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Creates a template cache.
+     *
+     * @param capacity The maximum number of templates to hold before evicting the least recently
+     *                 used one.
+     */
+    RecordSheetTemplateCache(final int capacity) {
+        templates = new LinkedHashMap<String, CachedTemplate>(capacity + 1, 0.75f, true) {
+            private static final long serialVersionUID = -4287612537946436418L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTemplate> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Provides a copy of the template document that can be modified by the caller without
+     * affecting the cached version.
+     *
+     * @param file The SVG template file
+     * @return     A copy of the parsed document, or null if the file could not be read.
+     */
+    public @Nullable SVGDocument getDocument(File file) {
+        final String key = file.getAbsolutePath();
+        final long lastModified = file.lastModified();
+        CachedTemplate template;
+        synchronized (templates) {
+            template = templates.get(key);
+            if ((null != template) && (template.lastModified != lastModified)) {
+                templates.remove(key);
+                template = null;
+            }
+        }
+        if (null == template) {
+            misses.incrementAndGet();
+            SVGDocument doc = parse(file);
+            if (null == doc) {
+                return null;
+            }
+            template = new CachedTemplate(doc, file.toURI().toASCIIString(), lastModified);
+            synchronized (templates) {
+                templates.put(key, template);
+            }
+        } else {
+            hits.incrementAndGet();
+        }
+        return template.copy();
+    }
+
+    /**
+     * @return The number of requests that were satisfied from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of requests that required parsing the template file
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of templates currently held in the cache
+     */
+    public int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    /**
+     * Removes all templates from the cache and resets the counters.
+     */
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    private @Nullable SVGDocument parse(File file) {
+        final String METHOD_NAME = "parse(File)";
+        final long start = System.nanoTime();
+        try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+            DOMImplementation impl = SVGDOMImplementation.getDOMImplementation();
+            final String parser = XMLResourceDescriptor.getXMLParserClassName();
+            SAXDocumentFactory df = new SAXDocumentFactory(impl, parser);
+            return (SVGDocument) df.createDocument(file.toURI().toASCIIString(), is);
+        } catch (Exception e) {
+            MegaMekLab.getLogger().error(RecordSheetTemplateCache.class, METHOD_NAME, e);
+            return null;
+        } finally {
+            Diagnostics.getInstance().record("svg.template.parse", start);
+        }
+    }
+
+    /**
+     * A parsed master document along with the modification time of the file it was read from.
+     */
+    private static class CachedTemplate {
+        private final SVGDocument master;
+        private final String uri;
+        private final long lastModified;
+
+        CachedTemplate(SVGDocument master, String uri, long lastModified) {
+            this.master = master;
+            this.uri = uri;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * The Batik DOM is not safe for concurrent reads, so copies of the same master are made
+         * one at a time.
+         */
+        synchronized SVGDocument copy() {
+            final long start = System.nanoTime();
+            Document doc = DOMUtilities.deepCloneDocument(master,
+                    SVGDOMImplementation.getDOMImplementation());
+            doc.setDocumentURI(uri);
+            Diagnostics.getInstance().record("svg.template.copy", start);
+            return (SVGDocument) doc;
+        }
+    }
+
+}
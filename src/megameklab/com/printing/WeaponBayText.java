@@ -46,9 +46,10 @@ public class WeaponBayText implements Comparable<WeaponBayText> {
     public Map<WeaponType, Integer> weapons = new HashMap<>();
 
     /**
-     * Track the ammo for each weapontype in the bay.
+     * Track the ammo for each weapontype in the bay: the ton capacity for AR10
+     * launchers and the number of shots for everything else.
      */
-    public Map<WeaponType, Mounted> weaponAmmo = new HashMap<>();
+    public Map<WeaponType, Integer> weaponAmmo = new HashMap<>();
 
     public boolean allowNosAftCombine = true;
     /**
@@ -76,7 +77,11 @@ public class WeaponBayText implements Comparable<WeaponBayText> {
             if ((wtype instanceof AmmoWeapon) && (weapon.getLinked() != null)) {
                 Mounted ammo = weapon.getLinked();
                 if (ammo.getType() instanceof AmmoType) {
-                    weaponAmmo.put(wtype, ammo);
+                    if (wtype.getAmmoType() == AmmoType.T_AR10) {
+                        weaponAmmo.put(wtype, (int) ammo.getAmmoCapacity());
+                    } else {
+                        weaponAmmo.put(wtype, ammo.getBaseShotsLeft());
+                    }
                 }
             }
         }
@@ -101,8 +106,7 @@ public class WeaponBayText implements Comparable<WeaponBayText> {
     }
 
     /**
-     * Used to compare ammos across WeaponBayTexts. Since Mounted.equals isn't
-     * implemented, we can't directly use Map.equals.
+     * Used to compare ammos across WeaponBayTexts.
      *
      * @param other
      * @return
@@ -112,7 +116,7 @@ public class WeaponBayText implements Comparable<WeaponBayText> {
                 && weaponAmmo.keySet().equals(other.weaponAmmo.keySet());
         if (rv) {
             for (WeaponType wtype : weaponAmmo.keySet()) {
-                rv |= weaponAmmo.get(wtype).getBaseShotsLeft() == other.weaponAmmo.get(wtype).getBaseShotsLeft();
+                rv |= weaponAmmo.get(wtype).equals(other.weaponAmmo.get(wtype));
             }
         }
         return rv;
@@ -78,11 +78,11 @@ public class MainUI extends MegaMekLabMainUI {
         equipmentTab = new EquipmentTab(this);
         buildTab = new BuildTab(this, equipmentTab);
         fluffTab = new FluffTab(this);
-        structureTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
-        statusbar.addRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshScheduler());
+        equipmentTab.addRefreshedListener(getRefreshScheduler());
+        buildTab.addRefreshedListener(getRefreshScheduler());
+        fluffTab.setRefreshedListener(getRefreshScheduler());
+        statusbar.addRefreshedListener(getRefreshScheduler());
 
         configPane.addTab("Structure/Armor", structureTab);
         configPane.addTab("Equipment", equipmentTab);
@@ -35,6 +35,7 @@ import megamek.common.WeaponType;
 import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestAero;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.ui.util.RefreshDebouncer;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
@@ -57,6 +58,8 @@ public class StatusBar extends ITab {
             "data/mechfiles/UnitVerifierOptions.xml"));
     private TestAero testAero = null;
     private DecimalFormat formatter;
+    private final RefreshDebouncer refreshRequests =
+            new RefreshDebouncer("StatusBar.refresh", this::refreshLabels);
     private JFrame parentFrame;
 
     private RefreshListener refresh;
@@ -99,10 +102,17 @@ public class StatusBar extends ITab {
         this.add(cost, gbc);
 
 
-        refresh();
+        refreshLabels();
     }
 
+    /**
+     * Schedules the labels to be updated once the user pauses editing.
+     */
     public void refresh() {
+        refreshRequests.request();
+    }
+
+    private void refreshLabels() {
 
         int heat = getAero().getHeatCapacity();
         double tonnage = getAero().getWeight();
@@ -27,10 +27,7 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -76,7 +73,9 @@ import megamek.common.weapons.bayweapons.BayWeapon;
 import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
+import megameklab.com.util.EquipmentTableRowSorter;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -176,13 +175,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         masterEquipmentList = new EquipmentTableModel(eSource.getEntity(), eSource.getTechManager());
         masterEquipmentTable.setModel(masterEquipmentList);
         masterEquipmentTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-        equipmentSorter = new TableRowSorter<EquipmentTableModel>(masterEquipmentList);
-        equipmentSorter.setComparator(EquipmentTableModel.COL_HEAT, new WeaponIntegerSorter());
-        equipmentSorter.setComparator(EquipmentTableModel.COL_MRANGE, new WeaponIntegerSorter());
-        equipmentSorter.setComparator(EquipmentTableModel.COL_DAMAGE, new WeaponDamageSorter());
-        equipmentSorter.setComparator(EquipmentTableModel.COL_RANGE, new WeaponRangeSorter());
-        equipmentSorter.setComparator(EquipmentTableModel.COL_COST, new FormattedNumberSorter());
-        equipmentSorter.setComparator(EquipmentTableModel.COL_TON, new FormattedNumberSorter());
+        equipmentSorter = new EquipmentTableRowSorter(masterEquipmentList);
         masterEquipmentTable.setRowSorter(equipmentSorter);
         ArrayList<RowSorter.SortKey> sortKeys = new ArrayList<RowSorter.SortKey>();
         sortKeys.add(new RowSorter.SortKey(EquipmentTableModel.COL_NAME, SortOrder.ASCENDING));
@@ -220,14 +213,7 @@ public class EquipmentTab extends ITab implements ActionListener {
         masterEquipmentTable.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT).put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "add");
         masterEquipmentTable.getActionMap().put("add", new EnterAction());
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            allTypes.add(eq);
-        }
-
-        masterEquipmentList.setData(allTypes);
+        masterEquipmentList.setData(EquipmentCatalog.getInstance().getAllTypes());
 
         loadEquipmentTable();
 
@@ -461,6 +447,7 @@ public class EquipmentTab extends ITab implements ActionListener {
 
     public void refresh() {
         removeAllListeners();
+        masterEquipmentList.invalidate();
         filterEquipment();
         updateEquipment();
         addAllListeners();
@@ -631,7 +618,7 @@ public class EquipmentTab extends ITab implements ActionListener {
                     return false;
                 }
                 Aero aero = getAero();
-                if (((nType == T_OTHER) && UnitUtil.isAeroEquipment(etype, getAero()))
+                if (((nType == T_OTHER) && EquipmentCatalog.getInstance().isEntityEquipment(etype, aero))
                         || (((nType == T_WEAPON) && UnitUtil.isAeroWeapon(etype, aero) && !(etype instanceof BayWeapon)))
                         || ((nType == T_ENERGY) && UnitUtil.isAeroWeapon(etype, aero)
                             && (wtype != null) && (wtype.hasFlag(WeaponType.F_ENERGY)
@@ -735,135 +722,6 @@ public class EquipmentTab extends ITab implements ActionListener {
         }
     }
 
-    /**
-     * A comparator for integers written as strings with "-" sorted to the bottom always
-     * @author Jay Lawson
-     *
-     */
-    public class WeaponIntegerSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            if(s0.equals("-") && s1.equals("-")) {
-                return 0;
-            } else if(s0.equals("-")) {
-                return 1;
-            } else if(s1.equals("-")) {
-                return -1;
-            } else {
-                //get the numbers associated with each string
-                int r0 = Integer.parseInt(s0);
-                int r1 = Integer.parseInt(s1);
-                return ((Comparable<Integer>)r1).compareTo(r0);
-            }
-        }
-    }
-
-    /**
-     * A comparator for integers written as strings with "-" sorted to the bottom always
-     * @author Jay Lawson
-     *
-     */
-    public class WeaponRangeSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            return s0.compareTo(s1);
-        }
-    }
-
-    public class WeaponDamageSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            if(s0.equals("-") && s1.equals("-")) {
-                return 0;
-            } else if(s0.equals("-")) {
-                return 1;
-            } else if(s1.equals("-")) {
-                return -1;
-            } else if(s0.equals("Cluster") && s1.equals("-")) {
-                return 1;
-            } else if(s0.equals("-") && s1.equals("Cluster")) {
-                return -1;
-            } else if(s0.equals("Cluster") && s1.equals("Special")) {
-                return 1;
-            } else if(s0.equals("Special") && s1.equals("Cluster")) {
-                return -1;
-            } else if(s0.equals("Special") && s1.equals("-")) {
-                return 1;
-            } else if(s0.equals("-") && s1.equals("Special")) {
-                return -1;
-            } else if(s0.equals("Cluster") && s1.equals("Cluster")) {
-                return 0;
-            } else if(s0.equals("Cluster")) {
-                return 1;
-            } else if(s1.equals("Cluster")) {
-                return -1;
-            } else if(s0.equals("Special") && s1.equals("Special")) {
-                return 0;
-            } else if(s0.equals("Special")) {
-                return 1;
-            } else if(s1.equals("Special")) {
-                return -1;
-            } else {
-                //get the numbers associated with each string
-                int r1 = parseDamage(s1);
-                int r0 = parseDamage(s0);
-                return ((Comparable<Integer>)r1).compareTo(r0);
-            }
-        }
-
-        /**
-         * Extracts an integer value from the damage string for use in sorting by damage. If a String
-         * contains any non-digit character, that character and anything after it is ignored. If the string
-         * starts with a non-digit character the return value is 0.
-         * 
-         * @param s A weapon damage string
-         * @return  The value to use for sorting.
-         */
-        private int parseDamage(String s) {
-            s = s.replaceAll("[^0-9]+", "/");
-            if (s.contains("/")) {
-                s = s.substring(0, s.indexOf("/"));
-            }
-            if (s.length() > 0) {
-                return Integer.parseInt(s);
-            } else {
-                return 0;
-            }
-        }
-    }
-
-    /**
-     * A comparator for numbers that have been formatted with DecimalFormat
-     * @author Jay Lawson
-     *
-     */
-    public class FormattedNumberSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            //lets find the weight class integer for each name
-            DecimalFormat format = new DecimalFormat();
-            double l0 = 0.0;
-            try {
-                l0 = format.parse(s0).doubleValue();
-            } catch (java.text.ParseException e) {
-                MegaMekLab.getLogger().error(getClass(), "compare(String, String)",
-                        "Parse error comparing " + s0 + " and " + s1, e);
-            }
-            double l1 = 0.0;
-            try {
-                l1 = format.parse(s1).doubleValue();
-            } catch (java.text.ParseException e) {
-                MegaMekLab.getLogger().error(getClass(), "compare(String, String)",
-                        "Parse error comparing " + s0 + " and " + s1, e);
-            }
-            return Double.compare(l0, l1);
-        }
-    }
-    
     private ListSelectionListener selectionListener = new ListSelectionListener() {
 
         @Override
@@ -879,6 +737,7 @@ public class EquipmentTab extends ITab implements ActionListener {
     };
 
     public void refreshTable() {
+        masterEquipmentList.invalidate();
         filterEquipment();
     }
 }
@@ -54,6 +54,7 @@ import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.PatchworkArmorView;
 import megameklab.com.ui.view.listeners.AeroBuildListener;
 import megameklab.com.ui.view.listeners.ArmorAllocationListener;
+import megameklab.com.util.ArmorDistributor;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -600,41 +601,23 @@ public class StructureTab extends ITab implements AeroBuildListener, ArmorAlloca
 
     @Override
     public void autoAllocateArmor() {
-        for (int loc = 0; loc < getAero().locations(); loc++) {
-            getAero().initializeArmor(0, loc);
-        }
-        
         // divide armor among positions, with more toward the front
-        int points = UnitUtil.getArmorPoints(getAero(), getAero().getLabArmorTonnage());
-        int nose = (int)Math.floor(points * 0.3);
-        int wing = (int)Math.floor(points * 0.25);
-        int aft = (int)Math.floor(points * 0.2);
-        int remainder = points - nose - wing - wing - aft;
-        
-        // spread remainder among nose and wings
-        switch(remainder % 4) {
-            case 1:
-                nose++;
-                break;
-            case 3:
-                nose++;
-                wing++;
-                break;
-            case 2:
-                wing++;
-                break;
-        }
-        getAero().initializeArmor(nose, Aero.LOC_NOSE);
-        getAero().initializeArmor(wing, Aero.LOC_LWING);
-        getAero().initializeArmor(wing, Aero.LOC_RWING);
-        getAero().initializeArmor(aft, Aero.LOC_AFT);
+        new ArmorDistributor(getAero().locations())
+                .setLocation(Aero.LOC_NOSE, 0.3, ArmorDistributor.UNLIMITED)
+                .setLocation(Aero.LOC_LWING, 0.25, ArmorDistributor.UNLIMITED)
+                .setLocation(Aero.LOC_RWING, 0.25, ArmorDistributor.UNLIMITED)
+                .setLocation(Aero.LOC_AFT, 0.2, ArmorDistributor.UNLIMITED)
+                .setPair(Aero.LOC_LWING, Aero.LOC_RWING)
+                // spread remainder among nose and wings
+                .setPriority(Aero.LOC_NOSE, Aero.LOC_LWING, Aero.LOC_RWING, Aero.LOC_AFT)
+                .distribute(UnitUtil.getArmorPoints(getAero(), getAero().getLabArmorTonnage()))
+                .apply(getAero());
         getAero().autoSetThresh();
 
         panArmorAllocation.setFromEntity(getAero());
         refresh.refreshPreview();
         refresh.refreshSummary();
         refresh.refreshStatus();
-
     }
 
     @Override
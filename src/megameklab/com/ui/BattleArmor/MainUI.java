@@ -71,10 +71,10 @@ public class MainUI extends MegaMekLabMainUI {
 
         statusbar = new StatusBar(this);
         buildTab = new BuildTab(this);
-        structureTab.addRefreshedListener(this);
-        equipTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshScheduler());
+        equipTab.addRefreshedListener(getRefreshScheduler());
+        buildTab.addRefreshedListener(getRefreshScheduler());
+        fluffTab.setRefreshedListener(getRefreshScheduler());
 
         ConfigPane.addTab("Structure/Armor", structureTab);
         ConfigPane.addTab("Equipment", equipTab);
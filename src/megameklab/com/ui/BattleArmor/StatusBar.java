@@ -33,6 +33,7 @@ import megamek.common.BattleArmor;
 import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestBattleArmor;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.ui.util.RefreshDebouncer;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
@@ -62,6 +63,8 @@ public class StatusBar extends ITab {
     
     private TestBattleArmor testBA = null;
     private DecimalFormat formatter;
+    private final RefreshDebouncer refreshRequests =
+            new RefreshDebouncer("StatusBar.refresh", this::refreshLabels);
     private JFrame parentFrame;
 
     private RefreshListener refresh;
@@ -105,7 +108,7 @@ public class StatusBar extends ITab {
         gbc.weightx = 1.0;
         this.add(cost, gbc);
         
-        refresh();
+        refreshLabels();
     }
 
     public JPanel movementPanel() {
@@ -131,7 +134,14 @@ public class StatusBar extends ITab {
         return tonnagePanel;
     }
 
+    /**
+     * Schedules the labels to be updated once the user pauses editing.
+     */
     public void refresh() {
+        refreshRequests.request();
+    }
+
+    private void refreshLabels() {
 
         int walk = getBattleArmor().getOriginalWalkMP();
         int jump = getBattleArmor().getOriginalJumpMP();
@@ -62,8 +62,8 @@ public class MainUI extends MegaMekLabMainUI {
         fluffTab = new FluffTab(this);
         previewTab = new PreviewTab(this);
 
-        structureTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshScheduler());
+        fluffTab.setRefreshedListener(getRefreshScheduler());
 
         ConfigPane.addTab("Build", structureTab);
         ConfigPane.addTab("Fluff", fluffTab);
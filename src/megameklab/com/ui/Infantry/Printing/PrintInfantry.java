@@ -116,13 +116,14 @@ public class PrintInfantry implements Printable {
     	}
 
         try {
+            // The template is shared, but filling in the year a second time leaves the text unchanged.
         	Tspan tspan = (Tspan)diagram.getElement("text_copyright");
         	tspan.setText(String.format(tspan.getText(), Calendar.getInstance().get(Calendar.YEAR)));
         	((Text)tspan.getParent()).rebuild();
             diagram.render(g2d);
 
             for (int pos = 0; pos < stop; pos++) {
-                diagram = ImageHelper.loadSVGImage(new File("data/images/recordsheets/Conventional_Infantry_platoon_"
+                diagram = ImageHelper.loadEditableSVGImage(new File("data/images/recordsheets/Conventional_Infantry_platoon_"
                 		+ (pos + 1) + ".svg"));
         		infantry = infantryList.get(pos + currentPosition);
         		tspan = (Tspan)diagram.getElement(ID_PLATOON_NAME);
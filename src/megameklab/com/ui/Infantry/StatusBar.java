@@ -28,6 +28,7 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.ui.util.RefreshDebouncer;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
@@ -48,6 +49,8 @@ public class StatusBar extends ITab {
     private JLabel tons = new JLabel();
     private JLabel cost = new JLabel();
     private DecimalFormat formatter;
+    private final RefreshDebouncer refreshRequests =
+            new RefreshDebouncer("StatusBar.refresh", this::refreshLabels);
     private JFrame parentFrame;
 
     private RefreshListener refresh;
@@ -91,10 +94,17 @@ public class StatusBar extends ITab {
         this.add(cost, gbc);
 
 
-        refresh();
+        refreshLabels();
     }
 
+    /**
+     * Schedules the labels to be updated once the user pauses editing.
+     */
     public void refresh() {
+        refreshRequests.request();
+    }
+
+    private void refreshLabels() {
 
         DecimalFormat roundFormat = new DecimalFormat("#.##");
         double currentTonnage;
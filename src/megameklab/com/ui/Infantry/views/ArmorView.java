@@ -26,8 +26,6 @@ import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Enumeration;
 
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
@@ -61,7 +59,9 @@ import megamek.common.ITechManager;
 import megamek.common.MiscType;
 import megamek.common.TechConstants;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
+import megameklab.com.util.EquipmentTableRowSorter;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.XTableColumnModel;
@@ -105,9 +105,7 @@ public class ArmorView extends IView implements ActionListener, ChangeListener {
         masterEquipmentList = new EquipmentTableModel(eSource.getEntity(), techManager);
         masterEquipmentTable.setModel(masterEquipmentList);
         masterEquipmentTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-        equipmentSorter = new TableRowSorter<EquipmentTableModel>(masterEquipmentList);
-        equipmentSorter.setComparator(EquipmentTableModel.COL_DIVISOR, new DamageDivisorSorter());
-        equipmentSorter.setComparator(EquipmentTableModel.COL_COST, new WeaponView.FormattedNumberSorter());
+        equipmentSorter = new EquipmentTableRowSorter(masterEquipmentList);
         masterEquipmentTable.setRowSorter(equipmentSorter);
         ArrayList<RowSorter.SortKey> sortKeys = new ArrayList<RowSorter.SortKey>();
         sortKeys.add(new RowSorter.SortKey(EquipmentTableModel.COL_NAME, SortOrder.ASCENDING));
@@ -142,10 +140,8 @@ public class ArmorView extends IView implements ActionListener, ChangeListener {
         masterEquipmentScroll.setMinimumSize(new Dimension(200,200));
         masterEquipmentScroll.setPreferredSize(new Dimension(200,200));
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
         ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
+        for (EquipmentType eq : EquipmentCatalog.getInstance().getMisc()) {
             if(eq.hasFlag(MiscType.F_ARMOR_KIT)) {
                 allTypes.add(eq);
             }
@@ -333,6 +329,7 @@ public class ArmorView extends IView implements ActionListener, ChangeListener {
             chSneakIR.setEnabled(true);
             chSneakECM.setEnabled(true);
         }
+        masterEquipmentList.invalidate();
         filterEquipment();
         btnRemoveArmor.setEnabled(hasArmor());
         rbtnCustom.setEnabled(getInfantry().getArmorKit() == null);
@@ -516,47 +513,6 @@ public class ArmorView extends IView implements ActionListener, ChangeListener {
                 || !getInfantry().getArmorDesc().equals("1.0");
     }
     
-    /**
-     * A comparator for damage divisor that sorts by numeric value first, then considers an appended
-     * "E" (indicating encumbering).
-     * 
-     * @author Neoancient
-     *
-     */
-    public static class DamageDivisorSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s1, String s2) {
-            double d1 = 0;
-            try {
-                if (s1.endsWith("E")) {
-                    d1 = Double.parseDouble(s1.replace("E", "")) - 0.1;
-                } else {
-                    d1 = Double.parseDouble(s1.replace("E", ""));
-                }
-            } catch (NumberFormatException ex) {
-                ex.printStackTrace();
-            }
-            double d2 = 0;
-            try {
-                if (s2.endsWith("E")) {
-                    d2 = Double.parseDouble(s2.replace("E", "")) - 0.1;
-                } else {
-                    d2 = Double.parseDouble(s2.replace("E", ""));
-                }
-            } catch (NumberFormatException ex) {
-                ex.printStackTrace();
-            }
-            if (d1 > d2) {
-                return -1;
-            } else if (d1 < d2) {
-                return 1;
-            } else {
-                return 0;
-            }
-        }
-    }
-    
     private ListSelectionListener selectionListener = new ListSelectionListener() {
 
         @Override
@@ -23,10 +23,7 @@ import java.awt.GridLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Enumeration;
 
 import javax.swing.ButtonGroup;
 import javax.swing.DefaultComboBoxModel;
@@ -63,7 +60,9 @@ import megamek.common.weapons.autocannons.RifleWeapon;
 import megamek.common.weapons.autocannons.UACWeapon;
 import megamek.common.weapons.gaussrifles.GaussWeapon;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
+import megameklab.com.util.EquipmentTableRowSorter;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -124,9 +123,7 @@ public class FieldGunView extends IView implements ActionListener {
         masterEquipmentList = new EquipmentTableModel(eSource.getEntity(), techManager);
         masterEquipmentTable.setModel(masterEquipmentList);
         masterEquipmentTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-        equipmentSorter = new TableRowSorter<EquipmentTableModel>(masterEquipmentList);
-        equipmentSorter.setComparator(EquipmentTableModel.COL_DAMAGE, new WeaponDamageSorter());
-        equipmentSorter.setComparator(EquipmentTableModel.COL_COST, new FormattedNumberSorter());
+        equipmentSorter = new EquipmentTableRowSorter(masterEquipmentList);
         masterEquipmentTable.setRowSorter(equipmentSorter);
         ArrayList<RowSorter.SortKey> sortKeys = new ArrayList<RowSorter.SortKey>();
         sortKeys.add(new RowSorter.SortKey(EquipmentTableModel.COL_NAME, SortOrder.ASCENDING));
@@ -155,10 +152,8 @@ public class FieldGunView extends IView implements ActionListener {
         masterEquipmentScroll.setMinimumSize(new Dimension(200,200));
         masterEquipmentScroll.setPreferredSize(new Dimension(200,200));
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
         ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
+        for (EquipmentType eq : EquipmentCatalog.getInstance().getWeapons()) {
             if(!(eq instanceof WeaponType)
                     || ((WeaponType)eq).isCapital()) {
                 continue;
@@ -279,6 +274,7 @@ public class FieldGunView extends IView implements ActionListener {
 
     public void refresh() {
         removeAllListeners();
+        masterEquipmentList.invalidate();
         filterEquipment();
         btnRemoveGun.setEnabled(getInfantry().hasFieldGun());
         addAllListeners();
@@ -407,74 +403,6 @@ public class FieldGunView extends IView implements ActionListener {
 
 
 
-    /**
-     * A comparator for integers written as strings with "-" sorted to the bottom always
-     * @author Jay Lawson
-     *
-     */
-    public class WeaponIntegerSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            if(s0.equals("-") && s1.equals("-")) {
-                return 0;
-            } else if(s0.equals("-")) {
-                return 1;
-            } else if(s1.equals("-")) {
-                return -1;
-            } else {
-                //get the numbers associated with each string
-                int r0 = Integer.parseInt(s0);
-                int r1 = Integer.parseInt(s1);
-                return ((Comparable<Integer>)r1).compareTo(r0);
-            }
-        }
-    }
-
-    public class WeaponDamageSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            //get the numbers associated with each string
-            double r1 = parseDamage(s1);
-            double r0 = parseDamage(s0);
-            return ((Comparable<Double>)r1).compareTo(r0);
-        }
-
-        private double parseDamage(String s) {
-            double damage = 0;
-            damage = Double.parseDouble(s);
-            return damage;
-        }
-    }
-
-    /**
-     * A comparator for numbers that have been formatted with DecimalFormat
-     * @author Jay Lawson
-     *
-     */
-    public static class FormattedNumberSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            //lets find the weight class integer for each name
-            DecimalFormat format = new DecimalFormat();
-            int l0 = 0;
-            try {
-                l0 = format.parse(s0).intValue();
-            } catch (java.text.ParseException e) {
-                e.printStackTrace();
-            }
-            int l1 = 0;
-            try {
-                l1 = format.parse(s1).intValue();
-            } catch (java.text.ParseException e) {
-                e.printStackTrace();
-            }
-            return ((Comparable<Integer>)l0).compareTo(l1);
-        }
-    }
-    
     
     private ListSelectionListener selectionListener = new ListSelectionListener() {
 
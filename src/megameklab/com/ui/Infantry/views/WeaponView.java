@@ -24,10 +24,7 @@ import java.awt.GridLayout;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Enumeration;
 
 import javax.swing.ButtonGroup;
 import javax.swing.DefaultComboBoxModel;
@@ -57,7 +54,9 @@ import megamek.common.WeaponType;
 import megamek.common.verifier.TestInfantry;
 import megamek.common.weapons.infantry.InfantryWeapon;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentTableModel;
+import megameklab.com.util.EquipmentTableRowSorter;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -118,9 +117,7 @@ public class WeaponView extends IView implements ActionListener {
         masterEquipmentList = new EquipmentTableModel(eSource.getEntity(), techManager);
         masterEquipmentTable.setModel(masterEquipmentList);
         masterEquipmentTable.setAutoResizeMode(JTable.AUTO_RESIZE_ALL_COLUMNS);
-        equipmentSorter = new TableRowSorter<EquipmentTableModel>(masterEquipmentList);
-        equipmentSorter.setComparator(EquipmentTableModel.COL_DAMAGE, new WeaponDamageSorter());
-        equipmentSorter.setComparator(EquipmentTableModel.COL_COST, new FormattedNumberSorter());
+        equipmentSorter = new EquipmentTableRowSorter(masterEquipmentList);
         masterEquipmentTable.setRowSorter(equipmentSorter);
         ArrayList<RowSorter.SortKey> sortKeys = new ArrayList<RowSorter.SortKey>();
         sortKeys.add(new RowSorter.SortKey(EquipmentTableModel.COL_NAME, SortOrder.ASCENDING));
@@ -143,16 +140,7 @@ public class WeaponView extends IView implements ActionListener {
         masterEquipmentScroll.setMinimumSize(new Dimension(200,200));
         masterEquipmentScroll.setPreferredSize(new Dimension(200,200));
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        ArrayList<EquipmentType> allTypes = new ArrayList<EquipmentType>();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
-            if(eq instanceof InfantryWeapon) {
-                allTypes.add(eq);
-            }
-        }
-
-        masterEquipmentList.setData(allTypes);
+        masterEquipmentList.setData(EquipmentCatalog.getInstance().getInfantryWeapons());
 
         DefaultComboBoxModel<String> typeModel = new DefaultComboBoxModel<String>();
         for (int i = 0; i < T_NUM; i++) {
@@ -244,6 +232,7 @@ public class WeaponView extends IView implements ActionListener {
 
     public void refresh() {
         removeAllListeners();
+        masterEquipmentList.invalidate();
         filterEquipment();
         if(TestInfantry.maxSecondaryWeapons(getInfantry()) > 0) {
             addSecondaryButton.setEnabled(true);
@@ -383,88 +372,6 @@ public class WeaponView extends IView implements ActionListener {
 
 
 
-    /**
-     * A comparator for integers written as strings with "-" sorted to the bottom always
-     * @author Jay Lawson
-     *
-     */
-    public class WeaponIntegerSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            if(s0.equals("-") && s1.equals("-")) {
-                return 0;
-            } else if(s0.equals("-")) {
-                return 1;
-            } else if(s1.equals("-")) {
-                return -1;
-            } else {
-                //get the numbers associated with each string
-                int r0 = Integer.parseInt(s0);
-                int r1 = Integer.parseInt(s1);
-                return ((Comparable<Integer>)r1).compareTo(r0);
-            }
-        }
-    }
-
-    public class WeaponDamageSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            //get the numbers associated with each string
-            double r1 = parseDamage(s1);
-            double r0 = parseDamage(s0);
-            return ((Comparable<Double>)r1).compareTo(r0);
-        }
-
-        /**
-         * Extracts a numeric value from the damage string for use in sorting by damage. If a String
-         * contains any non-digit character, that character and anything after it is ignored. If the string
-         * starts with a non-digit character the return value is 0.
-         * 
-         * @param s A weapon damage string
-         * @return  The value to use for sorting.
-         */
-        private double parseDamage(String s) {
-            s = s.replaceAll("[^0-9\\.]+", "/");
-            if (s.contains("/")) {
-                s = s.substring(0, s.indexOf("/"));
-            }
-            if (s.length() > 0) {
-                return Double.parseDouble(s);
-            } else {
-                return 0;
-            }
-        }
-    }
-
-    /**
-     * A comparator for numbers that have been formatted with DecimalFormat
-     * @author Jay Lawson
-     *
-     */
-    public static class FormattedNumberSorter implements Comparator<String> {
-
-        @Override
-        public int compare(String s0, String s1) {
-            //lets find the weight class integer for each name
-            DecimalFormat format = new DecimalFormat();
-            int l0 = 0;
-            try {
-                l0 = format.parse(s0).intValue();
-            } catch (java.text.ParseException e) {
-                e.printStackTrace();
-            }
-            int l1 = 0;
-            try {
-                l1 = format.parse(s1).intValue();
-            } catch (java.text.ParseException e) {
-                e.printStackTrace();
-            }
-            return ((Comparable<Integer>)l0).compareTo(l1);
-        }
-    }
-    
     private ListSelectionListener selectionListener = new ListSelectionListener() {
 
         @Override
@@ -54,6 +54,7 @@ public abstract class MegaMekLabMainUI extends JFrame implements
     protected JPanel masterPanel = new JPanel();
     protected JScrollPane scroll = new JScrollPane();
     protected MenuBarCreator menubarcreator;
+    private final RefreshScheduler refreshScheduler = new RefreshScheduler(this);
     
     public MegaMekLabMainUI() {
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
@@ -180,6 +181,16 @@ public abstract class MegaMekLabMainUI extends JFrame implements
 
     public abstract void refreshPreview();
 
+    /**
+     * Provides the listener that tabs and views should use to request refreshes. Requests made
+     * through it are combined and performed after the current event has been handled.
+     *
+     * @return The refresh scheduler for this window
+     */
+    public RefreshScheduler getRefreshScheduler() {
+        return refreshScheduler;
+    }
+
     public void setEntity(Entity en) {
         entity = en;
     }
@@ -38,6 +38,7 @@ import megamek.common.WeaponType;
 import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestMech;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.ui.util.RefreshDebouncer;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
@@ -60,6 +61,8 @@ public class StatusBar extends ITab {
     private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File("data/mechfiles/UnitVerifierOptions.xml"));
     private TestMech testEntity = null;
     private DecimalFormat formatter;
+    private final RefreshDebouncer refreshRequests =
+            new RefreshDebouncer("StatusBar.refresh", this::refreshLabels);
     private JFrame parentFrame;
 
     private RefreshListener refresh;
@@ -104,10 +107,17 @@ public class StatusBar extends ITab {
         this.add(cost, gbc);
 
 
-        refresh();
+        refreshLabels();
     }
 
+    /**
+     * Schedules the labels to be updated once the user pauses editing.
+     */
     public void refresh() {
+        refreshRequests.request();
+    }
+
+    private void refreshLabels() {
 
         int heat = getMech().getHeatCapacity();
         double tonnage = getMech().getWeight();
@@ -47,6 +47,8 @@ import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.PatchworkArmorView;
 import megameklab.com.ui.view.listeners.ArmorAllocationListener;
 import megameklab.com.ui.view.listeners.MekBuildListener;
+import megameklab.com.util.ArmorDistributor;
+import megameklab.com.util.CriticalSlotIndex;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -333,6 +335,11 @@ public class StructureTab extends ITab implements MekBuildListener, ArmorAllocat
             clearCrit(Mech.LOC_CT, lgSlot);
             getMech().setCritical(Mech.LOC_CT, lgSlot, crit);
         }
+        // The engine, gyro and cockpit slots are set directly on the unit
+        CriticalSlotIndex.invalidate(getMech(), Mech.LOC_HEAD);
+        CriticalSlotIndex.invalidate(getMech(), Mech.LOC_CT);
+        CriticalSlotIndex.invalidate(getMech(), Mech.LOC_RT);
+        CriticalSlotIndex.invalidate(getMech(), Mech.LOC_LT);
         refresh.refreshBuild();
     }
 
@@ -357,6 +364,7 @@ public class StructureTab extends ITab implements MekBuildListener, ArmorAllocat
             clearCrit(Mech.LOC_CT, i);
             getMech().setCritical(Mech.LOC_CT, i, null);
         }
+        CriticalSlotIndex.invalidate(getMech(), Mech.LOC_CT);
     }
 
     /**
@@ -408,6 +416,7 @@ public class StructureTab extends ITab implements MekBuildListener, ArmorAllocat
                 getMech().setCritical(loc, slot, null);
             }
         }
+        CriticalSlotIndex.invalidate(getMech(), loc);
     }
 
     public void removeAllListeners() {
@@ -1087,55 +1096,28 @@ public class StructureTab extends ITab implements MekBuildListener, ArmorAllocat
 
     @Override
     public void autoAllocateArmor() {
-        double pointsToAllocate = UnitUtil.getArmorPoints(getMech(), getMech().getLabArmorTonnage());
-        double maxArmor = UnitUtil.getMaximumArmorPoints(getMech());
-        if (pointsToAllocate > maxArmor) {
-            pointsToAllocate = maxArmor;
-        }
-        double percent = pointsToAllocate / maxArmor;
-        int headMaxArmor = 9;
-        if (getMech().isSuperHeavy()) {
-            headMaxArmor = 12;
-        }
-        // put 5 times the percentage of total possible armor into the head
-        int headArmor = (int) Math.min(Math.floor(percent * headMaxArmor * 5), headMaxArmor);
-        getMech().initializeArmor(headArmor, Mech.LOC_HEAD);
-        pointsToAllocate -= headArmor;
-        maxArmor -= headMaxArmor;
-        // recalculate percentage for remainder
-        percent = pointsToAllocate / maxArmor;
+        final int headMaxArmor = getMech().isSuperHeavy() ? 12 : 9;
+        ArmorDistributor distributor = new ArmorDistributor(getMech().locations());
         for (int location = 0; location < getMech().locations(); location++) {
-            double IS = (getMech().getInternal(location) * 2);
-            double allocate = Math.min(IS * percent, pointsToAllocate);
-            switch (location) {
-                case Mech.LOC_HEAD:
-                    break;
-                case Mech.LOC_CT:
-                case Mech.LOC_LT:
-                case Mech.LOC_RT:
-                    int rear = (int) Math.floor(allocate * .25);
-                    int front = (int) Math.ceil(allocate * .75);
-                    // Make sure rounding doesn't add an additional point to this location,
-                    // which could cause us to run out of armor before we get to the end.
-                    if (rear + front > allocate) {
-                        if (front > rear * 3) {
-                            front--;
-                        } else {
-                            rear--;
-                        }
-                    }
-                    pointsToAllocate -= rear;
-                    pointsToAllocate -= front;
-                    getMech().initializeArmor(front, location);
-                    getMech().initializeRearArmor(rear, location);
-                    break;
-                default:
-                    getMech().initializeArmor((int) allocate, location);
-                    pointsToAllocate -= (int) allocate;
-                    break;
+            if (location == Mech.LOC_HEAD) {
+                // put 5 times the percentage of total possible armor into the head
+                distributor.setLocation(location, headMaxArmor * 5, headMaxArmor);
+            } else {
+                final int maxArmor = getMech().getOInternal(location) * 2;
+                distributor.setLocation(location, maxArmor, maxArmor);
             }
         }
-        allocateLeftoverPoints(pointsToAllocate);
+        distributor.setRearShare(Mech.LOC_CT, 0.25)
+                .setRearShare(Mech.LOC_LT, 0.25)
+                .setRearShare(Mech.LOC_RT, 0.25)
+                .setPair(Mech.LOC_LT, Mech.LOC_RT)
+                .setPair(Mech.LOC_LLEG, Mech.LOC_RLEG)
+                .setPair(Mech.LOC_LARM, Mech.LOC_RARM)
+                // points left over from rounding go to the torso, legs, arms, head and CT, in that order
+                .setPriority(Mech.LOC_LT, Mech.LOC_RT, Mech.LOC_LLEG, Mech.LOC_RLEG,
+                        Mech.LOC_LARM, Mech.LOC_RARM, Mech.LOC_HEAD, Mech.LOC_CT);
+        distributor.distribute(UnitUtil.getArmorPoints(getMech(), getMech().getLabArmorTonnage()))
+                .apply(getMech());
 
         panArmorAllocation.setFromEntity(getMech());
         refresh.refreshPreview();
@@ -1143,141 +1125,6 @@ public class StructureTab extends ITab implements MekBuildListener, ArmorAllocat
         refresh.refreshStatus();
     }
 
-    /**
-     * allocate any leftover points one-by-one
-     *
-     * @param points
-     *            the amount of points left over
-     */
-    private void allocateLeftoverPoints(double points) {
-        int headMaxArmor = 9;
-        if (getMech().isSuperHeavy()) {
-            headMaxArmor = 12;
-        }
-        while (points >= 1) {
-            // if two or more are left, add armor to symmetrical locations,
-            // to torso, legs, arms, in that order
-            if (points >= 2) {
-                if (((getMech().getOArmor(Mech.LOC_LT) + getMech().getOArmor(Mech.LOC_LT,
-                        true)) < (getMech().getOInternal(Mech.LOC_LT) * 2))
-                        && ((getMech().getOArmor(Mech.LOC_RT) + getMech().getOArmor(
-                                Mech.LOC_RT, true)) < (getMech()
-                                        .getOInternal(Mech.LOC_RT) * 2))) {
-                    getMech().initializeArmor(getMech().getOArmor(Mech.LOC_LT) + 1,
-                            Mech.LOC_LT);
-                    getMech().initializeArmor(getMech().getOArmor(Mech.LOC_RT) + 1,
-                            Mech.LOC_RT);
-                    points -= 2;
-                } else if ((getMech().getOArmor(Mech.LOC_LLEG) < (getMech()
-                        .getOInternal(Mech.LOC_LLEG) * 2))
-                        && (getMech().getOArmor(Mech.LOC_RLEG) < (getMech()
-                                .getOInternal(Mech.LOC_RLEG) * 2))) {
-                    getMech().initializeArmor(getMech().getOArmor(Mech.LOC_LLEG) + 1,
-                            Mech.LOC_LLEG);
-                    getMech().initializeArmor(getMech().getOArmor(Mech.LOC_RLEG) + 1,
-                            Mech.LOC_RLEG);
-                    points -= 2;
-                } else if ((getMech().getOArmor(Mech.LOC_LARM) < (getMech()
-                        .getOInternal(Mech.LOC_LARM) * 2))
-                        && (getMech().getOArmor(Mech.LOC_RARM) < (getMech()
-                                .getOInternal(Mech.LOC_RARM) * 2))) {
-                    getMech().initializeArmor(getMech().getOArmor(Mech.LOC_LARM) + 1,
-                            Mech.LOC_LARM);
-                    getMech().initializeArmor(getMech().getOArmor(Mech.LOC_RARM) + 1,
-                            Mech.LOC_RARM);
-                    points -= 2;
-                }
-                // otherwise, first add to the head, and then even out uneven
-                // allocation
-            } else if (getMech().getOArmor(Mech.LOC_HEAD) < headMaxArmor) {
-                getMech().initializeArmor(getMech().getOArmor(Mech.LOC_HEAD) + 1,
-                        Mech.LOC_HEAD);
-                points--;
-            } else if (getMech().getOArmor(Mech.LOC_LT) < getMech()
-                    .getOArmor(Mech.LOC_RT)) {
-                getMech().initializeArmor(getMech().getOArmor(Mech.LOC_LT) + 1,
-                        Mech.LOC_LT);
-                points--;
-            } else if (getMech().getOArmor(Mech.LOC_RT) < getMech()
-                    .getOArmor(Mech.LOC_LT)) {
-                getMech().initializeArmor(getMech().getOArmor(Mech.LOC_RT) + 1,
-                        Mech.LOC_RT);
-                points--;
-            } else if (getMech().getOArmor(Mech.LOC_RARM) < getMech()
-                    .getOArmor(Mech.LOC_LARM)) {
-                getMech().initializeArmor(getMech().getOArmor(Mech.LOC_RARM) + 1,
-                        Mech.LOC_RARM);
-                points--;
-            } else if (getMech().getOArmor(Mech.LOC_LARM) < getMech()
-                    .getOArmor(Mech.LOC_RARM)) {
-                getMech().initializeArmor(getMech().getOArmor(Mech.LOC_LARM) + 1,
-                        Mech.LOC_LARM);
-                points--;
-            } else if (getMech().getOArmor(Mech.LOC_RLEG) < getMech()
-                    .getArmor(Mech.LOC_LLEG)) {
-                getMech().initializeArmor(getMech().getOArmor(Mech.LOC_RLEG) + 1,
-                        Mech.LOC_RLEG);
-                points--;
-            } else if (getMech().getOArmor(Mech.LOC_LLEG) < getMech()
-                    .getOArmor(Mech.LOC_RLEG)) {
-                getMech().initializeArmor(getMech().getOArmor(Mech.LOC_LLEG) + 1,
-                        Mech.LOC_LLEG);
-                points--;
-                // if nothing is uneven, add to the CT
-            } else if (((getMech().getOArmor(Mech.LOC_CT) + getMech().getOArmor(
-                    Mech.LOC_CT, true)) < (getMech().getOInternal(Mech.LOC_CT) * 2))) {
-                getMech().initializeArmor(getMech().getOArmor(Mech.LOC_CT) + 1,
-                        Mech.LOC_CT);
-                points--;
-            }
-            // if only one is left, and head and CT have max, remove one from CT
-            // so symmetric locations can get extra, unless they are already at
-            // max
-            if (points == 1) {
-                if ((getMech().getOArmor(Mech.LOC_HEAD) == headMaxArmor)
-                        && ((getMech().getOArmor(Mech.LOC_CT) + getMech().getOArmor(
-                                Mech.LOC_CT, true)) == (getMech()
-                                        .getOInternal(Mech.LOC_CT) * 2))) {
-                    getMech().initializeArmor(getMech().getOArmor(Mech.LOC_CT) - 1,
-                            Mech.LOC_CT);
-                    points++;
-                }
-            }
-            // if all locations have max, return
-            boolean toReturn = true;
-            for (int location = 0; location < getMech().locations(); location++) {
-                double is = (getMech().getInternal(location) * 2);
-                switch (location) {
-                    case Mech.LOC_HEAD:
-                        int headPoints = 3;
-                        if (getMech().isSuperHeavy()) {
-                            headPoints = 4;
-                        }
-                        if ((is + headPoints) > getMech().getOArmor(location)) {
-                            toReturn = false;
-                        }
-                        break;
-                    case Mech.LOC_CT:
-                    case Mech.LOC_LT:
-                    case Mech.LOC_RT:
-                        if (is > (getMech().getOArmor(location) + getMech().getOArmor(
-                                location, true))) {
-                            toReturn = false;
-                        }
-                        break;
-                    default:
-                        if (is > getMech().getOArmor(location)) {
-                            toReturn = false;
-                        }
-                        break;
-                }
-            }
-            if (toReturn) {
-                return;
-            }
-        }
-    }
-
     @Override
     public void patchworkChanged(int location, EquipmentType armor) {
         UnitUtil.resetArmor(getMech(), location);
@@ -1322,6 +1169,7 @@ public class StructureTab extends ITab implements MekBuildListener, ArmorAllocat
                 } catch (LocationFullException ex) {
                 }
             }
+            CriticalSlotIndex.invalidate(getMech(), location);
         }
         panArmor.refresh();
         panArmorAllocation.setFromEntity(getMech());
@@ -19,11 +19,15 @@ package megameklab.com.ui.Mek.views;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
+import javax.swing.DefaultListModel;
 import javax.swing.JPanel;
 import javax.swing.ListSelectionModel;
 import javax.swing.border.TitledBorder;
@@ -34,6 +38,7 @@ import megamek.common.Mounted;
 import megamek.common.QuadMech;
 import megamek.common.loaders.MtfFile;
 import megameklab.com.ui.EntitySource;
+import megameklab.com.util.CriticalSlotIndex;
 import megameklab.com.util.IView;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.Mech.DropTargetCriticalList;
@@ -58,6 +63,14 @@ public class CriticalView extends IView {
 
     private boolean showEmpty = false;
 
+    private final Font listFont = new Font("Arial", Font.PLAIN, 10);
+    /** The unit the location lists were created for */
+    private Mech listMech = null;
+    private final List<DropTargetCriticalList<String>> critLists = new ArrayList<>();
+    private final List<DefaultListModel<String>> critModels = new ArrayList<>();
+    /** The slot contents each list was last filled from, used to detect changes that keep the names */
+    private final List<List<Object>> critStates = new ArrayList<>();
+
     public CriticalView(EntitySource eSource, boolean showEmpty, RefreshListener refresh) {
         super(eSource);
         this.showEmpty = showEmpty;
@@ -141,9 +154,128 @@ public class CriticalView extends IView {
 
     public void updateRefresh(RefreshListener refresh) {
         this.refresh = refresh;
+        for (DropTargetCriticalList<String> list : critLists) {
+            list.setRefresh(refresh);
+        }
     }
 
+    /**
+     * Updates the critical slot lists from the unit. The lists are kept between refreshes and
+     * only the entries that changed are replaced, so a change in one location does not rebuild the
+     * others. The lists are created again if the unit has been replaced.
+     */
     public void refresh() {
+        synchronized (getMech()) {
+            if ((getMech() != listMech) || (critLists.size() != getMech().locations())) {
+                createLists();
+            }
+            for (int location = 0; location < getMech().locations(); location++) {
+                List<String> critNames = new ArrayList<>();
+                List<Object> critState = new ArrayList<>();
+                readLocation(location, critNames, critState);
+                DropTargetCriticalList<String> criticalSlotList = critLists.get(location);
+                boolean changed = updateModel(critModels.get(location), critNames);
+                if (changed) {
+                    criticalSlotList.clearSelection();
+                }
+                if (criticalSlotList.getVisibleRowCount() != critNames.size()) {
+                    criticalSlotList.setVisibleRowCount(critNames.size());
+                }
+                // The renderer colors each slot from the unit, so a change that keeps the names
+                // still needs a repaint.
+                if (!changed && !critState.equals(critStates.get(location))) {
+                    criticalSlotList.repaint();
+                }
+                critStates.set(location, critState);
+            }
+        }
+    }
+
+    /**
+     * Collects the names to show for the slots in a location, along with the contents of each
+     * slot that affect how it is drawn.
+     */
+    private void readLocation(int location, List<String> critNames, List<Object> critState) {
+        for (int slot = 0; slot < getMech().getNumberOfCriticals(location); slot++) {
+            CriticalSlot cs = getMech().getCritical(location, slot);
+            if (cs == null) {
+                if (showEmpty) {
+                    critNames.add(MtfFile.EMPTY);
+                    critState.add(null);
+                }
+            } else if (cs.getType() == CriticalSlot.TYPE_SYSTEM) {
+                critNames.add(getMech().getSystemName(cs.getIndex()));
+                critState.add(Arrays.asList(cs.getIndex(), cs.isArmored()));
+            } else if (cs.getType() == CriticalSlot.TYPE_EQUIPMENT) {
+                try {
+                    Mounted m = cs.getMount();
+                    // Critical didn't get removed. Remove it now.
+                    if (m == null) {
+                        getMech().setCritical(location, slot, null);
+                        CriticalSlotIndex.slotCleared(getMech(), location, slot);
+                        if (showEmpty) {
+                            critNames.add(MtfFile.EMPTY);
+                            critState.add(null);
+                        }
+                        continue;
+                    }
+                    StringBuffer critName = new StringBuffer(
+                            m.getName());
+                    if (critName.length() > 25) {
+                        critName.setLength(25);
+                        critName.append("...");
+                    }
+                    if (m.isRearMounted()) {
+                        critName.append(" (R)");
+                    }
+                    if (m.isMechTurretMounted()) {
+                        critName.append(" (T)");
+                    }
+
+                    critNames.add(critName.toString());
+                    critState.add(Arrays.asList(m, cs.getMount2(), cs.isArmored(), m.isOmniPodMounted()));
+
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        }
+        if (critNames.size() == 0) {
+            critNames.add(MtfFile.EMPTY);
+            critState.add(null);
+        }
+    }
+
+    /**
+     * Replaces the entries of the model that differ from the names, firing events only for the
+     * changed entries.
+     *
+     * @return Whether the model was changed
+     */
+    private static boolean updateModel(DefaultListModel<String> model, List<String> critNames) {
+        boolean changed = false;
+        final int common = Math.min(model.getSize(), critNames.size());
+        for (int i = 0; i < common; i++) {
+            if (!critNames.get(i).equals(model.getElementAt(i))) {
+                model.set(i, critNames.get(i));
+                changed = true;
+            }
+        }
+        if (model.getSize() > critNames.size()) {
+            model.removeRange(critNames.size(), model.getSize() - 1);
+            changed = true;
+        }
+        for (int i = common; i < critNames.size(); i++) {
+            model.addElement(critNames.get(i));
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Creates an empty list for each location and adds it to the panel for the location.
+     */
+    private void createLists() {
         laPanel.removeAll();
         raPanel.removeAll();
         llPanel.removeAll();
@@ -153,6 +285,10 @@ public class CriticalView extends IView {
         rtPanel.removeAll();
         ctPanel.removeAll();
         headPanel.removeAll();
+        critLists.clear();
+        critModels.clear();
+        critStates.clear();
+        listMech = getMech();
         clPanel.setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createEmptyBorder(),
                 "", TitledBorder.TOP,
@@ -164,201 +300,143 @@ public class CriticalView extends IView {
         Dimension size = new Dimension(112, 182);
         Dimension legSize = new Dimension(112, 92);
 
-        synchronized (getMech()) {
-            for (int location = 0; location < getMech().locations(); location++) {
-                // JPanel locationPanel = new JPanel();
-                Vector<String> critNames = new Vector<String>(1, 1);
-
-                for (int slot = 0; slot < getMech().getNumberOfCriticals(location); slot++) {
-                    CriticalSlot cs = getMech().getCritical(location, slot);
-                    if (cs == null) {
-                        if (showEmpty) {
-                            critNames.add(MtfFile.EMPTY);
-                        }
-                    } else if (cs.getType() == CriticalSlot.TYPE_SYSTEM) {
-                        critNames.add(getMech().getSystemName(cs.getIndex()));
-                    } else if (cs.getType() == CriticalSlot.TYPE_EQUIPMENT) {
-                        try {
-                            Mounted m = cs.getMount();
-                            // Critical didn't get removed. Remove it now.
-                            if (m == null) {
-
-                                m = cs.getMount();
-
-                                if (m == null) {
-                                    getMech().setCritical(location, slot, null);
-                                    if (showEmpty) {
-                                        critNames.add(MtfFile.EMPTY);
-                                    }
-                                    continue;
-                                }
-                                cs.setMount(m);
-                            }
-                            StringBuffer critName = new StringBuffer(
-                                    m.getName());
-                            if (critName.length() > 25) {
-                                critName.setLength(25);
-                                critName.append("...");
-                            }
-                            if (m.isRearMounted()) {
-                                critName.append(" (R)");
-                            }
-                            if (m.isMechTurretMounted()) {
-                                critName.append(" (T)");
-                            }
-
-                            critNames.add(critName.toString());
-
-                        } catch (Exception ex) {
-                            ex.printStackTrace();
-                        }
-                    }
-                }
-                if (critNames.size() == 0) {
-                    critNames.add(MtfFile.EMPTY);
-                }
-                DropTargetCriticalList<String> criticalSlotList = new DropTargetCriticalList<String>(
-                        critNames, eSource, refresh, showEmpty);
-                criticalSlotList.setVisibleRowCount(critNames.size());
-                criticalSlotList
-                        .setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-                criticalSlotList.setFont(new Font("Arial", Font.PLAIN, 10));
-                criticalSlotList.setName(Integer.toString(location));
-                criticalSlotList.setBorder(BorderFactory.createLineBorder(
-                        Color.BLACK, 1));
-                switch (location) {
-                    case Mech.LOC_HEAD:
+        for (int location = 0; location < getMech().locations(); location++) {
+            DefaultListModel<String> model = new DefaultListModel<>();
+            DropTargetCriticalList<String> criticalSlotList = new DropTargetCriticalList<String>(
+                    new Vector<String>(), eSource, refresh, showEmpty);
+            criticalSlotList.setModel(model);
+            critLists.add(criticalSlotList);
+            critModels.add(model);
+            critStates.add(new ArrayList<>());
+            criticalSlotList
+                    .setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            criticalSlotList.setFont(listFont);
+            criticalSlotList.setName(Integer.toString(location));
+            criticalSlotList.setBorder(BorderFactory.createLineBorder(
+                    Color.BLACK, 1));
+            switch (location) {
+                case Mech.LOC_HEAD:
+                    criticalSlotList.setSize(legSize);
+                    criticalSlotList.setPreferredSize(legSize);
+                    criticalSlotList.setMaximumSize(legSize);
+                    headPanel.add(criticalSlotList);
+                    break;
+                case Mech.LOC_LARM:
+                    if (getMech() instanceof QuadMech) {
+                        laPanel.setBorder(BorderFactory.createTitledBorder(
+                                BorderFactory.createEmptyBorder(),
+                                "Front Left Leg", TitledBorder.TOP,
+                                TitledBorder.DEFAULT_POSITION));
                         criticalSlotList.setSize(legSize);
                         criticalSlotList.setPreferredSize(legSize);
                         criticalSlotList.setMaximumSize(legSize);
-                        headPanel.add(criticalSlotList);
-                        break;
-                    case Mech.LOC_LARM:
-                        if (getMech() instanceof QuadMech) {
-                            laPanel.setBorder(BorderFactory.createTitledBorder(
-                                    BorderFactory.createEmptyBorder(),
-                                    "Front Left Leg", TitledBorder.TOP,
-                                    TitledBorder.DEFAULT_POSITION));
-                            criticalSlotList.setSize(legSize);
-                            criticalSlotList.setPreferredSize(legSize);
-                            criticalSlotList.setMaximumSize(legSize);
-                        } else {
-                            laPanel.setBorder(BorderFactory.createTitledBorder(
-                                    BorderFactory.createEmptyBorder(),
-                                    "Left Arm", TitledBorder.TOP,
-                                    TitledBorder.DEFAULT_POSITION));
-                            criticalSlotList.setSize(size);
-                            criticalSlotList.setPreferredSize(size);
-                            criticalSlotList.setMaximumSize(size);
-                        }
-                        laPanel.add(criticalSlotList);
-                        break;
-                    case Mech.LOC_RARM:
-                        if (getMech() instanceof QuadMech) {
-                            raPanel.setBorder(BorderFactory.createTitledBorder(
-                                    BorderFactory.createEmptyBorder(),
-                                    "Front Right Leg", TitledBorder.TOP,
-                                    TitledBorder.DEFAULT_POSITION));
-                            criticalSlotList.setSize(legSize);
-                            criticalSlotList.setPreferredSize(legSize);
-                            criticalSlotList.setMaximumSize(legSize);
-                        } else {
-                            raPanel.setBorder(BorderFactory.createTitledBorder(
-                                    BorderFactory.createEmptyBorder(),
-                                    "Right Arm", TitledBorder.TOP,
-                                    TitledBorder.DEFAULT_POSITION));
-                            criticalSlotList.setSize(size);
-                            criticalSlotList.setPreferredSize(size);
-                            criticalSlotList.setMaximumSize(size);
-                        }
-                        
-                        raPanel.add(criticalSlotList);
-                        break;
-                    case Mech.LOC_CT:
-                        criticalSlotList.setSize(size);
-                        criticalSlotList.setPreferredSize(size);
-                        criticalSlotList.setMaximumSize(size);
-                        ctPanel.add(criticalSlotList);
-                        break;
-                    case Mech.LOC_LT:
-                        criticalSlotList.setSize(size);
-                        criticalSlotList.setPreferredSize(size);
-                        criticalSlotList.setMaximumSize(size);
-                        ltPanel.add(criticalSlotList);
-                        break;
-                    case Mech.LOC_RT:
+                    } else {
+                        laPanel.setBorder(BorderFactory.createTitledBorder(
+                                BorderFactory.createEmptyBorder(),
+                                "Left Arm", TitledBorder.TOP,
+                                TitledBorder.DEFAULT_POSITION));
                         criticalSlotList.setSize(size);
                         criticalSlotList.setPreferredSize(size);
                         criticalSlotList.setMaximumSize(size);
-                        rtPanel.add(criticalSlotList);
-                        break;
-                    case Mech.LOC_LLEG:
-                        if (getMech() instanceof QuadMech) {
-                            llPanel.setBorder(BorderFactory.createTitledBorder(
-                                    BorderFactory.createEmptyBorder(),
-                                    "Rear Left Leg", TitledBorder.TOP,
-                                    TitledBorder.DEFAULT_POSITION));
-                        } else {
-                            llPanel.setBorder(BorderFactory.createTitledBorder(
-                                    BorderFactory.createEmptyBorder(),
-                                    "Left Leg", TitledBorder.TOP,
-                                    TitledBorder.DEFAULT_POSITION));
-                        }
-                        criticalSlotList.setSize(legSize);
-                        criticalSlotList.setPreferredSize(legSize);
-                        criticalSlotList.setMaximumSize(legSize);
-                        llPanel.add(criticalSlotList);
-                        break;
-                    case Mech.LOC_RLEG:
-                        if (getMech() instanceof QuadMech) {
-                            rlPanel.setBorder(BorderFactory.createTitledBorder(
-                                    BorderFactory.createEmptyBorder(),
-                                    "Rear Right Leg", TitledBorder.TOP,
-                                    TitledBorder.DEFAULT_POSITION));
-                        } else {
-                            rlPanel.setBorder(BorderFactory.createTitledBorder(
-                                    BorderFactory.createEmptyBorder(),
-                                    "Right Leg", TitledBorder.TOP,
-                                    TitledBorder.DEFAULT_POSITION));
-                        }
-                        criticalSlotList.setSize(legSize);
-                        criticalSlotList.setPreferredSize(legSize);
-                        criticalSlotList.setMaximumSize(legSize);
-                        rlPanel.add(criticalSlotList);
-                        break;
-                    case Mech.LOC_CLEG:
-                        clPanel.setBorder(BorderFactory.createTitledBorder(
+                    }
+                    laPanel.add(criticalSlotList);
+                    break;
+                case Mech.LOC_RARM:
+                    if (getMech() instanceof QuadMech) {
+                        raPanel.setBorder(BorderFactory.createTitledBorder(
                                 BorderFactory.createEmptyBorder(),
-                                "Center Leg", TitledBorder.TOP,
+                                "Front Right Leg", TitledBorder.TOP,
                                 TitledBorder.DEFAULT_POSITION));
                         criticalSlotList.setSize(legSize);
                         criticalSlotList.setPreferredSize(legSize);
                         criticalSlotList.setMaximumSize(legSize);
-                        clPanel.add(criticalSlotList);
-                        break;
-                }
+                    } else {
+                        raPanel.setBorder(BorderFactory.createTitledBorder(
+                                BorderFactory.createEmptyBorder(),
+                                "Right Arm", TitledBorder.TOP,
+                                TitledBorder.DEFAULT_POSITION));
+                        criticalSlotList.setSize(size);
+                        criticalSlotList.setPreferredSize(size);
+                        criticalSlotList.setMaximumSize(size);
+                    }
+                    
+                    raPanel.add(criticalSlotList);
+                    break;
+                case Mech.LOC_CT:
+                    criticalSlotList.setSize(size);
+                    criticalSlotList.setPreferredSize(size);
+                    criticalSlotList.setMaximumSize(size);
+                    ctPanel.add(criticalSlotList);
+                    break;
+                case Mech.LOC_LT:
+                    criticalSlotList.setSize(size);
+                    criticalSlotList.setPreferredSize(size);
+                    criticalSlotList.setMaximumSize(size);
+                    ltPanel.add(criticalSlotList);
+                    break;
+                case Mech.LOC_RT:
+                    criticalSlotList.setSize(size);
+                    criticalSlotList.setPreferredSize(size);
+                    criticalSlotList.setMaximumSize(size);
+                    rtPanel.add(criticalSlotList);
+                    break;
+                case Mech.LOC_LLEG:
+                    if (getMech() instanceof QuadMech) {
+                        llPanel.setBorder(BorderFactory.createTitledBorder(
+                                BorderFactory.createEmptyBorder(),
+                                "Rear Left Leg", TitledBorder.TOP,
+                                TitledBorder.DEFAULT_POSITION));
+                    } else {
+                        llPanel.setBorder(BorderFactory.createTitledBorder(
+                                BorderFactory.createEmptyBorder(),
+                                "Left Leg", TitledBorder.TOP,
+                                TitledBorder.DEFAULT_POSITION));
+                    }
+                    criticalSlotList.setSize(legSize);
+                    criticalSlotList.setPreferredSize(legSize);
+                    criticalSlotList.setMaximumSize(legSize);
+                    llPanel.add(criticalSlotList);
+                    break;
+                case Mech.LOC_RLEG:
+                    if (getMech() instanceof QuadMech) {
+                        rlPanel.setBorder(BorderFactory.createTitledBorder(
+                                BorderFactory.createEmptyBorder(),
+                                "Rear Right Leg", TitledBorder.TOP,
+                                TitledBorder.DEFAULT_POSITION));
+                    } else {
+                        rlPanel.setBorder(BorderFactory.createTitledBorder(
+                                BorderFactory.createEmptyBorder(),
+                                "Right Leg", TitledBorder.TOP,
+                                TitledBorder.DEFAULT_POSITION));
+                    }
+                    criticalSlotList.setSize(legSize);
+                    criticalSlotList.setPreferredSize(legSize);
+                    criticalSlotList.setMaximumSize(legSize);
+                    rlPanel.add(criticalSlotList);
+                    break;
+                case Mech.LOC_CLEG:
+                    clPanel.setBorder(BorderFactory.createTitledBorder(
+                            BorderFactory.createEmptyBorder(),
+                            "Center Leg", TitledBorder.TOP,
+                            TitledBorder.DEFAULT_POSITION));
+                    criticalSlotList.setSize(legSize);
+                    criticalSlotList.setPreferredSize(legSize);
+                    criticalSlotList.setMaximumSize(legSize);
+                    clPanel.add(criticalSlotList);
+                    break;
             }
-            
-            ctPanel.invalidate();
-            raPanel.invalidate();
-            headPanel.invalidate();
-            laPanel.invalidate();
-            ltPanel.invalidate();
-            rtPanel.invalidate();
-            llPanel.invalidate();
-            rlPanel.invalidate();
-            clPanel.invalidate();
-            
-            ctPanel.repaint();
-            raPanel.repaint();
-            headPanel.repaint();
-            laPanel.repaint();
-            ltPanel.repaint();
-            rtPanel.repaint();
-            llPanel.repaint();
-            rlPanel.repaint();
-            clPanel.invalidate();
         }
+
+        ctPanel.revalidate();
+        raPanel.revalidate();
+        headPanel.revalidate();
+        laPanel.revalidate();
+        ltPanel.revalidate();
+        rtPanel.revalidate();
+        llPanel.revalidate();
+        rlPanel.revalidate();
+        clPanel.revalidate();
+        repaint();
     }
 
 }
\ No newline at end of file
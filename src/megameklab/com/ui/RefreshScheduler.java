@@ -0,0 +1,183 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.ui;
+
+import javax.swing.SwingUtilities;
+
+import megameklab.com.util.RefreshListener;
+
+/**
+ * Collects refresh requests from the tabs and views of a main window and passes them on once the
+ * current event has been handled. Each area is refreshed at most once per flush, in an order that
+ * lets later areas see the changes made by earlier ones, so a user action that makes several
+ * overlapping requests only redraws each panel once.
+ *
+ * <p>Requests made while a flush is in progress are passed on immediately, as they were before the
+ * requests were deferred. This keeps a panel that fires change events while it is being refreshed
+ * from scheduling yet another flush.</p>
+ */
+public class RefreshScheduler implements RefreshListener {
+
+    // Areas in the order they are refreshed
+    private static final int STRUCTURE       = 1;
+    private static final int ARMOR           = 1 << 1;
+    private static final int WEAPONS         = 1 << 2;
+    private static final int EQUIPMENT       = 1 << 3;
+    private static final int EQUIPMENT_TABLE = 1 << 4;
+    private static final int TRANSPORT       = 1 << 5;
+    private static final int BUILD           = 1 << 6;
+    private static final int SUMMARY         = 1 << 7;
+    private static final int STATUS          = 1 << 8;
+    private static final int HEADER          = 1 << 9;
+    private static final int PREVIEW         = 1 << 10;
+    private static final int ALL             = 1 << 11;
+
+    /** The areas that every main window's refreshAll() refreshes */
+    private static final int COVERED_BY_ALL = STRUCTURE | EQUIPMENT | BUILD | STATUS | PREVIEW;
+
+    private final RefreshListener target;
+    private int dirty = 0;
+    private boolean flushing = false;
+
+    /**
+     * @param target The main window that performs the refreshes
+     */
+    public RefreshScheduler(RefreshListener target) {
+        this.target = target;
+    }
+
+    /**
+     * Performs any pending refreshes immediately.
+     */
+    public void flush() {
+        if (flushing || (dirty == 0)) {
+            return;
+        }
+        int areas = dirty;
+        dirty = 0;
+        flushing = true;
+        try {
+            if ((areas & ALL) != 0) {
+                target.refreshAll();
+                areas &= ~COVERED_BY_ALL;
+            }
+            if ((areas & STRUCTURE) != 0) {
+                target.refreshStructure();
+            }
+            if ((areas & ARMOR) != 0) {
+                target.refreshArmor();
+            }
+            if ((areas & WEAPONS) != 0) {
+                target.refreshWeapons();
+            }
+            if ((areas & EQUIPMENT) != 0) {
+                target.refreshEquipment();
+            }
+            if ((areas & EQUIPMENT_TABLE) != 0) {
+                target.refreshEquipmentTable();
+            }
+            if ((areas & TRANSPORT) != 0) {
+                target.refreshTransport();
+            }
+            if ((areas & BUILD) != 0) {
+                target.refreshBuild();
+            }
+            if ((areas & SUMMARY) != 0) {
+                target.refreshSummary();
+            }
+            if ((areas & STATUS) != 0) {
+                target.refreshStatus();
+            }
+            if ((areas & HEADER) != 0) {
+                target.refreshHeader();
+            }
+            if ((areas & PREVIEW) != 0) {
+                target.refreshPreview();
+            }
+        } finally {
+            flushing = false;
+        }
+    }
+
+    private void request(int area, Runnable immediate) {
+        if (flushing) {
+            immediate.run();
+            return;
+        }
+        if (dirty == 0) {
+            SwingUtilities.invokeLater(this::flush);
+        }
+        dirty |= area;
+    }
+
+    @Override
+    public void refreshHeader() {
+        request(HEADER, target::refreshHeader);
+    }
+
+    @Override
+    public void refreshStatus() {
+        request(STATUS, target::refreshStatus);
+    }
+
+    @Override
+    public void refreshAll() {
+        request(ALL, target::refreshAll);
+    }
+
+    @Override
+    public void refreshStructure() {
+        request(STRUCTURE, target::refreshStructure);
+    }
+
+    @Override
+    public void refreshArmor() {
+        request(ARMOR, target::refreshArmor);
+    }
+
+    @Override
+    public void refreshWeapons() {
+        request(WEAPONS, target::refreshWeapons);
+    }
+
+    @Override
+    public void refreshEquipment() {
+        request(EQUIPMENT, target::refreshEquipment);
+    }
+
+    @Override
+    public void refreshTransport() {
+        request(TRANSPORT, target::refreshTransport);
+    }
+
+    @Override
+    public void refreshBuild() {
+        request(BUILD, target::refreshBuild);
+    }
+
+    @Override
+    public void refreshPreview() {
+        request(PREVIEW, target::refreshPreview);
+    }
+
+    @Override
+    public void refreshSummary() {
+        request(SUMMARY, target::refreshSummary);
+    }
+
+    @Override
+    public void refreshEquipmentTable() {
+        request(EQUIPMENT_TABLE, target::refreshEquipmentTable);
+    }
+}
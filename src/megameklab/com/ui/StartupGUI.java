@@ -15,6 +15,7 @@ package megameklab.com.ui;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.DisplayMode;
 import java.awt.FontMetrics;
@@ -80,6 +81,7 @@ public class StartupGUI extends javax.swing.JPanel {
     }
     
     private final ResourceBundle resourceMap = ResourceBundle.getBundle("megameklab.resources.Splash", new EncodeControl());
+    private boolean waitingForEquipment = false;
     
     public StartupGUI() {       
         initComponents();
@@ -357,12 +359,36 @@ public class StartupGUI extends javax.swing.JPanel {
     }
     
     private void newUnit(long type, boolean primitive, boolean industrial, Entity en) {
-        frame.setVisible(false);
-        LoadingDialog ld = new LoadingDialog(frame, type, primitive, industrial, en);
-        ld.setVisible(true);
+        afterEquipment(() -> {
+            frame.setVisible(false);
+            LoadingDialog ld = new LoadingDialog(frame, type, primitive, industrial, en);
+            ld.setVisible(true);
+        });
+    }
+    
+    /**
+     * The equipment is loaded in the background while this frame is shown, so building a unit is
+     * put off until it has finished. The frame shows a wait cursor in the meantime and ignores
+     * further button presses.
+     */
+    private void afterEquipment(Runnable action) {
+        if (waitingForEquipment) {
+            return;
+        }
+        waitingForEquipment = true;
+        frame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        MegaMekLab.whenEquipmentLoaded(() -> {
+            waitingForEquipment = false;
+            frame.setCursor(Cursor.getDefaultCursor());
+            action.run();
+        });
     }
     
     private void loadUnit() {
+        afterEquipment(this::selectUnit);
+    }
+
+    private void selectUnit() {
         EquipmentType.initializeTypes();
         UnitLoadingDialog unitLoadingDialog = new UnitLoadingDialog(frame);
         unitLoadingDialog.setVisible(true);
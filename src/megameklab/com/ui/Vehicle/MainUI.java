@@ -78,10 +78,10 @@ public class MainUI extends MegaMekLabMainUI {
         equipmentTab = new EquipmentTab(this);
         buildTab = new BuildTab(this, equipmentTab.getEquipmentList());
         fluffTab = new FluffTab(this);
-        structureTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshScheduler());
+        equipmentTab.addRefreshedListener(getRefreshScheduler());
+        buildTab.addRefreshedListener(getRefreshScheduler());
+        fluffTab.setRefreshedListener(getRefreshScheduler());
         
         previewTab = new PreviewTab(this);
 
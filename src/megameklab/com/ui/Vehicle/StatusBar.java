@@ -34,6 +34,7 @@ import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestSupportVehicle;
 import megamek.common.verifier.TestTank;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.ui.util.RefreshDebouncer;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
@@ -56,8 +57,9 @@ public class StatusBar extends ITab {
     private JLabel cost = new JLabel();
     private EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
             "data/mechfiles/UnitVerifierOptions.xml"));
-    private TestTank testEntity = null;
     private DecimalFormat formatter;
+    private final RefreshDebouncer refreshRequests =
+            new RefreshDebouncer("StatusBar.refresh", this::refreshLabels);
     private JFrame parentFrame;
 
     private RefreshListener refresh;
@@ -67,8 +69,6 @@ public class StatusBar extends ITab {
         parentFrame = parent;
 
         formatter = new DecimalFormat();
-        testEntity = new TestTank((Tank) parent.getEntity(), entityVerifier.tankOption,
-                null);
         btnValidate.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
                 UnitUtil.showValidation(getTank(), getParentFrame());
@@ -104,7 +104,7 @@ public class StatusBar extends ITab {
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.weightx = 1.0;
         this.add(cost, gbc);
-        refresh();
+        refreshLabels();
     }
 
     public JLabel movementLabel() {
@@ -116,33 +116,28 @@ public class StatusBar extends ITab {
         return move;
     }
 
+    // The values are set by refreshLabels()
     public JLabel bvLabel() {
-        int bv = getTank().calculateBattleValue();
-        bvLabel.setText("BV: " + bv);
-
         return bvLabel;
     }
 
     public JLabel tonnageLabel() {
-        double tonnage = getTank().getWeight();
-        double currentTonnage;
-
-        currentTonnage = testEntity.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(getTank());
-
-        tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         return tons;
     }
 
     public JPanel slotsPanel() {
-        Tank tank = getTank();
-        int currentSlots = tank.getTotalSlots() - tank.getFreeSlots();
-        slots.setText("Slots: "+currentSlots+"/"+tank.getTotalSlots());
         slotsPanel.add(slots);
         return slotsPanel;
     }
 
+    /**
+     * Schedules the labels to be updated once the user pauses editing.
+     */
     public void refresh() {
+        refreshRequests.request();
+    }
+
+    private void refreshLabels() {
 
         int walk = getTank().getOriginalWalkMP();
         int run = getTank().getRunMP(true, true, false);
@@ -151,7 +146,7 @@ public class StatusBar extends ITab {
         double currentTonnage;
         int bv = getTank().calculateBattleValue();
 
-        testEntity = new TestTank((Tank) getTank(), entityVerifier.tankOption,
+        TestTank testEntity = new TestTank((Tank) getTank(), entityVerifier.tankOption,
                 null);
 
         currentTonnage = testEntity.calculateWeight();
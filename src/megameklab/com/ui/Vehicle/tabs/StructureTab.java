@@ -57,6 +57,7 @@ import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.PatchworkArmorView;
 import megameklab.com.ui.view.listeners.ArmorAllocationListener;
 import megameklab.com.ui.view.listeners.CVBuildListener;
+import megameklab.com.util.ArmorDistributor;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -681,57 +682,49 @@ public class StructureTab extends ITab implements CVBuildListener, ArmorAllocati
 
     @Override
     public void autoAllocateArmor() {
-        int pointsToAllocate = UnitUtil.getArmorPoints(getTank(), getTank().getLabArmorTonnage());
+        ArmorDistributor distributor = new ArmorDistributor(getTank().locations());
 
-        for (int location = 0; location < getTank().locations(); location++) {
-            getTank().initializeArmor(0, location);
-        }
-        
         // Discount body, as it's not armored
         int numLocations = getTank().locations() - 1;
 
         // Make sure that the VTOL rotor has the 2 armor it should have
         if (getTank().hasETypeFlag(Entity.ETYPE_VTOL)) {
-            getTank().initializeArmor(Math.min(pointsToAllocate, 2), VTOL.LOC_ROTOR);
-            pointsToAllocate -= 2;
+            distributor.setBase(VTOL.LOC_ROTOR, 2);
             numLocations--;
         }
-        
+
         // Determine the percentage of total armor each location should get
         double otherPercent = 1.0 / numLocations;
         double remainingPercent = 1.0 - (otherPercent * (numLocations - 2));
         // Front should be slightly more armored and rear slightly less
         double frontPercent = remainingPercent * 0.6;
         double rearPercent = remainingPercent * 0.4;
-        
-        // With the percentage of total for each location, assign armor
-        int allocatedPoints = 0;
+
         int rear = Tank.LOC_REAR;
         if (getTank().hasETypeFlag(Entity.ETYPE_SUPER_HEAVY_TANK)) {
             rear = SuperHeavyTank.LOC_REAR;
+            distributor.setPair(SuperHeavyTank.LOC_FRONTLEFT, SuperHeavyTank.LOC_FRONTRIGHT)
+                    .setPair(SuperHeavyTank.LOC_REARLEFT, SuperHeavyTank.LOC_REARRIGHT);
+        } else {
+            distributor.setPair(Tank.LOC_LEFT, Tank.LOC_RIGHT);
         }
         for (int location = 1; location < getTank().locations(); location++) {
             if ((getTank().hasETypeFlag(Entity.ETYPE_VTOL)) && (location == VTOL.LOC_ROTOR)) {
                 continue;
             }
-            int armorToAllocate = 0;
             if (location == Tank.LOC_FRONT) {
-                armorToAllocate = (int)(pointsToAllocate * frontPercent);
+                distributor.setLocation(location, frontPercent, ArmorDistributor.UNLIMITED);
             } else if (location == rear) {
-                armorToAllocate = (int)(pointsToAllocate * rearPercent);
+                distributor.setLocation(location, rearPercent, ArmorDistributor.UNLIMITED);
             } else {
-                armorToAllocate = (int)(pointsToAllocate * otherPercent);
+                distributor.setLocation(location, otherPercent, ArmorDistributor.UNLIMITED);
             }
-            getTank().initializeArmor(armorToAllocate, location);
-            allocatedPoints += armorToAllocate;
         }
-        
-        // Because of rounding, may have leftover armor: allocate it to front
-        int unallocated = pointsToAllocate - allocatedPoints;
-        int currentFrontArmor = getTank().getOArmor(Tank.LOC_FRONT);
-        getTank().initializeArmor(currentFrontArmor + unallocated, Tank.LOC_FRONT);
+        // Because of rounding, may have leftover armor: allocate it to front first
+        distributor.setPriority(Tank.LOC_FRONT);
+        distributor.distribute(UnitUtil.getArmorPoints(getTank(), getTank().getLabArmorTonnage()))
+                .apply(getTank());
 
-        
         panArmorAllocation.setFromEntity(getTank());
         refresh.refreshPreview();
         refresh.refreshSummary();
@@ -22,7 +22,6 @@ import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.Vector;
 
 import javax.swing.BorderFactory;
@@ -39,6 +38,7 @@ import megamek.common.MiscType;
 import megamek.common.Mounted;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.EquipmentCatalog;
 import megameklab.com.util.EquipmentListCellKeySelectionManager;
 import megameklab.com.util.EquipmentListCellRenderer;
 import megameklab.com.util.IView;
@@ -105,9 +105,7 @@ public class EquipmentView extends IView implements ActionListener {
         add(equipmentScroll, BorderLayout.CENTER);
         add(buttonPanel, BorderLayout.SOUTH);
 
-        Enumeration<EquipmentType> miscTypes = EquipmentType.getAllTypes();
-        while (miscTypes.hasMoreElements()) {
-            EquipmentType eq = miscTypes.nextElement();
+        for (EquipmentType eq : EquipmentCatalog.getInstance().getAllTypes()) {
 
             if (UnitUtil.isUnitEquipment(eq, eSource.getEntity())) {
                 masterEquipmentList.add(eq);
@@ -32,6 +32,7 @@ import megamek.common.WeaponType;
 import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestAdvancedAerospace;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.ui.util.RefreshDebouncer;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
@@ -60,6 +61,8 @@ public class AdvancedAeroStatusBar extends ITab {
             "data/mechfiles/UnitVerifierOptions.xml"));
     private TestAdvancedAerospace testAdvAero = null;
     private DecimalFormat formatter;
+    private final RefreshDebouncer refreshRequests =
+            new RefreshDebouncer("StatusBar.refresh", this::refreshLabels);
     private JFrame parentFrame;
 
     private RefreshListener refresh;
@@ -96,10 +99,17 @@ public class AdvancedAeroStatusBar extends ITab {
         this.add(cost, gbc);
 
 
-        refresh();
+        refreshLabels();
     }
 
+    /**
+     * Schedules the labels to be updated once the user pauses editing.
+     */
     public void refresh() {
+        refreshRequests.request();
+    }
+
+    private void refreshLabels() {
 
         int heat = getJumpship().getHeatCapacity();
         double tonnage = getJumpship().getWeight();
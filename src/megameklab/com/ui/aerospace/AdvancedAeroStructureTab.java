@@ -45,6 +45,7 @@ import megameklab.com.ui.view.MVFArmorView;
 import megameklab.com.ui.view.MovementView;
 import megameklab.com.ui.view.listeners.AdvancedAeroBuildListener;
 import megameklab.com.ui.view.listeners.ArmorAllocationListener;
+import megameklab.com.util.ArmorDistributor;
 import megameklab.com.util.ITab;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
@@ -534,54 +535,32 @@ public class AdvancedAeroStructureTab extends ITab implements AdvancedAeroBuildL
         // ignore unarmored system-wide location and warship broadsides
         final int ARMOR_FACINGS = getJumpship() instanceof Warship ?
                 getJumpship().locations() - 3 : getJumpship().locations() - 1;
-        for (int loc = 0; loc < ARMOR_FACINGS; loc++) {
-            getJumpship().initializeArmor(0, loc);
-        }
-        
+        ArmorDistributor distributor = new ArmorDistributor(ARMOR_FACINGS);
+
         // divide armor (in excess of bonus from SI) among positions, with more toward the front
         int bonusPerFacing = (int) Math.floor(UnitUtil.getSIBonusArmorPoints(getJumpship()) / ARMOR_FACINGS);
-        int points = UnitUtil.getArmorPoints(getJumpship(), getJumpship().getLabArmorTonnage())
-                - bonusPerFacing * 6;
-        int nose = (int)Math.floor(points * 0.22);
-        int foresides = (int)Math.floor(points * 0.18);
-        int aftsides = (int) Math.floor(points * 0.16);
-        int aft = (int)Math.floor(points * 0.10);
-        int remainder = points - nose - foresides * 2 - aftsides * 2 - aft;
-        
-        // spread remainder among nose and fore sides
-        switch(remainder % 6) {
-            case 1:
-                nose++;
-                break;
-            case 2:
-                foresides++;
-                break;
-            case 3:
-                nose++;
-                foresides++;
-                break;
-            case 4:
-                nose += 2;
-                foresides++;
-                break;
-            case 5:
-                nose += 3;
-                foresides++;
-                break;
+        for (int loc = 0; loc < ARMOR_FACINGS; loc++) {
+            distributor.setBase(loc, bonusPerFacing);
         }
-        getJumpship().initializeArmor(nose + bonusPerFacing, Jumpship.LOC_NOSE);
-        getJumpship().initializeArmor(foresides + bonusPerFacing, Jumpship.LOC_FRS);
-        getJumpship().initializeArmor(foresides + bonusPerFacing, Jumpship.LOC_FLS);
-        getJumpship().initializeArmor(aftsides + bonusPerFacing, Jumpship.LOC_ARS);
-        getJumpship().initializeArmor(aftsides + bonusPerFacing, Jumpship.LOC_ALS);
-        getJumpship().initializeArmor(aft + bonusPerFacing, Jumpship.LOC_AFT);
+        distributor.setLocation(Jumpship.LOC_NOSE, 0.22, ArmorDistributor.UNLIMITED)
+                .setLocation(Jumpship.LOC_FRS, 0.18, ArmorDistributor.UNLIMITED)
+                .setLocation(Jumpship.LOC_FLS, 0.18, ArmorDistributor.UNLIMITED)
+                .setLocation(Jumpship.LOC_ARS, 0.16, ArmorDistributor.UNLIMITED)
+                .setLocation(Jumpship.LOC_ALS, 0.16, ArmorDistributor.UNLIMITED)
+                .setLocation(Jumpship.LOC_AFT, 0.10, ArmorDistributor.UNLIMITED)
+                .setPair(Jumpship.LOC_FRS, Jumpship.LOC_FLS)
+                .setPair(Jumpship.LOC_ARS, Jumpship.LOC_ALS)
+                // spread remainder among nose and fore sides
+                .setPriority(Jumpship.LOC_NOSE, Jumpship.LOC_FRS, Jumpship.LOC_FLS,
+                        Jumpship.LOC_ARS, Jumpship.LOC_ALS, Jumpship.LOC_AFT);
+        distributor.distribute(UnitUtil.getArmorPoints(getJumpship(), getJumpship().getLabArmorTonnage()))
+                .apply(getJumpship());
         getJumpship().autoSetThresh();
 
         panArmorAllocation.setFromEntity(getJumpship());
         refresh.refreshPreview();
         refresh.refreshSummary();
         refresh.refreshStatus();
-
     }
 
     @Override
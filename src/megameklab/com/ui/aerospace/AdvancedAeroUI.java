@@ -189,12 +189,12 @@ public class AdvancedAeroUI extends MegaMekLabMainUI {
         buildTab = new DropshipBuildTab(this, equipmentTab);
         fluffTab = new FluffTab(this);
         transportTab = new TransportTab(this);
-        structureTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        transportTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
-        statusbar.addRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshScheduler());
+        equipmentTab.addRefreshedListener(getRefreshScheduler());
+        buildTab.addRefreshedListener(getRefreshScheduler());
+        transportTab.addRefreshedListener(getRefreshScheduler());
+        fluffTab.setRefreshedListener(getRefreshScheduler());
+        statusbar.addRefreshedListener(getRefreshScheduler());
 
         configPane.addTab("Structure/Armor", structureTab);
         configPane.addTab("Equipment", equipmentTab);
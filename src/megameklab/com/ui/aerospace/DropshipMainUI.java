@@ -172,12 +172,12 @@ public class DropshipMainUI extends MegaMekLabMainUI {
         buildTab = new DropshipBuildTab(this, equipmentTab);
         transportTab = new TransportTab(this);
         fluffTab = new FluffTab(this);
-        structureTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        transportTab.addRefreshedListener(this);
-        statusbar.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshScheduler());
+        equipmentTab.addRefreshedListener(getRefreshScheduler());
+        buildTab.addRefreshedListener(getRefreshScheduler());
+        transportTab.addRefreshedListener(getRefreshScheduler());
+        statusbar.addRefreshedListener(getRefreshScheduler());
+        fluffTab.setRefreshedListener(getRefreshScheduler());
 
         configPane.addTab("Structure/Armor", structureTab);
         configPane.addTab("Equipment", equipmentTab);
@@ -32,6 +32,7 @@ import megamek.common.WeaponType;
 import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestSmallCraft;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.ui.util.RefreshDebouncer;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.RefreshListener;
@@ -59,6 +60,8 @@ public class DropshipStatusBar extends ITab {
             "data/mechfiles/UnitVerifierOptions.xml"));
     private TestSmallCraft testSmallCraft = null;
     private DecimalFormat formatter;
+    private final RefreshDebouncer refreshRequests =
+            new RefreshDebouncer("StatusBar.refresh", this::refreshLabels);
     private JFrame parentFrame;
 
     private RefreshListener refresh;
@@ -93,10 +96,17 @@ public class DropshipStatusBar extends ITab {
         this.add(cost, gbc);
 
 
-        refresh();
+        refreshLabels();
     }
 
+    /**
+     * Schedules the labels to be updated once the user pauses editing.
+     */
     public void refresh() {
+        refreshRequests.request();
+    }
+
+    private void refreshLabels() {
 
         int heat = getSmallCraft().getHeatCapacity();
         double tonnage = getSmallCraft().getWeight();
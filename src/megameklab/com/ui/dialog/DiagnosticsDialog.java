@@ -0,0 +1,229 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.ui.dialog;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Frame;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.WindowConstants;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.AbstractTableModel;
+
+import megamek.common.util.EncodeControl;
+import megameklab.com.MegaMekLab;
+import megameklab.com.util.Diagnostics;
+
+/**
+ * Shows the timers, counters and cache statistics collected by {@link Diagnostics}, and allows
+ * them to be saved as JSON to attach to a performance report.
+ */
+public class DiagnosticsDialog extends JDialog {
+
+    private static final long serialVersionUID = -2196532071409716283L;
+
+    private final ResourceBundle resourceMap = ResourceBundle.getBundle("megameklab.resources.Dialogs", new EncodeControl()); //$NON-NLS-1$
+
+    private final TimerTableModel timerModel = new TimerTableModel();
+    private final ValueTableModel valueModel = new ValueTableModel();
+
+    public DiagnosticsDialog(Frame frame) {
+        super(frame, true);
+        setTitle(resourceMap.getString("DiagnosticsDialog.windowName.text")); //$NON-NLS-1$
+        setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+
+        JTable timerTable = new JTable(timerModel);
+        timerTable.setAutoCreateRowSorter(true);
+        JTable valueTable = new JTable(valueModel);
+        valueTable.setAutoCreateRowSorter(true);
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+                new JScrollPane(timerTable), new JScrollPane(valueTable));
+        split.setResizeWeight(0.6);
+        split.setPreferredSize(new Dimension(800, 500));
+
+        JButton btnRefresh = new JButton(resourceMap.getString("DiagnosticsDialog.btnRefresh.text")); //$NON-NLS-1$
+        btnRefresh.addActionListener(e -> refresh());
+        JButton btnReset = new JButton(resourceMap.getString("DiagnosticsDialog.btnReset.text")); //$NON-NLS-1$
+        btnReset.setToolTipText(resourceMap.getString("DiagnosticsDialog.btnReset.tooltip")); //$NON-NLS-1$
+        btnReset.addActionListener(e -> {
+            Diagnostics.getInstance().reset();
+            refresh();
+        });
+        JButton btnSave = new JButton(resourceMap.getString("DiagnosticsDialog.btnSave.text")); //$NON-NLS-1$
+        btnSave.addActionListener(e -> save());
+        JButton btnClose = new JButton(resourceMap.getString("DiagnosticsDialog.btnClose.text")); //$NON-NLS-1$
+        btnClose.addActionListener(e -> dispose());
+
+        JPanel panButtons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        panButtons.add(btnRefresh);
+        panButtons.add(btnReset);
+        panButtons.add(btnSave);
+        panButtons.add(btnClose);
+
+        getContentPane().setLayout(new BorderLayout());
+        getContentPane().add(split, BorderLayout.CENTER);
+        getContentPane().add(panButtons, BorderLayout.SOUTH);
+        refresh();
+        pack();
+        setLocationRelativeTo(frame);
+    }
+
+    private void refresh() {
+        timerModel.setData(Diagnostics.getInstance().getTimers());
+        valueModel.setData(Diagnostics.getInstance().getValues());
+    }
+
+    private void save() {
+        JFileChooser chooser = new JFileChooser(System.getProperty("user.dir"));
+        chooser.setFileFilter(new FileNameExtensionFilter("JSON", "json")); //$NON-NLS-1$ //$NON-NLS-2$
+        chooser.setSelectedFile(new File("diagnostics.json")); //$NON-NLS-1$
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            Diagnostics.getInstance().write(chooser.getSelectedFile());
+        } catch (IOException ex) {
+            MegaMekLab.getLogger().error(DiagnosticsDialog.class, "save()", ex); //$NON-NLS-1$
+            JOptionPane.showMessageDialog(this, ex.getMessage(),
+                    resourceMap.getString("DiagnosticsDialog.saveError.title"), //$NON-NLS-1$
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private class TimerTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 5871926602736118215L;
+
+        private final String[] columns = {
+                "DiagnosticsDialog.colName.text", "DiagnosticsDialog.colCount.text", //$NON-NLS-1$ //$NON-NLS-2$
+                "DiagnosticsDialog.colTotal.text", "DiagnosticsDialog.colMean.text", //$NON-NLS-1$ //$NON-NLS-2$
+                "DiagnosticsDialog.colMedian.text", "DiagnosticsDialog.col95.text", //$NON-NLS-1$ //$NON-NLS-2$
+                "DiagnosticsDialog.colMax.text" //$NON-NLS-1$
+        };
+
+        private List<Diagnostics.Timer> timers = new ArrayList<>();
+
+        void setData(List<Diagnostics.Timer> timers) {
+            this.timers = timers;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return timers.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return resourceMap.getString(columns[column]);
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            switch (column) {
+                case 0:
+                    return String.class;
+                case 1:
+                    return Long.class;
+                default:
+                    return Double.class;
+            }
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            final Diagnostics.Timer timer = timers.get(row);
+            switch (column) {
+                case 0:
+                    return timer.getName();
+                case 1:
+                    return timer.getCount();
+                case 2:
+                    return round(timer.getTotalMillis());
+                case 3:
+                    return round(timer.getMeanMillis());
+                case 4:
+                    return round(timer.getPercentileMillis(0.5));
+                case 5:
+                    return round(timer.getPercentileMillis(0.95));
+                case 6:
+                    return round(timer.getMaxMillis());
+                default:
+                    return null;
+            }
+        }
+
+        private double round(double millis) {
+            return Math.round(millis * 1000) / 1000.0;
+        }
+    }
+
+    private class ValueTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = -3447062297740419514L;
+
+        private List<String> names = new ArrayList<>();
+        private List<Long> values = new ArrayList<>();
+
+        void setData(Map<String, Long> data) {
+            names = new ArrayList<>(data.keySet());
+            values = new ArrayList<>(data.values());
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return names.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 2;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return resourceMap.getString((column == 0) ? "DiagnosticsDialog.colName.text" //$NON-NLS-1$
+                    : "DiagnosticsDialog.colValue.text"); //$NON-NLS-1$
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return (column == 0) ? String.class : Long.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return (column == 0) ? names.get(row) : values.get(row);
+        }
+    }
+}
@@ -65,12 +65,12 @@ public class SVMainUI extends MegaMekLabMainUI {
         buildTab = new SVBuildTab(this, equipmentTab);
         transportTab = new TransportTab(this);
         fluffTab = new FluffTab(this);
-        structureTab.addRefreshedListener(this);
-        armorTab.addRefreshedListener(this);
-        equipmentTab.addRefreshedListener(this);
-        buildTab.addRefreshedListener(this);
-        transportTab.addRefreshedListener(this);
-        fluffTab.setRefreshedListener(this);
+        structureTab.addRefreshedListener(getRefreshScheduler());
+        armorTab.addRefreshedListener(getRefreshScheduler());
+        equipmentTab.addRefreshedListener(getRefreshScheduler());
+        buildTab.addRefreshedListener(getRefreshScheduler());
+        transportTab.addRefreshedListener(getRefreshScheduler());
+        fluffTab.setRefreshedListener(getRefreshScheduler());
 
         previewTab = new PreviewTab(this);
 
@@ -21,6 +21,7 @@ package megameklab.com.ui.supportvehicle;
 import megamek.common.verifier.EntityVerifier;
 import megamek.common.verifier.TestSupportVehicle;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.ui.util.RefreshDebouncer;
 import megameklab.com.util.ITab;
 import megameklab.com.util.ImageHelper;
 import megameklab.com.util.UnitUtil;
@@ -43,8 +44,9 @@ class SVStatusBar extends ITab {
     private final JLabel cost = new JLabel();
     private final EntityVerifier entityVerifier = EntityVerifier.getInstance(new File(
             "data/mechfiles/UnitVerifierOptions.xml"));
-    private TestSupportVehicle testEntity;
     private final DecimalFormat formatter;
+    private final RefreshDebouncer refreshRequests =
+            new RefreshDebouncer("StatusBar.refresh", this::refreshLabels);
     private final MegaMekLabMainUI mainUI;
 
     SVStatusBar(MegaMekLabMainUI parent) {
@@ -52,8 +54,6 @@ class SVStatusBar extends ITab {
         mainUI = parent;
 
         formatter = new DecimalFormat();
-        testEntity = new TestSupportVehicle(parent.getEntity(), entityVerifier.tankOption,
-                null);
         JButton btnValidate = new JButton("Validate Unit");
         btnValidate.addActionListener(evt -> UnitUtil.showValidation(parent.getEntity(), getParentFrame()));
         JButton btnFluffImage = new JButton("Set Fluff Image");
@@ -83,7 +83,7 @@ class SVStatusBar extends ITab {
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.weightx = 1.0;
         this.add(cost, gbc);
-        refresh();
+        refreshLabels();
     }
 
     private JLabel movementLabel() {
@@ -95,33 +95,28 @@ class SVStatusBar extends ITab {
         return move;
     }
 
+    // The values are set by refreshLabels()
     private JLabel bvLabel() {
-        int bv = eSource.getEntity().calculateBattleValue();
-        bvLabel.setText("BV: " + bv);
-
         return bvLabel;
     }
 
     private JLabel tonnageLabel() {
-        double tonnage = eSource.getEntity().getWeight();
-        double currentTonnage;
-
-        currentTonnage = testEntity.calculateWeight();
-        currentTonnage += UnitUtil.getUnallocatedAmmoTonnage(eSource.getEntity());
-
-        tons.setText("Tonnage: " + currentTonnage + "/" + tonnage);
         return tons;
     }
 
     private JPanel slotsPanel() {
-        final int totalSlots = testEntity.totalSlotCount();
-        final int currentSlots = testEntity.occupiedSlotCount();
-        slots.setText("Slots: " + currentSlots + "/" + totalSlots);
         slotsPanel.add(slots);
         return slotsPanel;
     }
 
+    /**
+     * Schedules the labels to be updated once the user pauses editing.
+     */
     public void refresh() {
+        refreshRequests.request();
+    }
+
+    private void refreshLabels() {
         int walk = eSource.getEntity().getOriginalWalkMP();
         int run = eSource.getEntity().getRunMP(true, true, false);
         int jump = eSource.getEntity().getOriginalJumpMP();
@@ -129,7 +124,7 @@ class SVStatusBar extends ITab {
         double currentTonnage;
         int bv = eSource.getEntity().calculateBattleValue();
 
-        testEntity = new TestSupportVehicle(eSource.getEntity(), entityVerifier.tankOption,
+        TestSupportVehicle testEntity = new TestSupportVehicle(eSource.getEntity(), entityVerifier.tankOption,
                 null);
 
         currentTonnage = testEntity.calculateWeight();
@@ -18,16 +18,30 @@ package megameklab.com.ui.tabs;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
+import java.awt.event.HierarchyEvent;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.JTabbedPane;
+import javax.swing.SwingWorker;
 
 import megamek.client.ui.swing.MechViewPanel;
 import megamek.common.Entity;
 import megamek.common.MechView;
 import megamek.common.templates.TROView;
+import megameklab.com.MegaMekLab;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.ITab;
+import megameklab.com.util.UnitUtil;
 
+/**
+ * Shows the unit summary and TRO text. The views are only generated while the tab is showing, and
+ * only for the selected sub-tab. A refresh request while the tab is hidden marks the views as out
+ * of date, and they are generated the next time they are shown. Generation runs on a background
+ * worker from a copy of the unit made on the event dispatch thread, so it never reads the unit
+ * while it is being edited, and only one generation runs at a time. A refresh request while a generation is running
+ * makes its result out of date; the result is discarded and the views are generated again once it
+ * finishes, so any number of requests during a generation lead to a single new one.
+ */
 public class PreviewTab extends ITab {
 
 	/**
@@ -35,13 +49,23 @@ public class PreviewTab extends ITab {
 	 */
 	private static final long serialVersionUID = -7410436201331568734L;
 
+    private static final int SUMMARY_TAB = 0;
+    private static final int TRO_TAB = 1;
+
+    private final JTabbedPane panPreview;
     private MechViewPanel panelMekView;
     private MechViewPanel panelTROView;
 
+    private boolean summaryDirty = true;
+    private boolean troDirty = true;
+    private PreviewWorker worker = null;
+    /** Counts refresh requests, so a worker can tell whether the unit changed while it ran */
+    private volatile long refreshCount = 0;
+
 	public PreviewTab(EntitySource eSource) {
 	    super(eSource);
 		this.setLayout(new BorderLayout());
-        JTabbedPane panPreview = new JTabbedPane();
+        panPreview = new JTabbedPane();
 
         panelMekView = new MechViewPanel();
         panelMekView.setMinimumSize(new java.awt.Dimension(300, 500));
@@ -50,32 +74,128 @@ public class PreviewTab extends ITab {
         
         panelTROView = new MechViewPanel();
         panPreview.addTab("TRO", panelTROView);
+        panPreview.addChangeListener(e -> updateIfShowing());
+
+        addHierarchyListener(e -> {
+            if (((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) && isShowing()) {
+                updateIfShowing();
+            }
+        });
 
         add(panPreview, BorderLayout.CENTER);
         setBackground(Color.WHITE);
         refresh();
 	}
 	
+    /**
+     * Marks the views as out of date. They are generated immediately if the tab is showing, or
+     * otherwise the next time it is shown.
+     */
 	public void refresh() {
-		boolean populateTextFields = true;
-		final Entity selectedUnit = eSource.getEntity();
-        MechView mechView = null;
-        TROView troView = null;
-        try {
-            mechView = new MechView(selectedUnit, false);
-            troView = TROView.createView(selectedUnit, true);
-        } catch (Exception e) {
-            e.printStackTrace();
-            // error unit didn't load right. this is bad news.
-            populateTextFields = false;
+        summaryDirty = true;
+        troDirty = true;
+        refreshCount++;
+        // A running worker is left to finish, and its out of date result is discarded
+        updateIfShowing();
+	}
+
+    private void updateIfShowing() {
+        if (!isShowing() || (null != worker)) {
+            return;
         }
-        if (populateTextFields && (mechView != null)) {
-            panelMekView.setMech(selectedUnit, mechView);
-            panelTROView.setMech(selectedUnit, troView);
-        } else {
-            panelMekView.reset();
-            panelTROView.reset();
+        final boolean summary = summaryDirty && (panPreview.getSelectedIndex() == SUMMARY_TAB);
+        final boolean tro = troDirty && (panPreview.getSelectedIndex() == TRO_TAB);
+        if (summary || tro) {
+            final Entity copy;
+            try {
+                copy = UnitUtil.copyEntity(eSource.getEntity());
+            } catch (Exception ex) {
+                MegaMekLab.getLogger().error(PreviewTab.class, "updateIfShowing()", ex);
+                if (summary) {
+                    panelMekView.reset();
+                    summaryDirty = false;
+                }
+                if (tro) {
+                    panelTROView.reset();
+                    troDirty = false;
+                }
+                return;
+            }
+            worker = new PreviewWorker(copy, summary, tro, refreshCount);
+            worker.execute();
         }
-	}
+    }
+
+    /**
+     * Generates the selected views in the background and installs them in the panels when done.
+     */
+    private class PreviewWorker extends SwingWorker<Void, Void> {
+        private final Entity selectedUnit;
+        private final boolean summary;
+        private final boolean tro;
+        private final long startCount;
+        private MechView mechView = null;
+        private TROView troView = null;
+
+        PreviewWorker(Entity selectedUnit, boolean summary, boolean tro, long startCount) {
+            this.selectedUnit = selectedUnit;
+            this.summary = summary;
+            this.tro = tro;
+            this.startCount = startCount;
+        }
+
+        @Override
+        protected Void doInBackground() {
+            if (summary) {
+                mechView = new MechView(selectedUnit, false);
+            }
+            if (tro && (startCount == refreshCount)) {
+                troView = TROView.createView(selectedUnit, true);
+            }
+            return null;
+        }
+
+        @Override
+        protected void done() {
+            if (worker != this) {
+                return;
+            }
+            worker = null;
+            if (startCount != refreshCount) {
+                // The unit was changed while the views were generated
+                updateIfShowing();
+                return;
+            }
+            boolean populateTextFields = true;
+            try {
+                get();
+            } catch (ExecutionException e) {
+                MegaMekLab.getLogger().error(PreviewTab.class, "done()", e.getCause());
+                // error unit didn't load right. this is bad news.
+                populateTextFields = false;
+            } catch (InterruptedException e) {
+                // Shouldn't get here because we're done...
+                populateTextFields = false;
+            }
+            if (summary) {
+                if (populateTextFields && (mechView != null)) {
+                    panelMekView.setMech(selectedUnit, mechView);
+                } else {
+                    panelMekView.reset();
+                }
+                summaryDirty = false;
+            }
+            if (tro) {
+                if (populateTextFields && (troView != null)) {
+                    panelTROView.setMech(selectedUnit, troView);
+                } else {
+                    panelTROView.reset();
+                }
+                troDirty = false;
+            }
+            // The other sub-tab may have been selected while this one was generated.
+            updateIfShowing();
+        }
+    }
 	
 }
\ No newline at end of file
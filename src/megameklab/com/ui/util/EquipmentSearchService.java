@@ -0,0 +1,131 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.ui.util;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import megamek.common.EquipmentType;
+import megameklab.com.MegaMekLab;
+import megameklab.com.util.EquipmentCatalog;
+import megameklab.com.util.EquipmentSearchIndex;
+
+/**
+ * Answers the free text searches of an equipment table on a background thread. The search starts
+ * once the text has not changed for {@link #DEBOUNCE_DELAY} milliseconds, and the matching rows
+ * are passed to the publisher on the event dispatch thread. A result is discarded if the text has
+ * changed since the search started.
+ *
+ * <p>The publisher receives null when the text contains nothing to search for, meaning that every
+ * row matches. This is published immediately so that clearing the filter is not delayed.</p>
+ */
+public class EquipmentSearchService {
+
+    /** The time to wait for further typing before starting the search, in milliseconds */
+    public static final int DEBOUNCE_DELAY = 200;
+
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Equipment search");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Supplier<List<EquipmentType>> data;
+    private final Consumer<BitSet> publisher;
+    private final Timer timer;
+    private final AtomicLong generation = new AtomicLong();
+    private String query = "";
+
+    // Only used on the worker thread
+    private List<EquipmentType> indexedData;
+    private EquipmentSearchIndex index;
+
+    /**
+     * @param data      Provides the rows of the table, in model order
+     * @param publisher Receives the model rows that match the search text
+     */
+    public EquipmentSearchService(Supplier<List<EquipmentType>> data, Consumer<BitSet> publisher) {
+        this.data = data;
+        this.publisher = publisher;
+        timer = new Timer(DEBOUNCE_DELAY, e -> submit());
+        timer.setRepeats(false);
+    }
+
+    /**
+     * Schedules a search for new text. This must be called on the event dispatch thread.
+     *
+     * @param text The search text
+     */
+    public void request(String text) {
+        generation.incrementAndGet();
+        query = text;
+        if (EquipmentSearchIndex.tokenize(text).isEmpty()) {
+            timer.stop();
+            publisher.accept(null);
+        } else {
+            timer.restart();
+        }
+    }
+
+    /**
+     * Builds the search index for the table's rows in the background, so that the first search
+     * does not have to wait for it.
+     */
+    public void prepare() {
+        final List<EquipmentType> rows = data.get();
+        worker.submit(() -> getIndex(rows));
+    }
+
+    private void submit() {
+        final long requested = generation.get();
+        final String text = query;
+        final List<EquipmentType> rows = data.get();
+        worker.submit(() -> {
+            if (requested != generation.get()) {
+                return;
+            }
+            final BitSet matches;
+            try {
+                matches = getIndex(rows).search(text);
+            } catch (RuntimeException ex) {
+                MegaMekLab.getLogger().error(EquipmentSearchService.class, "submit()", ex);
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (requested == generation.get()) {
+                    publisher.accept(matches);
+                }
+            });
+        });
+    }
+
+    private EquipmentSearchIndex getIndex(List<EquipmentType> rows) {
+        if (rows == EquipmentCatalog.getInstance().getAllTypes()) {
+            return EquipmentCatalog.getInstance().getSearchIndex();
+        }
+        if ((null == index) || (rows != indexedData)) {
+            index = new EquipmentSearchIndex(rows);
+            indexedData = rows;
+        }
+        return index;
+    }
+}
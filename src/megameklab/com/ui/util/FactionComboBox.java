@@ -3,12 +3,17 @@
  */
 package megameklab.com.ui.util;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.swing.SwingUtilities;
+
 import megamek.client.ratgenerator.FactionRecord;
 import megamek.client.ratgenerator.RATGenerator;
 import megamek.common.ITechnology;
@@ -18,43 +23,149 @@ import megamek.common.ITechnology;
  * to a unit's intro year and with the era-appropriate name. The underlying data type is the
  * ITechnology faction constant.
  * 
+ * The faction data is loaded in the background. Until it is available the list only contains
+ * "Any", and the list is filled in once the RATGenerator reports that it has finished loading.
+ * A faction that is selected before then is kept and selected when the list is filled.
+ * 
  * @author Neoancient
  *
  */
-public class FactionComboBox extends CustomComboBox<Integer> {
+public class FactionComboBox extends CustomComboBox<Integer> implements ActionListener {
 
     /**
      * 
      */
     private static final long serialVersionUID = 4722914142736815170L;
-    
-    private Map<Integer,String> displayNames = new HashMap<>();
-    
+
+    /** The maximum number of year and tech base combinations to keep faction lists for */
+    private static final int CACHE_CAPACITY = 64;
+
+    private static final Map<String, FactionList> factionLists =
+            new LinkedHashMap<String, FactionList>(CACHE_CAPACITY + 1, 0.75f, true) {
+        private static final long serialVersionUID = -1718302856232104416L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FactionList> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    private FactionList factions = FactionList.EMPTY;
+    private boolean loaded;
+    private int year;
+    private boolean clan;
+    private Integer pendingSelection;
+
     public FactionComboBox() {
         super();
-        setRenderer(new Renderer<Integer>(i -> displayNames.get(i)));
-        while (!RATGenerator.getInstance().isInitialized()) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
+        setRenderer(new Renderer<Integer>(i -> factions.getName(i)));
+        loaded = RATGenerator.getInstance().isInitialized();
+        if (!loaded) {
+            RATGenerator.getInstance().registerListener(this);
+            // The data may have finished loading before the listener was registered
+            if (RATGenerator.getInstance().isInitialized()) {
+                RATGenerator.getInstance().removeListener(this);
+                loaded = true;
             }
         }
     }
-    
+
     public void refresh(int year, boolean clan) {
-        displayNames.clear();
-        for (int i = 0; i < ITechnology.MM_FACTION_CODES.length; i++) {
-            final FactionRecord fRec = RATGenerator.getInstance().getFaction(ITechnology.MM_FACTION_CODES[i]);
-            // TA will generate a null value because the RAT Generator doesn't distinguish between TH and TA.
-            if ((null != fRec) && (fRec.isClan() == clan) && (fRec.isActiveInYear(year))) {
-                displayNames.put(i, fRec.getName(year));
-            }
-        }
-        List<Integer> sorted = new ArrayList<>(displayNames.keySet());
-        Collections.sort(sorted, (i1, i2) -> displayNames.get(i1).compareTo(displayNames.get(i2)));
+        this.year = year;
+        this.clan = clan;
+        factions = loaded ? getFactionList(year, clan) : FactionList.EMPTY;
         removeAllItems();
         addItem(-1);
-        displayNames.put(-1, "Any");
-        sorted.forEach(this::addItem);
+        factions.codes.forEach(this::addItem);
+    }
+
+    @Override
+    public void setSelectedItem(Object item) {
+        // Only "Any" is available until the data is loaded, so remember any other faction
+        if (!loaded && (item instanceof Integer) && ((Integer) item != -1)) {
+            pendingSelection = (Integer) item;
+        }
+        super.setSelectedItem(item);
+    }
+
+    /**
+     * Called by the RATGenerator as it loads its data, which may be on a background thread. The
+     * RATGenerator may still be notifying its listeners, so the listener is removed later on the
+     * event dispatch thread. Notifications sent before all the data is available are ignored, so
+     * that an incomplete faction list is not built and cached.
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        SwingUtilities.invokeLater(() -> {
+            if (loaded || !RATGenerator.getInstance().isInitialized()) {
+                return;
+            }
+            RATGenerator.getInstance().removeListener(this);
+            loaded = true;
+            final Integer selection = pendingSelection;
+            pendingSelection = null;
+            // Only notify the listeners of the final selection, not of each change to the list
+            final ActionListener[] listeners = getActionListeners();
+            for (ActionListener l : listeners) {
+                removeActionListener(l);
+            }
+            refresh(year, clan);
+            for (ActionListener l : listeners) {
+                addActionListener(l);
+            }
+            if ((null != selection) && (selection != -1)) {
+                setSelectedItem(selection);
+            }
+        });
+    }
+
+    /**
+     * Provides the factions active in a year, sorted by the name used in that year. The list is
+     * built on first use for each year and tech base and shared by all combo boxes.
+     */
+    private static FactionList getFactionList(int year, boolean clan) {
+        final String key = year + (clan ? "C" : "IS");
+        synchronized (factionLists) {
+            FactionList list = factionLists.get(key);
+            if (null == list) {
+                list = new FactionList(year, clan);
+                factionLists.put(key, list);
+            }
+            return list;
+        }
+    }
+
+    private static class FactionList {
+        static final FactionList EMPTY = new FactionList();
+
+        private final List<Integer> codes;
+        private final Map<Integer, String> names;
+
+        private FactionList() {
+            codes = Collections.emptyList();
+            names = Collections.emptyMap();
+        }
+
+        FactionList(int year, boolean clan) {
+            Map<Integer, String> displayNames = new HashMap<>();
+            for (int i = 0; i < ITechnology.MM_FACTION_CODES.length; i++) {
+                final FactionRecord fRec = RATGenerator.getInstance().getFaction(ITechnology.MM_FACTION_CODES[i]);
+                // TA will generate a null value because the RAT Generator doesn't distinguish between TH and TA.
+                if ((null != fRec) && (fRec.isClan() == clan) && (fRec.isActiveInYear(year))) {
+                    displayNames.put(i, fRec.getName(year));
+                }
+            }
+            List<Integer> sorted = new ArrayList<>(displayNames.keySet());
+            Collections.sort(sorted, (i1, i2) -> displayNames.get(i1).compareTo(displayNames.get(i2)));
+            codes = Collections.unmodifiableList(sorted);
+            names = displayNames;
+        }
+
+        String getName(Integer code) {
+            if ((null == code) || (code == -1)) {
+                return "Any";
+            }
+            return names.get(code);
+        }
     }
 }
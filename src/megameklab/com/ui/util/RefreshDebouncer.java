@@ -0,0 +1,59 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.ui.util;
+
+import javax.swing.Timer;
+
+import megameklab.com.util.Diagnostics;
+
+/**
+ * Combines refresh requests made in quick succession, such as those made while a spinner or slider
+ * is being changed. The update runs on the event dispatch thread once no further request has been
+ * made for {@link #DEBOUNCE_DELAY} milliseconds, so a burst of edits costs a single update.
+ */
+public class RefreshDebouncer {
+
+    /** The time to wait for further edits before updating, in milliseconds */
+    public static final int DEBOUNCE_DELAY = 150;
+
+    private final String name;
+    private final Runnable update;
+    private final Timer timer;
+
+    /**
+     * @param name   The name under which the requests and updates are recorded in {@link Diagnostics}
+     * @param update The update to perform
+     */
+    public RefreshDebouncer(String name, Runnable update) {
+        this.name = name;
+        this.update = update;
+        timer = new Timer(DEBOUNCE_DELAY, e -> run());
+        timer.setRepeats(false);
+    }
+
+    /**
+     * Schedules the update, replacing any request that has not run yet. This must be called on the
+     * event dispatch thread.
+     */
+    public void request() {
+        Diagnostics.getInstance().increment(name + ".requests");
+        timer.restart();
+    }
+
+    private void run() {
+        final long start = System.nanoTime();
+        update.run();
+        Diagnostics.getInstance().record(name + ".update", start);
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import megamek.common.Entity;
+
+/**
+ * Divides a number of armor points among the locations of a unit. Each location has a weight
+ * that sets its share of the points and a capacity it may not exceed, and may be given a fixed
+ * number of points before the rest are shared out. Points that a full location cannot take are
+ * shared among the others in proportion to their weights.
+ *
+ * <p>Shares are rounded down, and the points lost to rounding go to the locations with the
+ * largest fractions, using the priority order to break ties. Paired locations, such as the two
+ * side torsos of a Mech, are given the extra points together when there are enough left so that
+ * the unit stays symmetrical. Locations with rear armor have a fraction of their total put on
+ * the rear.</p>
+ *
+ * <p>The distribution is computed from the vectors without reading the unit, and
+ * {@link Allocation#apply(Entity)} sets the armor of every location at once.</p>
+ */
+public class ArmorDistributor {
+
+    /** The capacity of a location with no limit on the points it may hold */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final double[] weight;
+    private final int[] capacity;
+    private final int[] base;
+    private final double[] rearShare;
+    private final int[] partner;
+    private final int[] rank;
+
+    /**
+     * Creates a distributor for the given number of locations. Until they are set, each location
+     * has a weight of zero, unlimited capacity, no rear armor and no partner.
+     *
+     * @param locations The number of locations, starting from location 0
+     */
+    public ArmorDistributor(int locations) {
+        weight = new double[locations];
+        capacity = new int[locations];
+        base = new int[locations];
+        rearShare = new double[locations];
+        partner = new int[locations];
+        rank = new int[locations];
+        Arrays.fill(capacity, UNLIMITED);
+        Arrays.fill(partner, -1);
+        for (int loc = 0; loc < locations; loc++) {
+            rank[loc] = locations + loc;
+        }
+    }
+
+    /**
+     * @param location The location index
+     * @param weight   The share of the armor points the location should get, relative to the other
+     *                 locations
+     * @param capacity The most points the location may hold, including rear armor
+     * @return         This distributor
+     */
+    public ArmorDistributor setLocation(int location, double weight, int capacity) {
+        this.weight[location] = Math.max(0, weight);
+        this.capacity[location] = Math.max(0, capacity);
+        return this;
+    }
+
+    /**
+     * Gives a location a number of points before the rest are shared out by weight.
+     *
+     * @param location The location index
+     * @param points   The number of points the location gets first
+     * @return         This distributor
+     */
+    public ArmorDistributor setBase(int location, int points) {
+        base[location] = Math.max(0, points);
+        return this;
+    }
+
+    /**
+     * @param location The location index
+     * @param share    The fraction of the location's points to put on the rear, rounded down
+     * @return         This distributor
+     */
+    public ArmorDistributor setRearShare(int location, double share) {
+        rearShare[location] = Math.min(1, Math.max(0, share));
+        return this;
+    }
+
+    /**
+     * Marks two locations as a symmetrical pair. They should be given the same weight and
+     * capacity.
+     *
+     * @param location1 One location of the pair
+     * @param location2 The other location of the pair
+     * @return          This distributor
+     */
+    public ArmorDistributor setPair(int location1, int location2) {
+        partner[location1] = location2;
+        partner[location2] = location1;
+        return this;
+    }
+
+    /**
+     * Sets the order in which locations receive the points left over from rounding when their
+     * fractions are equal. Locations that are not listed come after those that are.
+     *
+     * @param locations The location indices, highest priority first
+     * @return          This distributor
+     */
+    public ArmorDistributor setPriority(int... locations) {
+        for (int i = 0; i < locations.length; i++) {
+            rank[locations[i]] = i;
+        }
+        return this;
+    }
+
+    /**
+     * Divides armor points among the locations.
+     *
+     * @param points The number of armor points
+     * @return       The points for each location. If the total capacity is less than the number
+     *               of points, the excess is not allocated.
+     */
+    public Allocation distribute(int points) {
+        final int locations = weight.length;
+        final int[] total = new int[locations];
+        final int[] room = new int[locations];
+        int remaining = Math.max(0, points);
+
+        // Fixed points first, in location order if there are not enough to go around
+        for (int loc = 0; loc < locations; loc++) {
+            total[loc] = Math.min(Math.min(base[loc], capacity[loc]), remaining);
+            remaining -= total[loc];
+            room[loc] = capacity[loc] - total[loc];
+        }
+
+        // Share the rest in proportion to the weights, filling the locations that reach their
+        // capacity first and sharing what they cannot take among the others
+        final double[] share = new double[locations];
+        final List<Integer> active = new ArrayList<>();
+        double totalWeight = 0;
+        for (int loc = 0; loc < locations; loc++) {
+            if ((weight[loc] > 0) && (room[loc] > 0)) {
+                active.add(loc);
+                totalWeight += weight[loc];
+            }
+        }
+        active.sort((l1, l2) -> Double.compare(room[l1] / weight[l1], room[l2] / weight[l2]));
+        double toShare = remaining;
+        int next = 0;
+        while ((next < active.size()) && (totalWeight > 0)) {
+            final int loc = active.get(next);
+            if (room[loc] > toShare * weight[loc] / totalWeight) {
+                break;
+            }
+            share[loc] = room[loc];
+            toShare -= room[loc];
+            totalWeight -= weight[loc];
+            next++;
+        }
+        for (int i = next; i < active.size(); i++) {
+            final int loc = active.get(i);
+            share[loc] = toShare * weight[loc] / totalWeight;
+        }
+
+        // Round down, then give the points lost to rounding to the largest fractions
+        int leftover = remaining;
+        final double[] fraction = new double[locations];
+        final List<Integer> candidates = new ArrayList<>();
+        final boolean[] candidate = new boolean[locations];
+        for (int loc = 0; loc < locations; loc++) {
+            final int whole = (int) Math.floor(share[loc] + 1e-9);
+            total[loc] += whole;
+            leftover -= whole;
+            fraction[loc] = share[loc] - whole;
+            if ((weight[loc] > 0) && (total[loc] < capacity[loc])) {
+                candidates.add(loc);
+                candidate[loc] = true;
+            }
+        }
+        candidates.sort((l1, l2) -> {
+            if (Math.abs(fraction[l1] - fraction[l2]) > 1e-9) {
+                return Double.compare(fraction[l2], fraction[l1]);
+            }
+            return Integer.compare(rank[l1], rank[l2]);
+        });
+        final boolean[] given = new boolean[locations];
+        for (int loc : candidates) {
+            if ((leftover == 0) || given[loc]) {
+                continue;
+            }
+            final int other = partner[loc];
+            if ((other >= 0) && candidate[other] && !given[other]
+                    && (Math.abs(fraction[loc] - fraction[other]) <= 1e-9)) {
+                // Keep the pair even, or leave them both for a location that can take a single point
+                if (leftover >= 2) {
+                    total[loc]++;
+                    total[other]++;
+                    given[loc] = true;
+                    given[other] = true;
+                    leftover -= 2;
+                }
+            } else {
+                total[loc]++;
+                given[loc] = true;
+                leftover--;
+            }
+        }
+        // Only paired locations were left for the last point
+        for (int loc : candidates) {
+            if ((leftover > 0) && !given[loc]) {
+                total[loc]++;
+                leftover--;
+            }
+        }
+
+        final int[] rear = new int[locations];
+        for (int loc = 0; loc < locations; loc++) {
+            rear[loc] = (int) Math.floor(total[loc] * rearShare[loc]);
+        }
+        return new Allocation(total, rear);
+    }
+
+    /**
+     * The number of front and rear armor points for each location.
+     */
+    public static class Allocation {
+        private final int[] total;
+        private final int[] rear;
+
+        private Allocation(int[] total, int[] rear) {
+            this.total = total;
+            this.rear = rear;
+        }
+
+        /**
+         * @param location The location index
+         * @return         The points of front armor
+         */
+        public int getFront(int location) {
+            return total[location] - rear[location];
+        }
+
+        /**
+         * @param location The location index
+         * @return         The points of rear armor
+         */
+        public int getRear(int location) {
+            return rear[location];
+        }
+
+        /**
+         * @param location The location index
+         * @return         The points of front and rear armor
+         */
+        public int getTotal(int location) {
+            return total[location];
+        }
+
+        /**
+         * @return The number of points that were allocated
+         */
+        public int getAllocated() {
+            int sum = 0;
+            for (int points : total) {
+                sum += points;
+            }
+            return sum;
+        }
+
+        /**
+         * Sets the armor of each location covered by the allocation. Rear armor is only set for
+         * locations that have it.
+         *
+         * @param unit The unit
+         */
+        public void apply(Entity unit) {
+            for (int loc = 0; loc < total.length; loc++) {
+                if (unit.hasRearArmor(loc)) {
+                    unit.initializeArmor(getFront(loc), loc);
+                    unit.initializeRearArmor(getRear(loc), loc);
+                } else {
+                    unit.initializeArmor(total[loc], loc);
+                }
+            }
+        }
+    }
+}
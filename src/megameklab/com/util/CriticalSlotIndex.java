@@ -0,0 +1,295 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import megamek.common.Entity;
+
+/**
+ * Tracks which critical slots of a unit are free, with one bit per slot in each location and the
+ * longest run of free slots in each location, so that the free space queries made while
+ * allocating equipment do not have to read every slot each time.
+ *
+ * <p>A location is read from the unit the first time it is queried, and again after it has been
+ * invalidated. The methods in {@link UnitUtil} that add, remove or move critical slots update the
+ * locations they change in place. Code that changes the critical slots of a unit directly must call
+ * {@link #invalidate(Entity, int)} or {@link #invalidate(Entity)} afterwards.</p>
+ *
+ * <p>Indices are kept for each unit instance rather than for units that are equal, because
+ * {@link Entity#equals(Object)} compares the unit id and units that have not been added to a game
+ * share the same id. The index only holds a weak reference to its unit, so it is discarded when
+ * the unit is no longer used.</p>
+ */
+public class CriticalSlotIndex {
+
+    private static final Map<UnitKey, CriticalSlotIndex> indices = new HashMap<>();
+    private static final ReferenceQueue<Entity> discarded = new ReferenceQueue<>();
+
+    private final UnitKey unit;
+    private final BitSet[] free;
+    private final int[] longestRun;
+
+    /**
+     * @param unit The unit
+     * @return     The slot index for the unit, which is created if it does not exist
+     */
+    public static CriticalSlotIndex get(Entity unit) {
+        synchronized (indices) {
+            expungeDiscarded();
+            CriticalSlotIndex index = indices.get(new UnitKey(unit, null));
+            if ((null == index) || (index.free.length != unit.locations())) {
+                index = new CriticalSlotIndex(unit);
+                indices.put(index.unit, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Discards the slot information for every location of a unit.
+     *
+     * @param unit The unit whose critical slots have changed
+     */
+    public static void invalidate(Entity unit) {
+        synchronized (indices) {
+            expungeDiscarded();
+            indices.remove(new UnitKey(unit, null));
+        }
+    }
+
+    /**
+     * Discards the slot information for one location of a unit.
+     *
+     * @param unit     The unit whose critical slots have changed
+     * @param location The location that has changed
+     */
+    public static void invalidate(Entity unit, int location) {
+        final CriticalSlotIndex index = find(unit);
+        if (null != index) {
+            index.invalidate(location);
+        }
+    }
+
+    /**
+     * Marks a slot as free in the slot information for a unit.
+     *
+     * @param unit     The unit
+     * @param location The location index
+     * @param slot     The slot that has been emptied
+     */
+    public static void slotCleared(Entity unit, int location, int slot) {
+        final CriticalSlotIndex index = find(unit);
+        if (null != index) {
+            index.setFree(location, slot, true);
+        }
+    }
+
+    /**
+     * Marks a slot as occupied in the slot information for a unit.
+     *
+     * @param unit     The unit
+     * @param location The location index
+     * @param slot     The slot that has been filled
+     */
+    public static void slotFilled(Entity unit, int location, int slot) {
+        final CriticalSlotIndex index = find(unit);
+        if (null != index) {
+            index.setFree(location, slot, false);
+        }
+    }
+
+    /**
+     * Updates the slot information for a location after equipment has been added to it without
+     * knowing which slots it took. Only the slots that were free are read again.
+     *
+     * @param unit     The unit
+     * @param location The location that has had slots filled
+     */
+    public static void slotsFilled(Entity unit, int location) {
+        final CriticalSlotIndex index = find(unit);
+        if (null != index) {
+            index.recheckFree(location);
+        }
+    }
+
+    /**
+     * @param unit The unit
+     * @return     The slot index for the unit, or null if it has not been created
+     */
+    private static CriticalSlotIndex find(Entity unit) {
+        synchronized (indices) {
+            return indices.get(new UnitKey(unit, null));
+        }
+    }
+
+    /**
+     * Removes the indices of units that are no longer used. This must be called while holding the
+     * lock on the map.
+     */
+    private static void expungeDiscarded() {
+        for (Reference<? extends Entity> ref = discarded.poll(); null != ref; ref = discarded.poll()) {
+            indices.remove(ref);
+        }
+    }
+
+    private CriticalSlotIndex(Entity unit) {
+        this.unit = new UnitKey(unit, discarded);
+        free = new BitSet[unit.locations()];
+        longestRun = new int[unit.locations()];
+    }
+
+    /**
+     * @param location The location index
+     * @return         The number of free slots in the location
+     */
+    public synchronized int getFreeSlots(int location) {
+        final BitSet bits = getLocation(location);
+        return (null == bits) ? 0 : bits.cardinality();
+    }
+
+    /**
+     * @param location The location index
+     * @return         The largest number of consecutive free slots in the location
+     */
+    public synchronized int getLongestFreeRun(int location) {
+        return (null == getLocation(location)) ? 0 : longestRun[location];
+    }
+
+    /**
+     * @param location     The location index
+     * @param startingSlot The first slot of the run
+     * @return             The number of consecutive free slots starting at the given slot
+     */
+    public synchronized int getFreeRun(int location, int startingSlot) {
+        final BitSet bits = getLocation(location);
+        if ((null == bits) || (startingSlot < 0) || !bits.get(startingSlot)) {
+            return 0;
+        }
+        return bits.nextClearBit(startingSlot) - startingSlot;
+    }
+
+    /**
+     * @param location The location index
+     * @param slot     The slot index
+     * @return         Whether the slot is free
+     */
+    public synchronized boolean isFree(int location, int slot) {
+        final BitSet bits = getLocation(location);
+        return (null != bits) && (slot >= 0) && bits.get(slot);
+    }
+
+    private synchronized void invalidate(int location) {
+        if ((location >= 0) && (location < free.length)) {
+            free[location] = null;
+        }
+    }
+
+    private synchronized void setFree(int location, int slot, boolean isFree) {
+        if ((location < 0) || (location >= free.length) || (null == free[location]) || (slot < 0)) {
+            return;
+        }
+        free[location].set(slot, isFree);
+        updateLongestRun(location);
+    }
+
+    private synchronized void recheckFree(int location) {
+        if ((location < 0) || (location >= free.length) || (null == free[location])) {
+            return;
+        }
+        final Entity unit = this.unit.get();
+        if (null == unit) {
+            return;
+        }
+        final BitSet bits = free[location];
+        for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+            if (null != unit.getCritical(location, slot)) {
+                bits.clear(slot);
+            }
+        }
+        updateLongestRun(location);
+    }
+
+    /**
+     * Reads the location from the unit if it has not been read since it last changed.
+     *
+     * @return The free slots in the location, or null if the location does not exist
+     */
+    private BitSet getLocation(int location) {
+        if ((location < 0) || (location >= free.length)) {
+            return null;
+        }
+        if (null == free[location]) {
+            final Entity unit = this.unit.get();
+            if (null == unit) {
+                return null;
+            }
+            final int slots = unit.getNumberOfCriticals(location);
+            final BitSet bits = new BitSet(slots);
+            for (int slot = 0; slot < slots; slot++) {
+                if (null == unit.getCritical(location, slot)) {
+                    bits.set(slot);
+                }
+            }
+            free[location] = bits;
+            updateLongestRun(location);
+        }
+        return free[location];
+    }
+
+    private void updateLongestRun(int location) {
+        final BitSet bits = free[location];
+        int longest = 0;
+        for (int start = bits.nextSetBit(0); start >= 0; ) {
+            final int end = bits.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = bits.nextSetBit(end);
+        }
+        longestRun[location] = longest;
+    }
+
+    /**
+     * Identifies a unit by instance, without keeping it from being discarded.
+     */
+    private static class UnitKey extends WeakReference<Entity> {
+        private final int hash;
+
+        UnitKey(Entity unit, ReferenceQueue<Entity> queue) {
+            super(unit, queue);
+            hash = System.identityHashCode(unit);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof UnitKey)) {
+                return false;
+            }
+            final Entity unit = get();
+            return (null != unit) && (unit == ((UnitKey) obj).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
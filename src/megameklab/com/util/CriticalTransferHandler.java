@@ -80,6 +80,7 @@ public class CriticalTransferHandler extends TransferHandler {
                     JOptionPane.showMessageDialog(null, "Location Full",
                             "Location Full", JOptionPane.INFORMATION_MESSAGE);
                 } else {
+                    CriticalSlotIndex.invalidate(getUnit(), location);
                     changeMountStatus(mount, location, false);
                 }
             } catch (Exception ex) {
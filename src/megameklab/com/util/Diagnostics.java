@@ -0,0 +1,369 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import megameklab.com.MegaMekLab;
+import megameklab.com.printing.EmbeddedImageCache;
+import megameklab.com.printing.PipLayoutCache;
+import megameklab.com.printing.RecordSheetTemplateCache;
+
+/**
+ * Process-wide performance counters. Hot paths record how long they took under a name, and the
+ * durations for each name are collected into a {@link Timer} with a histogram. Counters track how
+ * often something happened, and gauges read values such as cache hit counts when a snapshot is
+ * taken.
+ *
+ * <p>Recording a duration is cheap enough to leave in place all the time. The values can be viewed
+ * from the Diagnostics item of the help menu, and are written to a JSON file on exit if the
+ * {@link #PROPERTY_DUMP_FILE} system property names one.</p>
+ */
+public class Diagnostics {
+
+    /** System property that names a file to write the diagnostics to when the application exits */
+    public static final String PROPERTY_DUMP_FILE = "megameklab.diagnostics.file";
+
+    private static final Diagnostics instance = new Diagnostics();
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * @return The shared diagnostics
+     */
+    public static Diagnostics getInstance() {
+        return instance;
+    }
+
+    Diagnostics() {
+        addGauge("cache.template.hits", () -> RecordSheetTemplateCache.getInstance().getHits());
+        addGauge("cache.template.misses", () -> RecordSheetTemplateCache.getInstance().getMisses());
+        addGauge("cache.diagram.hits", () -> SVGDiagramCache.getInstance().getHits());
+        addGauge("cache.diagram.misses", () -> SVGDiagramCache.getInstance().getMisses());
+        addGauge("cache.pipLayout.hits", () -> PipLayoutCache.getInstance().getHits());
+        addGauge("cache.pipLayout.misses", () -> PipLayoutCache.getInstance().getMisses());
+        addGauge("cache.image.hits", () -> EmbeddedImageCache.getInstance().getHits());
+        addGauge("cache.image.misses", () -> EmbeddedImageCache.getInstance().getMisses());
+        addGauge("cache.entityEquipment.hits", () -> EquipmentCatalog.getInstance().getHits());
+        addGauge("cache.entityEquipment.misses", () -> EquipmentCatalog.getInstance().getMisses());
+        addGauge("cache.locationValidity.hits", () -> LocationValidityCache.getInstance().getHits());
+        addGauge("cache.locationValidity.misses", () -> LocationValidityCache.getInstance().getMisses());
+        addGauge("memory.usedKB", () -> (Runtime.getRuntime().totalMemory()
+                - Runtime.getRuntime().freeMemory()) / 1024);
+    }
+
+    /**
+     * Records the time since the start of an operation.
+     *
+     * @param name      The name of the timer
+     * @param startTime The value of {@link System#nanoTime()} when the operation started
+     */
+    public void record(String name, long startTime) {
+        getTimer(name).add(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Adds one to a counter.
+     *
+     * @param name The name of the counter
+     */
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param name  The name of the counter
+     * @param delta The amount to add
+     */
+    public void add(String name, long delta) {
+        counters.computeIfAbsent(name, n -> new AtomicLong()).addAndGet(delta);
+    }
+
+    /**
+     * Adds a value that is read whenever the diagnostics are displayed or written.
+     *
+     * @param name  The name of the gauge
+     * @param value Supplies the current value
+     */
+    public void addGauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * @param name The name of the timer
+     * @return     The timer with the given name, which is created if it does not exist
+     */
+    public Timer getTimer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    /**
+     * @return The timers, sorted by name
+     */
+    public List<Timer> getTimers() {
+        List<Timer> list = new ArrayList<>(timers.values());
+        list.sort((t1, t2) -> t1.getName().compareTo(t2.getName()));
+        return list;
+    }
+
+    /**
+     * @return The current values of the counters and gauges, sorted by name
+     */
+    public Map<String, Long> getValues() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, value) -> values.put(name, value.get()));
+        gauges.forEach((name, value) -> {
+            try {
+                values.put(name, value.getAsLong());
+            } catch (RuntimeException ex) {
+                // A gauge for something that failed to initialize has no value
+            }
+        });
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Discards all recorded durations and counts. Gauges are not affected.
+     */
+    public void reset() {
+        timers.clear();
+        counters.clear();
+    }
+
+    /**
+     * @return The timers, counters and gauges as a JSON object
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"version\": ").append(quote(MegaMekLab.VERSION)).append(",\n  \"timers\": {");
+        String separator = "\n";
+        for (Timer timer : getTimers()) {
+            sb.append(separator).append("    ").append(quote(timer.getName())).append(": ");
+            timer.appendJson(sb);
+            separator = ",\n";
+        }
+        sb.append("\n  },\n  \"values\": {");
+        separator = "\n";
+        for (Map.Entry<String, Long> entry : getValues().entrySet()) {
+            sb.append(separator).append("    ").append(quote(entry.getKey())).append(": ")
+                    .append(entry.getValue());
+            separator = ",\n";
+        }
+        sb.append("\n  }\n}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Writes the diagnostics as JSON.
+     *
+     * @param file The file to write
+     * @throws IOException If the file could not be written
+     */
+    public void write(File file) throws IOException {
+        try (Writer w = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            w.write(toJson());
+        }
+    }
+
+    /**
+     * Arranges for the diagnostics to be written when the application exits, if the
+     * {@link #PROPERTY_DUMP_FILE} system property is set.
+     */
+    public static void installShutdownHook() {
+        final String fileName = System.getProperty(PROPERTY_DUMP_FILE);
+        if ((null == fileName) || fileName.trim().isEmpty()) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                getInstance().write(new File(fileName.trim()));
+            } catch (IOException ex) {
+                MegaMekLab.getLogger().error(Diagnostics.class, "installShutdownHook()", ex);
+            }
+        }, "Diagnostics dump"));
+    }
+
+    private static String quote(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if ((c == '"') || (c == '\\')) {
+                sb.append('\\').append(c);
+            } else if (c < ' ') {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * The durations recorded under one name. The histogram has one bucket for each power of two
+     * microseconds, so bucket n counts durations of at least 2<sup>n-1</sup> and less than
+     * 2<sup>n</sup> microseconds, with bucket 0 for anything under a microsecond and the last
+     * bucket for anything longer.
+     */
+    public static class Timer {
+
+        /** The number of histogram buckets. The last covers durations of about 1.1 minutes and up. */
+        public static final int BUCKETS = 28;
+
+        private final String name;
+        private final long[] histogram = new long[BUCKETS];
+        private long count;
+        private long total;
+        private long min = Long.MAX_VALUE;
+        private long max;
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        synchronized void add(long nanos) {
+            count++;
+            total += nanos;
+            min = Math.min(min, nanos);
+            max = Math.max(max, nanos);
+            histogram[getBucket(nanos)]++;
+        }
+
+        static int getBucket(long nanos) {
+            final long micros = nanos / 1000;
+            return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        }
+
+        /**
+         * @param bucket The index of a histogram bucket
+         * @return       The longest duration in the bucket in microseconds, or
+         *               {@link Long#MAX_VALUE} for the last bucket
+         */
+        public static long getBucketLimit(int bucket) {
+            return (bucket < BUCKETS - 1) ? (1L << bucket) : Long.MAX_VALUE;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The total of the recorded durations, in milliseconds
+         */
+        public synchronized double getTotalMillis() {
+            return total / 1e6;
+        }
+
+        /**
+         * @return The average duration, in milliseconds
+         */
+        public synchronized double getMeanMillis() {
+            return (count > 0) ? total / 1e6 / count : 0;
+        }
+
+        /**
+         * @return The shortest duration, in milliseconds
+         */
+        public synchronized double getMinMillis() {
+            return (count > 0) ? min / 1e6 : 0;
+        }
+
+        /**
+         * @return The longest duration, in milliseconds
+         */
+        public synchronized double getMaxMillis() {
+            return max / 1e6;
+        }
+
+        /**
+         * Estimates a percentile from the histogram.
+         *
+         * @param fraction The percentile as a fraction between 0 and 1
+         * @return         The upper limit of the bucket containing the percentile, in milliseconds
+         */
+        public synchronized double getPercentileMillis(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            final long target = (long) Math.ceil(count * fraction);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram[i];
+                if (seen >= Math.max(1, target)) {
+                    return Math.min(getMaxMillis(), getBucketLimit(i) / 1e3);
+                }
+            }
+            return getMaxMillis();
+        }
+
+        /**
+         * @return A copy of the histogram counts
+         */
+        public synchronized long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        synchronized void appendJson(StringBuilder sb) {
+            sb.append("{\"count\": ").append(count)
+                    .append(", \"totalMs\": ").append(format(getTotalMillis()))
+                    .append(", \"meanMs\": ").append(format(getMeanMillis()))
+                    .append(", \"minMs\": ").append(format(getMinMillis()))
+                    .append(", \"maxMs\": ").append(format(getMaxMillis()))
+                    .append(", \"p50Ms\": ").append(format(getPercentileMillis(0.5)))
+                    .append(", \"p95Ms\": ").append(format(getPercentileMillis(0.95)))
+                    .append(", \"histogramUs\": {");
+            String separator = "";
+            for (int i = 0; i < BUCKETS; i++) {
+                if (histogram[i] > 0) {
+                    sb.append(separator).append('"')
+                            .append((i < BUCKETS - 1) ? "<" + getBucketLimit(i) : ">=" + getBucketLimit(i - 1))
+                            .append("\": ").append(histogram[i]);
+                    separator = ", ";
+                }
+            }
+            sb.append("}}");
+        }
+
+        private static String format(double millis) {
+            return String.format(Locale.US, "%.3f", millis);
+        }
+
+        @Override
+        public synchronized String toString() {
+            return name + ": " + count + " in " + TimeUnit.NANOSECONDS.toMillis(total) + " ms";
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.MiscType;
+import megamek.common.WeaponType;
+import megamek.common.weapons.infantry.InfantryWeapon;
+
+/**
+ * Process-wide index of the equipment types, built once after the types have been initialized.
+ * The types are held in the order of {@link EquipmentType#getAllTypes()} and are partitioned by
+ * class so that views which only offer part of the equipment do not need to walk the full
+ * enumeration.
+ *
+ * <p>Whether a type can be mounted on a unit depends on the unit's configuration as well as its
+ * type (the weight of some weapons depends on the unit, for example), so applicability is
+ * calculated once for each distinct configuration and kept as a bit set over the catalog. Units
+ * that share a configuration share the same result.</p>
+ */
+public class EquipmentCatalog {
+
+    /** The maximum number of unit configurations to keep applicability results for */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final EquipmentCatalog instance = new EquipmentCatalog(DEFAULT_CAPACITY);
+
+    private List<EquipmentType> allTypes;
+    private List<EquipmentType> weapons;
+    private List<EquipmentType> misc;
+    private List<EquipmentType> infantryWeapons;
+    private Map<EquipmentType, Integer> indices;
+
+    private final Map<String, BitSet> applicable;
+    private final Object searchIndexLock = new Object();
+    private volatile EquipmentSearchIndex searchIndex;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * @return The shared equipment catalog
+     */
+    public static EquipmentCatalog getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param capacity The maximum number of unit configurations to hold applicability results for
+     *                 before evicting the least recently used one.
+     */
+    EquipmentCatalog(final int capacity) {
+        applicable = new LinkedHashMap<String, BitSet>(capacity + 1, 0.75f, true) {
+            private static final long serialVersionUID = 3376921405728140683L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BitSet> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Builds the index if it has not already been built. This is called at startup, after the
+     * equipment types have been initialized; otherwise the index is built on first use.
+     */
+    public synchronized void initialize() {
+        if (null != allTypes) {
+            return;
+        }
+        List<EquipmentType> all = new ArrayList<>();
+        List<EquipmentType> weaponList = new ArrayList<>();
+        List<EquipmentType> miscList = new ArrayList<>();
+        List<EquipmentType> infantryList = new ArrayList<>();
+        Map<EquipmentType, Integer> indexMap = new IdentityHashMap<>();
+        for (Enumeration<EquipmentType> e = EquipmentType.getAllTypes(); e.hasMoreElements(); ) {
+            final EquipmentType eq = e.nextElement();
+            indexMap.put(eq, all.size());
+            all.add(eq);
+            if (eq instanceof WeaponType) {
+                weaponList.add(eq);
+                if (eq instanceof InfantryWeapon) {
+                    infantryList.add(eq);
+                }
+            } else if (eq instanceof MiscType) {
+                miscList.add(eq);
+            }
+        }
+        weapons = Collections.unmodifiableList(weaponList);
+        misc = Collections.unmodifiableList(miscList);
+        infantryWeapons = Collections.unmodifiableList(infantryList);
+        indices = indexMap;
+        allTypes = Collections.unmodifiableList(all);
+    }
+
+    /**
+     * @return All equipment types, in the order they are enumerated by {@link EquipmentType}
+     */
+    public synchronized List<EquipmentType> getAllTypes() {
+        initialize();
+        return allTypes;
+    }
+
+    /**
+     * @return All weapon types, including infantry weapons
+     */
+    public synchronized List<EquipmentType> getWeapons() {
+        initialize();
+        return weapons;
+    }
+
+    /**
+     * @return All miscellaneous equipment types
+     */
+    public synchronized List<EquipmentType> getMisc() {
+        initialize();
+        return misc;
+    }
+
+    /**
+     * @return All conventional infantry weapon types
+     */
+    public synchronized List<EquipmentType> getInfantryWeapons() {
+        initialize();
+        return infantryWeapons;
+    }
+
+    /**
+     * Provides the name search index for {@link #getAllTypes()}, building it on first use. Building
+     * the index takes a noticeable time, so the first call should not be made on the event
+     * dispatch thread.
+     *
+     * @return The search index, whose positions are the positions in {@link #getAllTypes()}
+     */
+    public EquipmentSearchIndex getSearchIndex() {
+        EquipmentSearchIndex index = searchIndex;
+        if (null == index) {
+            synchronized (searchIndexLock) {
+                if (null == searchIndex) {
+                    searchIndex = new EquipmentSearchIndex(getAllTypes());
+                }
+                index = searchIndex;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Checks whether a type can be mounted on a unit. This gives the same result as
+     * {@link UnitUtil#isEntityEquipment(EquipmentType, Entity)}, but the check is only made once
+     * for each type and unit configuration.
+     *
+     * @param eq     The equipment type
+     * @param entity The unit
+     * @return       Whether the equipment can be mounted on the unit
+     */
+    public boolean isEntityEquipment(EquipmentType eq, Entity entity) {
+        final BitSet bits;
+        final Integer index;
+        synchronized (this) {
+            index = getIndex(eq);
+            if (null == index) {
+                return UnitUtil.isEntityEquipment(eq, entity);
+            }
+            bits = getApplicable(entity);
+        }
+        return bits.get(index);
+    }
+
+    /**
+     * @param eq An equipment type
+     * @return   The position of the type in {@link #getAllTypes()}, or null if it is not in the
+     *           catalog
+     */
+    public synchronized Integer getIndex(EquipmentType eq) {
+        initialize();
+        return indices.get(eq);
+    }
+
+    /**
+     * @return The number of applicability checks that were satisfied from the cache
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of applicability checks that required classifying the full catalog
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of unit configurations currently held in the cache
+     */
+    public synchronized int size() {
+        return applicable.size();
+    }
+
+    /**
+     * Removes all applicability results and resets the counters. The index itself is kept.
+     */
+    public synchronized void clear() {
+        applicable.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    private BitSet getApplicable(Entity entity) {
+        initialize();
+        final String key = getConfigurationKey(entity);
+        BitSet bits = applicable.get(key);
+        if (null != bits) {
+            hits++;
+            return bits;
+        }
+        misses++;
+        bits = new BitSet(allTypes.size());
+        for (int i = 0; i < allTypes.size(); i++) {
+            if (UnitUtil.isEntityEquipment(allTypes.get(i), entity)) {
+                bits.set(i);
+            }
+        }
+        applicable.put(key, bits);
+        return bits;
+    }
+
+    /**
+     * Describes the parts of a unit that {@link UnitUtil#isEntityEquipment(EquipmentType, Entity)}
+     * depends on. Units with the same key accept the same equipment.
+     *
+     * @param entity The unit
+     * @return       A key that identifies the unit's configuration
+     */
+    public static String getConfigurationKey(Entity entity) {
+        return entity.getClass().getName()
+                + "|" + entity.getEntityType()
+                + "|" + entity.isSupportVehicle()
+                + "|" + entity.isSuperHeavy()
+                + "|" + entity.getWeightClass()
+                + "|" + entity.getWeight();
+    }
+}
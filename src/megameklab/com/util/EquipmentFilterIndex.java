@@ -0,0 +1,164 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+import megamek.common.Entity;
+import megamek.common.EquipmentType;
+import megamek.common.ITechManager;
+
+/**
+ * Row sets over an {@link EquipmentTableModel} that a table row filter can combine instead of
+ * testing every row against the unit and tech settings each time the filter changes. Each set has
+ * one bit per model row and is kept until something it depends on changes:
+ * <ul>
+ * <li>The rows that can be mounted on the unit depend on the unit's configuration.</li>
+ * <li>The rows that are legal depend on the tech settings and the unit's configuration.</li>
+ * <li>The rows in a category depend on the unit's configuration, and may also depend on the
+ * current loadout, in which case the caller invalidates the category when the loadout changes.</li>
+ * </ul>
+ *
+ * <p>This is not thread safe and is meant to be used on the event dispatch thread.</p>
+ */
+public class EquipmentFilterIndex {
+
+    private final EquipmentTableModel model;
+
+    private List<EquipmentType> indexedData;
+
+    private String applicableKey;
+    private BitSet applicable;
+    private String legalKey;
+    private BitSet legal;
+    private String categoryKey;
+    private final Map<Object, BitSet> categories = new HashMap<>();
+
+    /**
+     * @param model The table model whose rows are indexed
+     */
+    public EquipmentFilterIndex(EquipmentTableModel model) {
+        this.model = model;
+    }
+
+    /**
+     * @param entity The unit
+     * @return       The rows that can be mounted on the unit. The returned set must not be modified.
+     */
+    public BitSet getApplicable(Entity entity) {
+        checkData();
+        final String key = EquipmentCatalog.getConfigurationKey(entity);
+        if ((null == applicable) || !key.equals(applicableKey)) {
+            applicable = new BitSet(indexedData.size());
+            for (int i = 0; i < indexedData.size(); i++) {
+                if (EquipmentCatalog.getInstance().isEntityEquipment(indexedData.get(i), entity)) {
+                    applicable.set(i);
+                }
+            }
+            applicableKey = key;
+        }
+        return applicable;
+    }
+
+    /**
+     * @param entity      The unit
+     * @param techManager The tech settings for the unit
+     * @return            The rows that are legal under the current tech settings. The returned set
+     *                    must not be modified.
+     */
+    public BitSet getLegal(Entity entity, ITechManager techManager) {
+        checkData();
+        final String key = EquipmentCatalog.getConfigurationKey(entity) + "|" + getTechKey(techManager);
+        if ((null == legal) || !key.equals(legalKey)) {
+            legal = new BitSet(indexedData.size());
+            for (int i = 0; i < indexedData.size(); i++) {
+                if (techManager.isLegal(indexedData.get(i))) {
+                    legal.set(i);
+                }
+            }
+            legalKey = key;
+        }
+        return legal;
+    }
+
+    /**
+     * @param category Identifies the category
+     * @param entity   The unit
+     * @param filter   Tests whether an equipment type belongs to the category for the unit
+     * @return         The rows in the category. The returned set must not be modified.
+     */
+    public BitSet getCategory(Object category, Entity entity,
+            BiPredicate<EquipmentType, Entity> filter) {
+        checkData();
+        final String key = EquipmentCatalog.getConfigurationKey(entity);
+        if (!key.equals(categoryKey)) {
+            categories.clear();
+            categoryKey = key;
+        }
+        BitSet bits = categories.get(category);
+        if (null == bits) {
+            bits = new BitSet(indexedData.size());
+            for (int i = 0; i < indexedData.size(); i++) {
+                if (filter.test(indexedData.get(i), entity)) {
+                    bits.set(i);
+                }
+            }
+            categories.put(category, bits);
+        }
+        return bits;
+    }
+
+    /**
+     * Discards the rows calculated for a category, so they are calculated again the next time they
+     * are requested. This is used for categories that depend on the unit's current loadout.
+     *
+     * @param category Identifies the category
+     */
+    public void invalidateCategory(Object category) {
+        categories.remove(category);
+    }
+
+    /**
+     * Discards the row sets if the model has been given new data.
+     */
+    private void checkData() {
+        final List<EquipmentType> data = model.getData();
+        if (data == indexedData) {
+            return;
+        }
+        indexedData = data;
+        applicable = null;
+        legal = null;
+        categories.clear();
+    }
+
+    /**
+     * Describes the tech settings that {@link ITechManager#isLegal} depends on.
+     */
+    private static String getTechKey(ITechManager techManager) {
+        return techManager.getTechIntroYear()
+                + "|" + techManager.getGameYear()
+                + "|" + techManager.getTechFaction()
+                + "|" + techManager.useClanTechBase()
+                + "|" + techManager.useMixedTech()
+                + "|" + techManager.getTechLevel()
+                + "|" + techManager.unofficialNoYear()
+                + "|" + techManager.useVariableTechLevel()
+                + "|" + techManager.showExtinct();
+    }
+}
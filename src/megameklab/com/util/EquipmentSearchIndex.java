@@ -0,0 +1,198 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import megamek.common.EquipmentType;
+
+/**
+ * Trigram index over the names of a list of equipment types, used to answer free text searches.
+ * Each type is indexed by its name, short name, internal name and lookup names, with case,
+ * spaces and punctuation removed so that "LRM 20" and "lrm20" are the same.
+ *
+ * <p>A query is split into tokens on white space and a type matches if it matches every token. A
+ * token matches if it appears in any of the type's names. Tokens of {@link #MIN_FUZZY_LENGTH} or
+ * more characters also match names that share most of the token's trigrams, which allows for a
+ * mistyped or missing character. Short tokens such as "er" or "ml" are matched exactly.</p>
+ *
+ * <p>The index is immutable once built and can be queried from any thread.</p>
+ */
+public class EquipmentSearchIndex {
+
+    /** The shortest token that is also matched approximately */
+    public static final int MIN_FUZZY_LENGTH = 5;
+
+    /** The fraction of a token's trigrams a name must contain to be an approximate match */
+    public static final double FUZZY_THRESHOLD = 0.7;
+
+    // Separates the names of a type so that a match cannot span two of them
+    private static final char SEPARATOR = '\u0000';
+
+    private final int size;
+    private final String[] keys;
+    private final Map<String, BitSet> trigrams = new HashMap<>();
+
+    /**
+     * Builds the index. This reads every name of every type and should not be done on the event
+     * dispatch thread for the full equipment list.
+     *
+     * @param types The equipment types to index. Search results refer to positions in this list.
+     */
+    public EquipmentSearchIndex(List<EquipmentType> types) {
+        size = types.size();
+        keys = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = buildKey(types.get(i));
+            for (int j = 0; j + 3 <= keys[i].length(); j++) {
+                final String trigram = keys[i].substring(j, j + 3);
+                if (trigram.indexOf(SEPARATOR) < 0) {
+                    trigrams.computeIfAbsent(trigram, k -> new BitSet(size)).set(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of types in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the types that match all the tokens in a query.
+     *
+     * @param query The text to search for
+     * @return      The positions of the matching types in the indexed list. If the query contains
+     *              no searchable characters every type matches.
+     */
+    public BitSet search(String query) {
+        final BitSet result = new BitSet(size);
+        result.set(0, size);
+        for (String token : tokenize(query)) {
+            result.and(match(token));
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Splits a query into normalized tokens. Duplicate tokens are removed.
+     *
+     * @param query The text of the query
+     * @return      The tokens to match
+     */
+    public static List<String> tokenize(String query) {
+        final Set<String> tokens = new LinkedHashSet<>();
+        for (String part : query.trim().split("\\s+")) {
+            final String token = normalize(part);
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private BitSet match(String token) {
+        final BitSet matches = new BitSet(size);
+        if (token.length() < 3) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].contains(token)) {
+                    matches.set(i);
+                }
+            }
+            return matches;
+        }
+
+        // Every trigram must be present for an exact match, so intersect the postings to find
+        // the candidates and confirm them with a substring test.
+        final List<BitSet> postings = new ArrayList<>();
+        BitSet candidates = null;
+        for (int j = 0; j + 3 <= token.length(); j++) {
+            final BitSet posting = trigrams.get(token.substring(j, j + 3));
+            postings.add(posting);
+            if (null == posting) {
+                candidates = new BitSet();
+            } else if (null == candidates) {
+                candidates = (BitSet) posting.clone();
+            } else {
+                candidates.and(posting);
+            }
+        }
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (keys[i].contains(token)) {
+                matches.set(i);
+            }
+        }
+
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            final int required = (int) Math.ceil(postings.size() * FUZZY_THRESHOLD);
+            final int[] counts = new int[size];
+            for (BitSet posting : postings) {
+                if (null != posting) {
+                    for (int i = posting.nextSetBit(0); i >= 0; i = posting.nextSetBit(i + 1)) {
+                        if (++counts[i] == required) {
+                            matches.set(i);
+                        }
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static String buildKey(EquipmentType type) {
+        final Set<String> names = new LinkedHashSet<>();
+        addName(names, type.getName());
+        addName(names, type.getShortName());
+        addName(names, type.getInternalName());
+        for (Enumeration<String> e = type.getNames(); e.hasMoreElements(); ) {
+            addName(names, e.nextElement());
+        }
+        return String.join(String.valueOf(SEPARATOR), names);
+    }
+
+    private static void addName(Set<String> names, String name) {
+        if (null != name) {
+            final String normalized = normalize(name);
+            if (!normalized.isEmpty()) {
+                names.add(normalized);
+            }
+        }
+    }
+
+    /**
+     * Converts text to lower case and removes everything that is not a letter or a digit.
+     */
+    private static String normalize(String text) {
+        final StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+}
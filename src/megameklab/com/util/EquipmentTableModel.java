@@ -20,6 +20,7 @@ import java.awt.Color;
 import java.awt.Component;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.JTable;
 import javax.swing.SwingConstants;
@@ -81,9 +82,20 @@ public class EquipmentTableModel extends AbstractTableModel {
     public final static int COL_REF = 21;
     public final static int N_COL = 22;
 
-    private ArrayList<EquipmentType> data = new ArrayList<>();
+    private List<EquipmentType> data = new ArrayList<>();
     private Entity entity;
     final private ITechManager techManager;
+    private final DecimalFormat formatter = new DecimalFormat();
+
+    // Cell values and sort keys are calculated when first requested and kept until the data
+    // changes, the unit's weight or tech base changes, or the owner calls invalidate() after the
+    // unit has been edited.
+    private Object[][] values = new Object[0][];
+    private SortKey[][] sortKeys = new SortKey[0][];
+    private double cachedWeight;
+    private boolean cachedAero;
+    private boolean cachedClan;
+    private boolean cachedMixedTech;
 
     public EquipmentTableModel(Entity e, ITechManager techManager) {
         entity = e;
@@ -202,23 +214,180 @@ public class EquipmentTableModel extends AbstractTableModel {
         return data.get(i);
     }
 
+    /**
+     * @return The equipment types in the table, in model order
+     */
+    public List<EquipmentType> getData() {
+        return data;
+    }
+
     // fill table with values
-    public void setData(ArrayList<EquipmentType> equip) {
+    public void setData(List<EquipmentType> equip) {
         data = equip;
+        clearCache();
         fireTableDataChanged();
     }
 
+    /**
+     * Discards the cached cell values if the unit's weight, aerospace status, or tech base has
+     * changed since they were calculated.
+     */
+    private void checkCache() {
+        if ((values.length != data.size())
+                || (cachedWeight != entity.getWeight())
+                || (cachedAero != (entity instanceof Aero))
+                || (cachedClan != entity.isClan())
+                || (cachedMixedTech != entity.isMixedTech())) {
+            clearCache();
+        }
+    }
+
+    /**
+     * Discards the cached cell values and sort keys. The weight, cost, and slots of many equipment
+     * types depend on other parts of the unit, such as its engine or the weapons a targeting
+     * computer covers, so this should be called whenever the unit is refreshed.
+     */
+    public void invalidate() {
+        clearCache();
+        if (!data.isEmpty()) {
+            fireTableRowsUpdated(0, data.size() - 1);
+        }
+    }
+
+    private void clearCache() {
+        values = new Object[data.size()][];
+        sortKeys = new SortKey[data.size()][];
+        cachedWeight = entity.getWeight();
+        cachedAero = entity instanceof Aero;
+        cachedClan = entity.isClan();
+        cachedMixedTech = entity.isMixedTech();
+    }
+
     @Override
     public Object getValueAt(int row, int col) {
-        EquipmentType type;
-        WeaponType wtype = null;
-        AmmoType atype = null;
-        MiscType mtype = null;
         if (data.isEmpty()) {
             return "";
-        } else {
-            type = data.get(row);
         }
+        if (col == COL_TLEVEL) {
+            // Depends on the tech settings, which are cheaper to apply than to check for changes
+            return calculateValue(data.get(row), col);
+        }
+        checkCache();
+        if (null == values[row]) {
+            values[row] = new Object[N_COL];
+        }
+        Object value = values[row][col];
+        if (null == value) {
+            value = calculateValue(data.get(row), col);
+            values[row][col] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Provides the value used to sort a numeric column. Sorting on these values avoids parsing the
+     * formatted text shown in the table, and keeps entries with no value ("-") together after the
+     * entries that have one. Weapon statistics are ordered from highest to lowest, and cost and
+     * weight from lowest to highest.
+     *
+     * @param row The model row
+     * @param col The model column
+     * @return    The sort key, or null if the column is not sorted numerically
+     */
+    public SortKey getSortKey(int row, int col) {
+        if (!isNumericColumn(col) || data.isEmpty()) {
+            return null;
+        }
+        checkCache();
+        if (null == sortKeys[row]) {
+            sortKeys[row] = new SortKey[N_COL];
+        }
+        SortKey key = sortKeys[row][col];
+        if (null == key) {
+            key = calculateSortKey(data.get(row), col, String.valueOf(getValueAt(row, col)));
+            sortKeys[row][col] = key;
+        }
+        return key;
+    }
+
+    /**
+     * @param col The model column
+     * @return    Whether the column is sorted by {@link #getSortKey(int, int)}
+     */
+    public static boolean isNumericColumn(int col) {
+        switch (col) {
+            case COL_DAMAGE:
+            case COL_DIVISOR:
+            case COL_HEAT:
+            case COL_MRANGE:
+            case COL_RANGE:
+            case COL_COST:
+            case COL_TON:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private SortKey calculateSortKey(EquipmentType type, int col, String display) {
+        if (display.equals("-")) {
+            return SortKey.NONE;
+        }
+        switch (col) {
+            case COL_DAMAGE:
+                if (display.equals("Special")) {
+                    return new SortKey(1);
+                } else if (display.equals("Cluster")) {
+                    return new SortKey(2);
+                } else if (type instanceof InfantryWeapon) {
+                    return new SortKey(0, -((InfantryWeapon) type).getInfantryDamage());
+                }
+                return new SortKey(0, -leadingNumber(display));
+            case COL_DIVISOR:
+                // Encumbering kits sort below non-encumbering kits with the same divisor
+                return new SortKey(0, -((MiscType) type).getDamageDivisor(),
+                        display.endsWith("E") ? 1 : 0);
+            case COL_HEAT:
+            case COL_MRANGE:
+                return new SortKey(0, -leadingNumber(display));
+            case COL_RANGE:
+                WeaponType wtype = (WeaponType) type;
+                if (entity instanceof Aero) {
+                    return new SortKey(0, -wtype.maxRange);
+                } else if (wtype instanceof InfantryWeapon) {
+                    return new SortKey(0, -((InfantryWeapon) wtype).getInfantryRange());
+                }
+                return new SortKey(0, -wtype.getShortRange(), -wtype.getMediumRange(),
+                        -wtype.getLongRange());
+            case COL_COST:
+                return new SortKey(0, type.getCost(entity, false, Entity.LOC_NONE));
+            case COL_TON:
+                if ((type instanceof AmmoType) && (entity.hasETypeFlag(Entity.ETYPE_BATTLEARMOR)
+                        || entity.hasETypeFlag(Entity.ETYPE_PROTOMECH))) {
+                    return new SortKey(0, ((AmmoType) type).getKgPerShot() / 1000.0);
+                }
+                return new SortKey(0, type.getTonnage(entity));
+            default:
+                return SortKey.NONE;
+        }
+    }
+
+    /**
+     * @return The value of the digits at the start of the text, or zero if it does not start with
+     *         a digit
+     */
+    private static double leadingNumber(String text) {
+        int value = 0;
+        for (int i = 0; (i < text.length()) && Character.isDigit(text.charAt(i)); i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private Object calculateValue(EquipmentType type, int col) {
+        WeaponType wtype = null;
+        AmmoType atype = null;
+        MiscType mtype = null;
         if (type instanceof WeaponType) {
             wtype = (WeaponType) type;
         }
@@ -228,8 +397,6 @@ public class EquipmentTableModel extends AbstractTableModel {
         if (type instanceof MiscType) {
             mtype = (MiscType) type;
         }
-        DecimalFormat formatter = new DecimalFormat();
-
         if (col == COL_NAME) {
             return UnitUtil.trimInfantryWeaponNames(type.getName());
         } else if (col == COL_DAMAGE) {
@@ -249,56 +416,56 @@ public class EquipmentTableModel extends AbstractTableModel {
                 return "-";
             }
         } else if (col == COL_SPECIAL) {
-            String special = "";
+            StringBuilder special = new StringBuilder();
             if (type instanceof InfantryWeapon) {
                 if (type.hasFlag(WeaponType.F_INF_POINT_BLANK)) {
-                    special += "(P)";
+                    special.append("(P)");
                 }
                 if (type.hasFlag(WeaponType.F_INF_AA)) {
-                    special += "A";
+                    special.append("A");
                 }
                 if (type.hasFlag(WeaponType.F_INF_BURST)) {
-                    special += "B";
+                    special.append("B");
                 }
                 if (type.hasFlag(WeaponType.F_INF_NONPENETRATING)) {
-                    special += "N";
+                    special.append("N");
                 }
                 if (type.hasFlag(WeaponType.F_PLASMA)
                         || type.hasFlag(WeaponType.F_INCENDIARY_NEEDLES)
                         || type.hasFlag(WeaponType.F_INFERNO)) {
-                    special += "F";
+                    special.append("F");
                 }
             }
             if (type.hasFlag(MiscType.F_ARMOR_KIT)) {
                 if ((type.getSubType() & MiscType.S_DEST) != 0) {
-                    special += "DEST ";
+                    special.append("DEST ");
                 }
                 if ((type.getSubType() & MiscType.S_SNEAK_CAMO) != 0) {
-                    special += "Camo ";
+                    special.append("Camo ");
                 }
                 if ((type.getSubType() & MiscType.S_SNEAK_IR) != 0) {
-                    special += "IR ";
+                    special.append("IR ");
                 }
                 if ((type.getSubType() & MiscType.S_SNEAK_ECM) != 0) {
-                    special += "ECM ";
+                    special.append("ECM ");
                 }
                 if ((type.getSubType() & MiscType.S_SPACE_SUIT) != 0) {
-                    special += "SPC ";
+                    special.append("SPC ");
                 }
             }
-            return special;
+            return special.toString();
         } else if (col == COL_CREW) {
-            String special = "";
+            StringBuilder special = new StringBuilder();
             if (type instanceof InfantryWeapon) {
-                special += Integer.toString(((InfantryWeapon) type).getCrew());
+                special.append(((InfantryWeapon) type).getCrew());
                 if (type.hasFlag(WeaponType.F_INF_ENCUMBER)) {
-                    special += "E";
+                    special.append("E");
                 }
             } else if (type instanceof WeaponType) {
                 // Field gun crew size
-                special += Math.max(2, (int)Math.ceil(type.getTonnage(entity))); 
+                special.append(Math.max(2, (int)Math.ceil(type.getTonnage(entity)))); 
             }
-            return special;
+            return special.toString();
         } else if (col == COL_HEAT) {
             int heat = type.getHeat();
             if ((null != wtype) && (entity instanceof Aero)) {
@@ -354,10 +521,12 @@ public class EquipmentTableModel extends AbstractTableModel {
             if ((atype != null) && (entity.hasETypeFlag(Entity.ETYPE_BATTLEARMOR)
                     || entity.hasETypeFlag(Entity.ETYPE_PROTOMECH))) {
                 return atype.getKgPerShot() + " kg/shot";
-            } else if (type.getTonnage(entity) < 0.1) {
-                return String.format("%.2f kg", type.getTonnage(entity) * 1000);
+            }
+            final double tonnage = type.getTonnage(entity);
+            if (tonnage < 0.1) {
+                return String.format("%.2f kg", tonnage * 1000);
             } else {
-                return String.valueOf(type.getTonnage(entity));
+                return String.valueOf(tonnage);
             }
         } else if (col == COL_CRIT) {
             if (entity.isSupportVehicle()) {
@@ -486,6 +655,37 @@ public class EquipmentTableModel extends AbstractTableModel {
         }
     }
 
+    /**
+     * A value used to sort a numeric column. Keys are ordered by group and then by their values in
+     * turn, with lower values first.
+     */
+    public static final class SortKey implements Comparable<SortKey> {
+        /** The key for a cell with no value, which sorts after every other cell */
+        static final SortKey NONE = new SortKey(Integer.MAX_VALUE);
+
+        private final int group;
+        private final double[] values;
+
+        SortKey(int group, double... values) {
+            this.group = group;
+            this.values = values;
+        }
+
+        @Override
+        public int compareTo(SortKey other) {
+            if (group != other.group) {
+                return Integer.compare(group, other.group);
+            }
+            for (int i = 0; (i < values.length) && (i < other.values.length); i++) {
+                final int compare = Double.compare(values[i], other.values[i]);
+                if (compare != 0) {
+                    return compare;
+                }
+            }
+            return Integer.compare(values.length, other.values.length);
+        }
+    }
+
     public EquipmentTableModel.Renderer getRenderer() {
         return new EquipmentTableModel.Renderer();
     }
@@ -0,0 +1,76 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.Comparator;
+
+import javax.swing.table.TableRowSorter;
+
+/**
+ * Sorts an {@link EquipmentTableModel}, comparing the numeric columns by the values from
+ * {@link EquipmentTableModel#getSortKey(int, int)} rather than by the formatted text shown in the
+ * table. Other columns are sorted by their text, as with a standard {@link TableRowSorter}.
+ */
+public class EquipmentTableRowSorter extends TableRowSorter<EquipmentTableModel> {
+
+    /**
+     * @param model The table model to sort
+     */
+    public EquipmentTableRowSorter(EquipmentTableModel model) {
+        super(model);
+        setModelWrapper(new SortKeyModelWrapper(model));
+        for (int col = 0; col < EquipmentTableModel.N_COL; col++) {
+            if (EquipmentTableModel.isNumericColumn(col)) {
+                setComparator(col, Comparator.<EquipmentTableModel.SortKey>naturalOrder());
+            }
+        }
+    }
+
+    /**
+     * Supplies the sort key for numeric columns and the cell value for the others.
+     */
+    private static class SortKeyModelWrapper extends ModelWrapper<EquipmentTableModel, Integer> {
+        private final EquipmentTableModel model;
+
+        SortKeyModelWrapper(EquipmentTableModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public EquipmentTableModel getModel() {
+            return model;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return model.getColumnCount();
+        }
+
+        @Override
+        public int getRowCount() {
+            return model.getRowCount();
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            final Object key = model.getSortKey(row, column);
+            return (null != key) ? key : model.getValueAt(row, column);
+        }
+
+        @Override
+        public Integer getIdentifier(int row) {
+            return row;
+        }
+    }
+}
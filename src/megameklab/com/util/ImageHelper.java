@@ -27,10 +27,6 @@ import java.awt.font.TextAttribute;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,7 +36,6 @@ import java.util.Vector;
 import javax.swing.ImageIcon;
 
 import com.kitfox.svg.SVGDiagram;
-import com.kitfox.svg.SVGUniverse;
 
 import megamek.common.Aero;
 import megamek.common.AmmoType;
@@ -1329,14 +1324,26 @@ public class ImageHelper {
         g2d.drawString(fuelAmount, pointX, pointY);
     }
 
+    /**
+     * Loads a diagram from the shared cache. The diagram is shared with other callers and must not
+     * be modified; use {@link #loadEditableSVGImage(File)} for diagrams that will be changed before
+     * rendering.
+     *
+     * @param file The SVG file
+     * @return     The diagram, or null if the file could not be read
+     */
     public static SVGDiagram loadSVGImage(File file) {
-        SVGUniverse universe = new SVGUniverse(); // Can be static final ...
-        try (InputStream fileStream = new FileInputStream(file)) {
-            URI svgFile = universe.loadSVG(fileStream, file.toString());
-            return universe.getDiagram(svgFile);
-        } catch (IOException e) {
-            return null;
-        }
+        return SVGDiagramCache.getInstance().getDiagram(file);
+    }
+
+    /**
+     * Parses a diagram that the caller is free to modify.
+     *
+     * @param file The SVG file
+     * @return     The diagram, or null if the file could not be read
+     */
+    public static SVGDiagram loadEditableSVGImage(File file) {
+        return SVGDiagramCache.parse(file);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import megamek.common.Entity;
+import megamek.common.EntityMovementMode;
+import megamek.common.EquipmentType;
+import megamek.common.Mech;
+import megamek.common.Protomech;
+
+/**
+ * Process-wide cache of the locations each piece of equipment may be mounted in. Whether a
+ * location is valid depends only on the equipment and on the parts of the unit's configuration
+ * that the placement rules look at: the kind of unit, its motive type, omni status, cockpit type
+ * and so on. The valid locations are worked out once for each combination and stored as a bitmask,
+ * so repeated checks while the build views refresh or equipment is dragged are a lookup.
+ *
+ * <p>Changing one of the properties in the configuration makes the unit match a different entry,
+ * so nothing has to be invalidated when a unit is edited. Entries for configurations that are no
+ * longer used are evicted when the cache is full.</p>
+ */
+public class LocationValidityCache {
+
+    /** The maximum number of unit configurations to keep valid locations for */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final LocationValidityCache instance = new LocationValidityCache(DEFAULT_CAPACITY);
+
+    private final Map<Configuration, Map<EquipmentType, Long>> configurations;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @return The shared validity cache
+     */
+    public static LocationValidityCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param capacity The maximum number of unit configurations to hold before evicting the least
+     *                 recently used one.
+     */
+    LocationValidityCache(final int capacity) {
+        configurations = new LinkedHashMap<Configuration, Map<EquipmentType, Long>>(capacity + 1, 0.75f, true) {
+            private static final long serialVersionUID = -5026473367183853604L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Configuration, Map<EquipmentType, Long>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @param unit     The unit
+     * @param eq       The equipment
+     * @param location The location index
+     * @return         Whether the equipment may be mounted in the location
+     */
+    public boolean isValidLocation(Entity unit, EquipmentType eq, int location) {
+        if ((location < 0) || (location >= Math.min(Long.SIZE, unit.locations()))) {
+            // Not a location that can be held in the mask
+            return UnitUtil.computeValidLocation(unit, eq, location);
+        }
+        return (getValidLocations(unit, eq) & (1L << location)) != 0;
+    }
+
+    /**
+     * @param unit The unit
+     * @param eq   The equipment
+     * @return     A mask with a bit set for each location the equipment may be mounted in
+     */
+    public long getValidLocations(Entity unit, EquipmentType eq) {
+        final Configuration key = new Configuration(unit);
+        Long mask;
+        synchronized (configurations) {
+            Map<EquipmentType, Long> masks = configurations.get(key);
+            mask = (null == masks) ? null : masks.get(eq);
+        }
+        if (null != mask) {
+            hits.incrementAndGet();
+            return mask;
+        }
+        misses.incrementAndGet();
+        long valid = 0;
+        final int locations = Math.min(Long.SIZE, unit.locations());
+        for (int location = 0; location < locations; location++) {
+            if (UnitUtil.computeValidLocation(unit, eq, location)) {
+                valid |= 1L << location;
+            }
+        }
+        synchronized (configurations) {
+            configurations.computeIfAbsent(key, k -> new IdentityHashMap<>()).put(eq, valid);
+        }
+        return valid;
+    }
+
+    /**
+     * @return The number of checks that were answered from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of checks that had to apply the placement rules
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Removes all entries from the cache and resets the counters.
+     */
+    public void clear() {
+        synchronized (configurations) {
+            configurations.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * The properties of a unit that the placement rules depend on.
+     */
+    private static class Configuration {
+        private final Class<?> unitClass;
+        private final long entityType;
+        private final int locations;
+        private final EntityMovementMode movementMode;
+        private final boolean omni;
+        private final boolean quad;
+        private final boolean superHeavy;
+        private final boolean fighter;
+        private final int cockpitType;
+        private final double weight;
+        private final int hash;
+
+        Configuration(Entity unit) {
+            unitClass = unit.getClass();
+            entityType = unit.getEntityType();
+            locations = unit.locations();
+            movementMode = unit.getMovementMode();
+            omni = unit.isOmni();
+            quad = unit.entityIsQuad();
+            superHeavy = unit.isSuperHeavy();
+            fighter = unit.isFighter();
+            cockpitType = (unit instanceof Mech) ? ((Mech) unit).getCockpitType() : -1;
+            // The slots available in each ProtoMech location depend on its weight class
+            weight = (unit instanceof Protomech) ? unit.getWeight() : 0;
+            hash = Objects.hash(unitClass, entityType, locations, movementMode, omni, quad, superHeavy,
+                    fighter, cockpitType, weight);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Configuration)) {
+                return false;
+            }
+            Configuration other = (Configuration) obj;
+            return (unitClass == other.unitClass) && (entityType == other.entityType)
+                    && (locations == other.locations) && (movementMode == other.movementMode)
+                    && (omni == other.omni) && (quad == other.quad) && (superHeavy == other.superHeavy)
+                    && (fighter == other.fighter) && (cockpitType == other.cockpitType)
+                    && (Double.compare(weight, other.weight) == 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,615 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util.Mech;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import megamek.common.Entity;
+import megamek.common.LandAirMech;
+import megamek.common.LocationFullException;
+import megamek.common.Mech;
+import megamek.common.MiscType;
+import megamek.common.Mounted;
+import megamek.common.logging.LogLevel;
+import megameklab.com.MegaMekLab;
+import megameklab.com.util.CriticalSlotIndex;
+import megameklab.com.util.Diagnostics;
+import megameklab.com.util.UnitUtil;
+
+/**
+ * Assigns critical slots to unallocated Mech equipment. Each candidate placement is built by
+ * taking the equipment in some order and putting each item in the location where it fits best,
+ * and the order is then improved by a search that runs on several threads at once until the
+ * time budget runs out or a placement is found that cannot be improved on.
+ *
+ * <p>Placements are compared first by the number of slots left unallocated, then by the number
+ * of items other than heat sinks left unallocated, then by how many explosive items are outside
+ * CASE protection, and last by the number of items split between two locations. Equipment is only
+ * put in locations allowed by {@link UnitUtil#isValidLocation(Entity, megamek.common.EquipmentType, int)}.
+ * Spreadable equipment may use any free slots in a location, other equipment uses consecutive
+ * slots, and splitable equipment that does not fit in one location may be split with an adjacent
+ * location.</p>
+ *
+ * <p>The allocator reads the unit when it is created and changes it in {@link #allocate()}, so
+ * both must be called from the event dispatch thread. Only the search runs on other threads.</p>
+ */
+public class CriticalAllocator {
+
+    /** The default time allowed for the search, in milliseconds */
+    public static final long DEFAULT_TIME_BUDGET = 150;
+
+    private static final int THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final ExecutorService executor = Executors.newFixedThreadPool(THREADS, new WorkerFactory());
+
+    /** The number of ways of ordering the equipment used to start the search */
+    private static final int ORDERINGS = 4;
+    /** The number of changes to an ordering that do not improve it before starting again */
+    private static final int RESTART_AFTER = 200;
+
+    /** The penalty for explosive equipment in an unprotected location */
+    private static final int PENALTY_UNPROTECTED = 2;
+    /** The penalty for explosive equipment in an unprotected head or center torso */
+    private static final int PENALTY_UNPROTECTED_VITAL = 3;
+
+    private final Mech mech;
+    private final List<Mounted> mounts;
+    private final long timeBudget;
+    private final Item[] items;
+    private final long[] initialFree;
+    private final int[][] neighbors;
+    private final int idealPenalty;
+    private volatile boolean finished;
+
+    /**
+     * Creates an allocator with the default time budget.
+     *
+     * @param mech   The unit
+     * @param mounts The unallocated equipment to place
+     */
+    public CriticalAllocator(Mech mech, List<Mounted> mounts) {
+        this(mech, mounts, DEFAULT_TIME_BUDGET);
+    }
+
+    /**
+     * @param mech       The unit
+     * @param mounts     The unallocated equipment to place
+     * @param timeBudget The time allowed for the search, in milliseconds
+     */
+    public CriticalAllocator(Mech mech, List<Mounted> mounts, long timeBudget) {
+        this.mech = mech;
+        this.mounts = new ArrayList<>(mounts);
+        this.timeBudget = Math.max(0, timeBudget);
+
+        final int locations = mech.locations();
+        final CriticalSlotIndex index = CriticalSlotIndex.get(mech);
+        initialFree = new long[locations];
+        for (int loc = 0; loc < locations; loc++) {
+            final int slots = Math.min(Long.SIZE, mech.getNumberOfCriticals(loc));
+            for (int slot = 0; slot < slots; slot++) {
+                if (index.isFree(loc, slot)) {
+                    initialFree[loc] |= 1L << slot;
+                }
+            }
+        }
+
+        neighbors = new int[locations][];
+        for (int loc = 0; loc < locations; loc++) {
+            List<Integer> adjacent = new ArrayList<>();
+            if ((loc != Mech.LOC_HEAD) && !(mech instanceof LandAirMech)) {
+                for (int other = 0; other < locations; other++) {
+                    if ((other != loc) && (other != Mech.LOC_HEAD)
+                            && ((mech.getTransferLocation(loc) == other) || (mech.getTransferLocation(other) == loc))) {
+                        adjacent.add(other);
+                    }
+                }
+            }
+            neighbors[loc] = adjacent.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        items = new Item[this.mounts.size()];
+        int penalty = 0;
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(this.mounts.get(i));
+            penalty += items[i].minPenalty;
+        }
+        idealPenalty = penalty;
+    }
+
+    /**
+     * Searches for the best placement and assigns the equipment to the slots it found. Equipment
+     * that could not be placed is left unallocated.
+     *
+     * @return The number of items that were allocated
+     */
+    public int allocate() {
+        final long start = System.nanoTime();
+        final Placement placement = solve();
+        int allocated = 0;
+        for (int i = 0; i < items.length; i++) {
+            if ((placement.location[i] != Entity.LOC_NONE) && apply(i, placement)) {
+                allocated++;
+            }
+        }
+        Diagnostics.getInstance().record("crits.autoFill", start);
+        return allocated;
+    }
+
+    /**
+     * Finds the best placement within the time budget without changing the unit.
+     *
+     * @return The best placement found
+     */
+    Placement solve() {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget);
+        Placement best = decode(initialOrder(0));
+        if ((items.length < 2) || isIdeal(best) || (timeBudget == 0)) {
+            return best;
+        }
+        finished = false;
+        List<CompletableFuture<Placement>> searches = new ArrayList<>();
+        for (int worker = 0; worker < THREADS; worker++) {
+            final int seed = worker;
+            searches.add(CompletableFuture.supplyAsync(() -> search(seed, deadline), executor));
+        }
+        for (CompletableFuture<Placement> search : searches) {
+            try {
+                final Placement found = search.get(timeBudget + 1000, TimeUnit.MILLISECONDS);
+                if (found.compareTo(best) < 0) {
+                    best = found;
+                }
+            } catch (Exception ex) {
+                MegaMekLab.getLogger().error(CriticalAllocator.class, "solve()", ex);
+            }
+        }
+        finished = true;
+        MegaMekLab.getLogger().log(CriticalAllocator.class, "solve()", LogLevel.DEBUG,
+                "Crit allocation for " + mech.getDisplayName() + ": " + best);
+        return best;
+    }
+
+    /**
+     * Improves an ordering of the equipment by making random changes and keeping those that do
+     * not make the placement worse, starting again from a different ordering when it stops
+     * improving.
+     */
+    private Placement search(int seed, long deadline) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        int[] order = initialOrder(seed % ORDERINGS);
+        Placement current = decode(order);
+        Placement best = current;
+        int stale = 0;
+        while (!finished && !isIdeal(best) && (System.nanoTime() < deadline)) {
+            final int[] candidate = order.clone();
+            change(candidate, current, random);
+            final Placement placement = decode(candidate);
+            final int comparison = placement.compareTo(current);
+            if (comparison <= 0) {
+                order = candidate;
+                current = placement;
+                stale = (comparison < 0) ? 0 : stale + 1;
+                if (placement.compareTo(best) < 0) {
+                    best = placement;
+                }
+            } else {
+                stale++;
+            }
+            if (stale > RESTART_AFTER) {
+                order = initialOrder(random.nextInt(ORDERINGS));
+                for (int i = 0; i < 3; i++) {
+                    swap(order, random.nextInt(order.length), random.nextInt(order.length));
+                }
+                current = decode(order);
+                stale = 0;
+            }
+        }
+        if (isIdeal(best)) {
+            finished = true;
+        }
+        return best;
+    }
+
+    /**
+     * Moves an item that could not be placed to an earlier position, or swaps two items.
+     */
+    private void change(int[] order, Placement placement, SplittableRandom random) {
+        if ((placement.unplacedCrits > 0) && random.nextBoolean()) {
+            int from = random.nextInt(order.length);
+            while (placement.location[order[from]] != Entity.LOC_NONE) {
+                from = (from + 1) % order.length;
+            }
+            if (from > 0) {
+                final int to = random.nextInt(from);
+                final int item = order[from];
+                System.arraycopy(order, to, order, to + 1, from - to);
+                order[to] = item;
+                return;
+            }
+        }
+        swap(order, random.nextInt(order.length), random.nextInt(order.length));
+    }
+
+    private static void swap(int[] order, int i, int j) {
+        final int tmp = order[i];
+        order[i] = order[j];
+        order[j] = tmp;
+    }
+
+    /**
+     * @param ordering Which way to order the equipment: as given, largest first, the equipment
+     *                 with the fewest allowed locations first, or explosive equipment first
+     * @return         The item indices in order
+     */
+    private int[] initialOrder(int ordering) {
+        Integer[] order = new Integer[items.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        switch (ordering) {
+            case 1:
+                Arrays.sort(order, (i1, i2) -> items[i2].crits - items[i1].crits);
+                break;
+            case 2:
+                Arrays.sort(order, (i1, i2) -> (items[i1].validCount != items[i2].validCount)
+                        ? items[i1].validCount - items[i2].validCount : items[i2].crits - items[i1].crits);
+                break;
+            case 3:
+                Arrays.sort(order, (i1, i2) -> (items[i1].explosive != items[i2].explosive)
+                        ? (items[i1].explosive ? -1 : 1) : items[i2].crits - items[i1].crits);
+                break;
+            default:
+                break;
+        }
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    private boolean isIdeal(Placement placement) {
+        return (placement.unplacedCrits == 0) && (placement.unplacedItems == 0)
+                && (placement.penalty == idealPenalty) && (placement.splits == 0);
+    }
+
+    /**
+     * Places the items in order, each in the location where it fits best.
+     */
+    private Placement decode(int[] order) {
+        final long[] free = initialFree.clone();
+        final Placement placement = new Placement(items.length);
+        for (int i : order) {
+            place(i, free, placement);
+        }
+        return placement;
+    }
+
+    private void place(int i, long[] free, Placement placement) {
+        final Item item = items[i];
+        int bestLoc = Entity.LOC_NONE;
+        long bestSlots = 0;
+        int bestCost = Integer.MAX_VALUE;
+        for (int loc = 0; loc < free.length; loc++) {
+            if (!item.valid[loc]) {
+                continue;
+            }
+            final long slots;
+            final int waste;
+            if (item.crits == 0) {
+                slots = 0;
+                waste = 0;
+            } else if (item.spread) {
+                final int available = Long.bitCount(free[loc]);
+                if (available < item.crits) {
+                    continue;
+                }
+                slots = lowestSlots(free[loc], item.crits);
+                waste = available - item.crits;
+            } else {
+                final int start = bestFit(free[loc], item.crits);
+                if (start < 0) {
+                    continue;
+                }
+                slots = run(start, item.crits);
+                waste = runLength(free[loc], start) - item.crits;
+            }
+            final int cost = item.penalty[loc] * Long.SIZE + waste;
+            if (cost < bestCost) {
+                bestLoc = loc;
+                bestSlots = slots;
+                bestCost = cost;
+            }
+        }
+        if (bestLoc != Entity.LOC_NONE) {
+            free[bestLoc] &= ~bestSlots;
+            placement.location[i] = bestLoc;
+            placement.primarySlots[i] = bestSlots;
+            placement.penalty += item.penalty[bestLoc];
+            return;
+        }
+        if (item.splitable && placeSplit(i, free, placement)) {
+            return;
+        }
+        placement.unplacedCrits += item.crits;
+        if (!item.heatSink) {
+            placement.unplacedItems++;
+        }
+    }
+
+    /**
+     * Splits an item between the longest run of free slots in one location and a run of free
+     * slots in an adjacent location.
+     */
+    private boolean placeSplit(int i, long[] free, Placement placement) {
+        final Item item = items[i];
+        int bestLoc = Entity.LOC_NONE;
+        int bestSecondary = Entity.LOC_NONE;
+        long bestSlots = 0;
+        long bestSecondarySlots = 0;
+        int bestCost = Integer.MAX_VALUE;
+        for (int loc = 0; loc < free.length; loc++) {
+            if (!item.valid[loc]) {
+                continue;
+            }
+            final int start = longestRunStart(free[loc]);
+            if (start < 0) {
+                continue;
+            }
+            final int primary = Math.min(runLength(free[loc], start), item.crits - 1);
+            for (int other : neighbors[loc]) {
+                if (!item.valid[other]) {
+                    continue;
+                }
+                final int secondaryStart = bestFit(free[other], item.crits - primary);
+                if (secondaryStart < 0) {
+                    continue;
+                }
+                final int cost = Math.max(item.penalty[loc], item.penalty[other]) * Long.SIZE
+                        + runLength(free[other], secondaryStart) - (item.crits - primary);
+                if (cost < bestCost) {
+                    bestLoc = loc;
+                    bestSecondary = other;
+                    bestSlots = run(start, primary);
+                    bestSecondarySlots = run(secondaryStart, item.crits - primary);
+                    bestCost = cost;
+                }
+            }
+        }
+        if (bestLoc == Entity.LOC_NONE) {
+            return false;
+        }
+        free[bestLoc] &= ~bestSlots;
+        free[bestSecondary] &= ~bestSecondarySlots;
+        placement.location[i] = bestLoc;
+        placement.secondary[i] = bestSecondary;
+        placement.primarySlots[i] = bestSlots;
+        placement.secondarySlots[i] = bestSecondarySlots;
+        placement.penalty += Math.max(item.penalty[bestLoc], item.penalty[bestSecondary]);
+        placement.splits++;
+        return true;
+    }
+
+    /**
+     * @return The bits for a run of slots
+     */
+    private static long run(int start, int length) {
+        return ((length >= Long.SIZE) ? -1L : ((1L << length) - 1)) << start;
+    }
+
+    /**
+     * @return The number of consecutive free slots beginning with the given one
+     */
+    private static int runLength(long free, int start) {
+        return Long.numberOfTrailingZeros(~(free >>> start));
+    }
+
+    /**
+     * @return The first slot of the shortest run of free slots that is at least the given length,
+     *         or -1 if there is none
+     */
+    private static int bestFit(long free, int length) {
+        int best = -1;
+        int bestLength = Integer.MAX_VALUE;
+        for (long remaining = free; remaining != 0; ) {
+            final int start = Long.numberOfTrailingZeros(remaining);
+            final int runLength = runLength(remaining, start);
+            if ((runLength >= length) && (runLength < bestLength)) {
+                best = start;
+                bestLength = runLength;
+            }
+            remaining &= ~run(start, runLength);
+        }
+        return best;
+    }
+
+    /**
+     * @return The first slot of the longest run of free slots, or -1 if there are no free slots
+     */
+    private static int longestRunStart(long free) {
+        int best = -1;
+        int bestLength = 0;
+        for (long remaining = free; remaining != 0; ) {
+            final int start = Long.numberOfTrailingZeros(remaining);
+            final int runLength = runLength(remaining, start);
+            if (runLength > bestLength) {
+                best = start;
+                bestLength = runLength;
+            }
+            remaining &= ~run(start, runLength);
+        }
+        return best;
+    }
+
+    /**
+     * @return The given number of the lowest free slots
+     */
+    private static long lowestSlots(long free, int count) {
+        long slots = 0;
+        long remaining = free;
+        for (int i = 0; i < count; i++) {
+            final long lowest = Long.lowestOneBit(remaining);
+            slots |= lowest;
+            remaining &= ~lowest;
+        }
+        return slots;
+    }
+
+    /**
+     * Assigns one item to the slots in the placement. If the unit will not accept it the item is
+     * left unallocated.
+     */
+    private boolean apply(int i, Placement placement) {
+        final Mounted mount = mounts.get(i);
+        final Item item = items[i];
+        final int location = placement.location[i];
+        final int secondary = placement.secondary[i];
+        try {
+            if (item.crits == 0) {
+                UnitUtil.addMounted(mech, mount, location, false);
+            } else if (item.spread || item.splitable) {
+                // Spreadable and splitable equipment is added one slot at a time
+                addSlots(mount, location, placement.primarySlots[i]);
+                if (secondary != Entity.LOC_NONE) {
+                    addSlots(mount, secondary, placement.secondarySlots[i]);
+                }
+            } else {
+                mech.addEquipment(mount, location, false, Long.numberOfTrailingZeros(placement.primarySlots[i]));
+            }
+            mount.setOmniPodMounted(UnitUtil.canPodMount(mech, mount));
+            UnitUtil.changeMountStatus(mech, mount, location, secondary, false);
+            return true;
+        } catch (LocationFullException ex) {
+            MegaMekLab.getLogger().error(CriticalAllocator.class, "apply(int, Placement)", ex);
+            UnitUtil.removeCriticals(mech, mount);
+            UnitUtil.changeMountStatus(mech, mount, Entity.LOC_NONE, Entity.LOC_NONE, false);
+            return false;
+        } finally {
+            CriticalSlotIndex.invalidate(mech, location);
+            if (secondary != Entity.LOC_NONE) {
+                CriticalSlotIndex.invalidate(mech, secondary);
+            }
+        }
+    }
+
+    private void addSlots(Mounted mount, int location, long slots) throws LocationFullException {
+        for (long remaining = slots; remaining != 0; remaining &= remaining - 1) {
+            mech.addEquipment(mount, location, false, Long.numberOfTrailingZeros(remaining));
+        }
+    }
+
+    /**
+     * What the search needs to know about a piece of equipment, read from the unit before the
+     * search starts.
+     */
+    private class Item {
+        final int crits;
+        final boolean spread;
+        final boolean splitable;
+        final boolean heatSink;
+        final boolean explosive;
+        final boolean[] valid;
+        final int[] penalty;
+        final int validCount;
+        final int minPenalty;
+
+        Item(Mounted mount) {
+            crits = UnitUtil.getCritsUsed(mech, mount.getType());
+            spread = mount.getType().isSpreadable();
+            splitable = mount.isSplitable() && (crits > 1)
+                    && !mount.getType().hasFlag(MiscType.F_TARGCOMP)
+                    && !(mech instanceof LandAirMech);
+            heatSink = UnitUtil.isHeatSink(mount);
+            explosive = mount.getType().isExplosive(mount);
+            valid = new boolean[mech.locations()];
+            penalty = new int[mech.locations()];
+            int count = 0;
+            int min = 0;
+            for (int loc = 0; loc < valid.length; loc++) {
+                valid[loc] = UnitUtil.isValidLocation(mech, mount.getType(), loc);
+                if (explosive && !isProtected(loc)) {
+                    penalty[loc] = ((loc == Mech.LOC_HEAD) || (loc == Mech.LOC_CT))
+                            ? PENALTY_UNPROTECTED_VITAL : PENALTY_UNPROTECTED;
+                }
+                if (valid[loc]) {
+                    min = (count == 0) ? penalty[loc] : Math.min(min, penalty[loc]);
+                    count++;
+                }
+            }
+            validCount = count;
+            minPenalty = min;
+        }
+    }
+
+    private boolean isProtected(int location) {
+        return mech.isClan() || mech.locationHasCase(location) || mech.hasCASEII(location);
+    }
+
+    /**
+     * The location and slots chosen for each item, with the values used to compare placements.
+     */
+    static class Placement implements Comparable<Placement> {
+        final int[] location;
+        final int[] secondary;
+        final long[] primarySlots;
+        final long[] secondarySlots;
+        int unplacedCrits;
+        int unplacedItems;
+        int penalty;
+        int splits;
+
+        Placement(int size) {
+            location = new int[size];
+            secondary = new int[size];
+            Arrays.fill(location, Entity.LOC_NONE);
+            Arrays.fill(secondary, Entity.LOC_NONE);
+            primarySlots = new long[size];
+            secondarySlots = new long[size];
+        }
+
+        @Override
+        public int compareTo(Placement other) {
+            if (unplacedCrits != other.unplacedCrits) {
+                return Integer.compare(unplacedCrits, other.unplacedCrits);
+            }
+            if (unplacedItems != other.unplacedItems) {
+                return Integer.compare(unplacedItems, other.unplacedItems);
+            }
+            if (penalty != other.penalty) {
+                return Integer.compare(penalty, other.penalty);
+            }
+            return Integer.compare(splits, other.splits);
+        }
+
+        @Override
+        public String toString() {
+            return unplacedCrits + " slots unallocated, " + unplacedItems + " items other than heat sinks unallocated, "
+                    + "penalty " + penalty + ", " + splits + " split";
+        }
+    }
+
+    private static class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "Crit allocator " + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -48,6 +48,7 @@ import megamek.common.verifier.TestBattleArmor;
 import megamek.common.weapons.infantry.InfantryWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CriticalTableModel;
+import megameklab.com.util.CriticalSlotIndex;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
 
@@ -114,6 +115,7 @@ public class CriticalTransferHandler extends TransferHandler {
                 for (int i = startSlot; i < (startSlot+UnitUtil.getCritsUsed(getUnit(), mounted.getType())); i++) {
                     getUnit().setCritical(loc, i, null);
                 }
+                CriticalSlotIndex.invalidate(getUnit(), loc);
             }
             Mounted linkedBy = mounted.getLinkedBy();
             if (linkedBy != null && !(getUnit() instanceof BattleArmor)) {
@@ -259,6 +261,7 @@ public class CriticalTransferHandler extends TransferHandler {
             int currLoc = location;
             for (; critsUsed < totalCrits; critsUsed++) {
                 mech.addEquipment(eq, currLoc, false, slotNumber);
+                CriticalSlotIndex.invalidate(mech, currLoc);
                 slotNumber = 
                         (slotNumber + 1) % mech.getNumberOfCriticals(currLoc);
                 primaryLocSpace--;
@@ -309,6 +312,7 @@ public class CriticalTransferHandler extends TransferHandler {
                         return false;
                     }
                     mech.addEquipment(eq, location, false, slotNumber);
+                    CriticalSlotIndex.invalidate(mech, location);
                     if (facing.equals("Front-Left")) {
                         eq.setFacing(5);
                     } else if (facing.equals("Front-Right")) {
@@ -323,6 +327,7 @@ public class CriticalTransferHandler extends TransferHandler {
                     }
             } else {
                 mech.addEquipment(eq, location, false, slotNumber);
+                CriticalSlotIndex.invalidate(mech, location);
             }
             changeMountStatus(eq, location, false);
         } else {
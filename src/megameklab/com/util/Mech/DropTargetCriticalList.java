@@ -47,6 +47,7 @@ import megamek.common.weapons.gaussrifles.GaussWeapon;
 import megamek.common.weapons.ppc.PPCWeapon;
 import megameklab.com.ui.EntitySource;
 import megameklab.com.util.CritListCellRenderer;
+import megameklab.com.util.CriticalSlotIndex;
 import megameklab.com.util.RefreshListener;
 import megameklab.com.util.UnitUtil;
 
@@ -72,6 +73,16 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
         setTransferHandler(new CriticalTransferHandler(eSource, refresh));
     }
 
+    /**
+     * Changes the listener notified when the list changes the unit.
+     *
+     * @param refresh The new listener
+     */
+    public void setRefresh(RefreshListener refresh) {
+        this.refresh = refresh;
+        setTransferHandler(new CriticalTransferHandler(eSource, refresh));
+    }
+
     private void changeMountStatus(Mounted eq, int location, boolean rear) {
         changeMountStatus(eq, location, -1, rear);
     }
@@ -642,6 +653,7 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
         }
         getUnit().setCritical(location, 3, new CriticalSlot(
                 CriticalSlot.TYPE_SYSTEM, Mech.ACTUATOR_HAND));
+        CriticalSlotIndex.invalidate(getUnit(), location);
         addArm(location);
     }
 
@@ -675,6 +687,7 @@ public class DropTargetCriticalList<E> extends JList<E> implements MouseListener
 
         getUnit().setCritical(location, 2, new CriticalSlot(
                 CriticalSlot.TYPE_SYSTEM, Mech.ACTUATOR_LOWER_ARM));
+        CriticalSlotIndex.invalidate(getUnit(), location);
         if (refresh != null) {
             refresh.refreshAll();
         }
@@ -54,6 +54,7 @@ import megamek.common.templates.TROView;
 import megamek.common.util.EncodeControl;
 import megameklab.com.MegaMekLab;
 import megameklab.com.ui.MegaMekLabMainUI;
+import megameklab.com.ui.dialog.DiagnosticsDialog;
 import megameklab.com.ui.dialog.LoadingDialog;
 
 public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
@@ -90,6 +91,12 @@ public class MenuBarCreator extends JMenuBar implements ClipboardOwner {
         item.addActionListener(e -> jMenuInsertImageFile_actionPerformed());
         help.add(item);
 
+        item = new JMenuItem();
+        item.setText(resourceMap.getString("menu.help.diagnostics"));
+        item.setMnemonic(KeyEvent.VK_D);
+        item.addActionListener(e -> new DiagnosticsDialog(parentFrame).setVisible(true));
+        help.add(item);
+
         JMenu validate = new JMenu(resourceMap.getString("menu.validate"));
         validate.add(loadBVMenuOptions());
 
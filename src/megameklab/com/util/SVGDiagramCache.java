@@ -0,0 +1,154 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.kitfox.svg.SVGDiagram;
+import com.kitfox.svg.SVGUniverse;
+
+import megamek.common.annotations.Nullable;
+
+/**
+ * Process-wide cache of svgSalamander diagrams used by the record sheet printers that draw
+ * directly to a {@link java.awt.Graphics2D}. Each file is parsed once and the same diagram is
+ * returned on later requests, so the diagrams must be treated as read-only. Entries are
+ * invalidated if the file's modification time changes, and the least recently used diagram is
+ * dropped when the cache is full.
+ */
+public class SVGDiagramCache {
+
+    /** The maximum number of diagrams to keep in memory */
+    public static final int DEFAULT_CAPACITY = 128;
+
+    private static final SVGDiagramCache instance = new SVGDiagramCache(DEFAULT_CAPACITY);
+
+    private final Map<String, CachedDiagram> diagrams;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * @return The shared diagram cache
+     */
+    public static SVGDiagramCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param capacity The maximum number of diagrams to hold before evicting the least recently
+     *                 used one.
+     */
+    SVGDiagramCache(final int capacity) {
+        diagrams = new LinkedHashMap<String, CachedDiagram>(capacity + 1, 0.75f, true) {
+            private static final long serialVersionUID = -2861140716429593375L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedDiagram> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Provides the diagram for a file, parsing it if it is not already in the cache. The diagram is
+     * shared by all callers and must not be modified.
+     *
+     * @param file The SVG file
+     * @return     The parsed diagram, or null if the file could not be read
+     */
+    public synchronized @Nullable SVGDiagram getDiagram(File file) {
+        final String key = file.getAbsolutePath();
+        final long lastModified = file.lastModified();
+        CachedDiagram cached = diagrams.get(key);
+        if ((null != cached) && (cached.lastModified == lastModified)) {
+            hits++;
+            return cached.diagram;
+        }
+        misses++;
+        SVGDiagram diagram = parse(file);
+        if (null == diagram) {
+            diagrams.remove(key);
+        } else {
+            diagrams.put(key, new CachedDiagram(diagram, lastModified));
+        }
+        return diagram;
+    }
+
+    /**
+     * Parses an SVG file into a new diagram that is not shared. This should be used by callers that
+     * modify the diagram before rendering it.
+     *
+     * @param file The SVG file
+     * @return     The parsed diagram, or null if the file could not be read
+     */
+    public static @Nullable SVGDiagram parse(File file) {
+        final long start = System.nanoTime();
+        SVGUniverse universe = new SVGUniverse();
+        try (InputStream fileStream = new BufferedInputStream(new FileInputStream(file))) {
+            URI svgFile = universe.loadSVG(fileStream, file.toString());
+            return universe.getDiagram(svgFile);
+        } catch (IOException e) {
+            return null;
+        } finally {
+            Diagnostics.getInstance().record("svg.diagram.parse", start);
+        }
+    }
+
+    /**
+     * @return The number of requests that were satisfied from the cache
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of requests that required parsing the file
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of diagrams currently held in the cache
+     */
+    public synchronized int size() {
+        return diagrams.size();
+    }
+
+    /**
+     * Removes all diagrams from the cache and resets the counters.
+     */
+    public synchronized void clear() {
+        diagrams.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    private static class CachedDiagram {
+        private final SVGDiagram diagram;
+        private final long lastModified;
+
+        CachedDiagram(SVGDiagram diagram, long lastModified) {
+            this.diagram = diagram;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * MegaMekLab - Copyright (C) 2019 - The MegaMek Team
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ */
+package megameklab.com.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import megamek.common.logging.LogLevel;
+import megameklab.com.MegaMekLab;
+
+/**
+ * Runs the phases of application startup on a pool of worker threads. Each phase names the phases
+ * it depends on and starts as soon as they have finished, so phases that do not depend on each
+ * other run at the same time. The time taken by each phase is written to the log.
+ *
+ * <p>A phase that throws an exception is logged and treated as finished so that the phases that
+ * depend on it still run, which matches the behavior when the startup steps were run one after
+ * another.</p>
+ */
+public class StartupOrchestrator {
+
+    /** The default number of worker threads */
+    public static final int DEFAULT_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private final ExecutorService executor;
+    private final long startTime = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+
+    /**
+     * Creates an orchestrator with the default number of worker threads.
+     */
+    public StartupOrchestrator() {
+        this(DEFAULT_THREADS);
+    }
+
+    /**
+     * @param threads The maximum number of phases to run at the same time
+     */
+    public StartupOrchestrator(int threads) {
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), new WorkerFactory());
+    }
+
+    /**
+     * Schedules a phase to run once all the phases it depends on have finished.
+     *
+     * @param name      The name of the phase, used in the log
+     * @param task      The work to do
+     * @param dependsOn The phases that must finish first
+     * @return          The scheduled phase
+     */
+    public synchronized Phase add(String name, Runnable task, Phase... dependsOn) {
+        final Phase phase = new Phase(name);
+        final CompletableFuture<?>[] dependencies = new CompletableFuture<?>[dependsOn.length];
+        for (int i = 0; i < dependsOn.length; i++) {
+            dependencies[i] = dependsOn[i].future;
+        }
+        phase.future = CompletableFuture.allOf(dependencies).thenRunAsync(() -> phase.run(task), executor);
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * Stops the worker threads once every phase added so far has finished. No phases may be added
+     * after this is called.
+     */
+    public synchronized void shutdownWhenDone() {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[phases.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = phases.get(i).future;
+        }
+        CompletableFuture.allOf(futures).whenComplete((r, ex) -> {
+            executor.shutdown();
+            MegaMekLab.getLogger().log(StartupOrchestrator.class, "shutdownWhenDone()", LogLevel.INFO,
+                    "All startup phases finished after " + getElapsedMillis() + " ms");
+        });
+    }
+
+    /**
+     * @return The time since the orchestrator was created, in milliseconds
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * A unit of startup work that other phases and the rest of the application can wait for.
+     */
+    public class Phase {
+        private final String name;
+        private CompletableFuture<Void> future;
+        private volatile long duration = -1;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        private void run(Runnable task) {
+            final long started = System.nanoTime();
+            try {
+                task.run();
+            } catch (Throwable ex) {
+                MegaMekLab.getLogger().error(StartupOrchestrator.class, "run(Runnable)", ex);
+            }
+            duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            Diagnostics.getInstance().record("startup." + name, started);
+            MegaMekLab.getLogger().log(StartupOrchestrator.class, "run(Runnable)", LogLevel.INFO,
+                    "Startup phase " + name + " took " + duration + " ms, finished "
+                            + getElapsedMillis() + " ms after startup began");
+        }
+
+        /**
+         * @return The name of the phase
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Whether the phase has finished
+         */
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        /**
+         * @return The time the phase took to run in milliseconds, or -1 if it has not finished
+         */
+        public long getDuration() {
+            return duration;
+        }
+
+        /**
+         * Blocks until the phase has finished.
+         */
+        public void await() {
+            future.join();
+        }
+
+        /**
+         * Runs an action once the phase has finished. If the phase has already finished, the
+         * action runs immediately on the calling thread; otherwise it runs on the thread that
+         * completed the phase.
+         *
+         * @param action The action to run
+         */
+        public void whenDone(Runnable action) {
+            future.thenRun(action);
+        }
+    }
+
+    private static class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "Startup " + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -60,9 +60,11 @@ import megamek.common.Protomech;
 import megamek.common.SmallCraft;
 import megamek.common.Tank;
 import megamek.common.VTOL;
+import megameklab.com.MegaMekLab;
 import megameklab.com.printing.PrintCapitalShip;
 import megameklab.com.printing.PrintMech;
 import megameklab.com.printing.PrintTask;
+import megameklab.com.printing.RecordSheetPipeline;
 import megameklab.com.ui.Aero.Printing.PrintAero;
 import megameklab.com.ui.Aero.Printing.PrintConventionalFighter;
 import megameklab.com.ui.Aero.Printing.PrintFixedWingSupport;
@@ -134,13 +136,6 @@ public class UnitPrintManager {
     }
 
     public static boolean printAllUnits(Vector<Entity> loadedUnits, boolean singlePrint) {
-        Book book = new Book();
-        
-        List<Infantry> infList = new ArrayList<>();
-        List<BattleArmor> baList = new ArrayList<>();
-        List<Protomech> protoList = new ArrayList<>();
-        List<Entity> unprintable = new ArrayList<>();
-
         HashPrintRequestAttributeSet aset = new HashPrintRequestAttributeSet();
         aset.add(MediaSizeName.NA_LETTER);
         aset.add(new MediaPrintableArea(0, 0, 8.5f, 11, MediaPrintableArea.INCH));
@@ -157,13 +152,76 @@ public class UnitPrintManager {
 
         pageFormat.setPaper(p);
 
+        List<Entity> unprintable = new ArrayList<>();
+        Book book = createBook(copyUnits(loadedUnits, unprintable), singlePrint, pageFormat, unprintable);
+
+        if (unprintable.size() > 0) {
+            JOptionPane.showMessageDialog(null, "Printing is not currently supported for the following units:\n"
+                    + unprintable.stream().map(en -> en.getChassis() + " " + en.getModel())
+                    .collect(Collectors.joining("\n")));
+        }
+        
+        RecordSheetPipeline pipeline = new RecordSheetPipeline(book);
+        masterPrintJob.setPageable(pipeline);
+        if (loadedUnits.size() > 1) {
+            masterPrintJob.setJobName(loadedUnits.get(0).getShortNameRaw() + " etc");
+        } else if (loadedUnits.size() > 0) {
+            masterPrintJob.setJobName(loadedUnits.get(0).getShortNameRaw());
+        }
+
+        PrintTask task = new PrintTask(masterPrintJob, aset, pipeline);
+        task.execute();
+
+        return true;
+    }
+
+    /**
+     * The record sheet pages are prepared on worker threads while the units may still be open in
+     * the editor, so the book is built from copies. The crew is not part of the unit file and is
+     * carried over from the original.
+     *
+     * @param units       The units to print
+     * @param unprintable A list to which any units that cannot be copied are added
+     * @return            The copies, in the same order as the units
+     */
+    private static List<Entity> copyUnits(List<Entity> units, List<Entity> unprintable) {
+        List<Entity> copies = new ArrayList<>(units.size());
+        for (Entity unit : units) {
+            try {
+                Entity copy = UnitUtil.copyEntity(unit);
+                copy.setCrew(unit.getCrew());
+                copies.add(copy);
+            } catch (Exception ex) {
+                MegaMekLab.getLogger().error(UnitPrintManager.class, "copyUnits(List, List)", ex);
+                unprintable.add(unit);
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Assigns the units to record sheets and collects the record sheets into a {@link Book}.
+     * Depending on the unit type, more than one unit may be placed on a sheet.
+     * 
+     * @param loadedUnits The units to print
+     * @param singlePrint If true, each record sheet will only contain a single unit
+     * @param pageFormat  The page format to use for each page in the book
+     * @param unprintable A list to which any units that cannot be printed are added
+     * @return            The assembled book
+     */
+    public static Book createBook(List<Entity> loadedUnits, boolean singlePrint, PageFormat pageFormat,
+            List<Entity> unprintable) {
+        Book book = new Book();
+        
+        List<Infantry> infList = new ArrayList<>();
+        List<BattleArmor> baList = new ArrayList<>();
+        List<Protomech> protoList = new ArrayList<>();
+
         Tank tank1 = null;
         Tank wige1 = null;
         Tank dualTurret1 = null;
         for (Entity unit : loadedUnits) {
             if (unit instanceof Mech) {
-                UnitUtil.removeOneShotAmmo(unit);
-                UnitUtil.expandUnitMounts((Mech) unit);
                 book.append(new PrintMech((Mech) unit, book.getNumberOfPages()), pageFormat);
             } else if ((unit instanceof LargeSupportTank) || ((unit instanceof Tank) && (unit.getMovementMode() != EntityMovementMode.VTOL) && ((Tank)unit).isSuperHeavy())) {
                 book.append(new PrintLargeSupportVehicle((Tank) unit), pageFormat);
@@ -248,12 +306,6 @@ public class UnitPrintManager {
             }
         }
         
-        if (unprintable.size() > 0) {
-            JOptionPane.showMessageDialog(null, "Printing is not currently supported for the following units:\n"
-                    + unprintable.stream().map(en -> en.getChassis() + " " + en.getModel())
-                    .collect(Collectors.joining("\n")));
-        }
-        
         if (null != wige1) {
             book.append(new PrintVehicle(wige1, null), pageFormat);
         }
@@ -272,18 +324,7 @@ public class UnitPrintManager {
         if (protoList.size() > 0) {
             book.append(new PrintProtomech(protoList), pageFormat);
         }
-        
-        masterPrintJob.setPageable(book);
-        if (loadedUnits.size() > 1) {
-            masterPrintJob.setJobName(loadedUnits.get(0).getShortNameRaw() + " etc");
-        } else if (loadedUnits.size() > 0) {
-            masterPrintJob.setJobName(loadedUnits.get(0).getShortNameRaw());
-        }
-
-        PrintTask task = new PrintTask(masterPrintJob, aset);
-        task.execute();
-
-        return true;
+        return book;
     }
 
     public static JMenu printMenu(final JFrame parent, JMenuItem item) {
@@ -20,6 +20,8 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
 import java.math.BigInteger;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
@@ -39,6 +41,7 @@ import javax.swing.text.html.HTMLEditorKit;
 
 import megamek.common.*;
 import megamek.common.annotations.Nullable;
+import megamek.common.loaders.BLKFile;
 import megamek.common.loaders.EntityLoadingException;
 import megamek.common.logging.LogLevel;
 import megamek.common.logging.MMLogger;
@@ -417,6 +420,7 @@ public class UnitUtil {
                         } else { // If it's the only Mounted, clear the slot
                             cs = null;
                             unit.setCritical(loc, slot, cs);
+                            CriticalSlotIndex.slotCleared(unit, loc, slot);
                         }
                     } else if ((cs.getMount2() != null)
                             && cs.getMount2().equals(eq)) {
@@ -429,7 +433,11 @@ public class UnitUtil {
     
     public static void addMounted(Entity unit, Mounted mounted, int loc,
             boolean rearMounted) throws LocationFullException {
-        unit.addEquipment(mounted, loc, rearMounted);
+        try {
+            unit.addEquipment(mounted, loc, rearMounted);
+        } finally {
+            CriticalSlotIndex.slotsFilled(unit, loc);
+        }
         mounted.setOmniPodMounted(canPodMount(unit, mounted));
     }
 
@@ -463,6 +471,7 @@ public class UnitUtil {
                         && (cs.getType() == CriticalSlot.TYPE_EQUIPMENT)) {
                     cs = null;
                     unit.setCritical(location, slot, cs);
+                    CriticalSlotIndex.slotCleared(unit, location, slot);
                 }
             }
         }
@@ -470,7 +479,6 @@ public class UnitUtil {
         for (Mounted mount : unit.getEquipment()) {
             mount.setLocation(Entity.LOC_NONE, false);
         }
-
     }
 
     /**
@@ -1324,43 +1332,14 @@ public class UnitUtil {
      */
     public static int getContiguousNumberOfCrits(Entity unit, int location,
             int startingSlot){
-
-        int numCritSlots = unit.getNumberOfCriticals(location);
-        int contiguousCrits = 0;
-
-        for (int slot = startingSlot; slot < numCritSlots; slot++) {
-            if (unit.getCritical(location, slot) == null) {
-                contiguousCrits++;
-            } else {
-               break;
-            }
-        }
-        return contiguousCrits;
+        return CriticalSlotIndex.get(unit).getFreeRun(location, startingSlot);
     }
 
 
     public static int getHighestContinuousNumberOfCrits(Entity unit,
             int location) {
-        int highestNumberOfCrits = 0;
-        int currentCritCount = 0;
-
-        // Handle locations without crits
-        if ((location == Entity.LOC_DESTROYED)
-                || (location == Entity.LOC_NONE)) {
-            return 0;
-        }
-
-        for (int slot = 0; slot < unit.getNumberOfCriticals(location); slot++) {
-            if (unit.getCritical(location, slot) == null) {
-                currentCritCount++;
-            } else {
-                currentCritCount = 0;
-            }
-            highestNumberOfCrits = Math.max(currentCritCount,
-                    highestNumberOfCrits);
-        }
-
-        return highestNumberOfCrits;
+        // Locations without crits, such as LOC_NONE and LOC_DESTROYED, have no free slots
+        return CriticalSlotIndex.get(unit).getLongestFreeRun(location);
     }
 
     public static double getUnallocatedAmmoTonnage(Entity unit) {
@@ -1640,8 +1619,10 @@ public class UnitUtil {
             if ((firstEmpty != -1) && (cs != null)) {
                 // move this to the first empty slot
                 unit.setCritical(loc, firstEmpty, cs);
+                CriticalSlotIndex.slotFilled(unit, loc, firstEmpty);
                 // mark the old slot empty
                 unit.setCritical(loc, slot, null);
+                CriticalSlotIndex.slotCleared(unit, loc, slot);
                 // restart just after the moved slot's new location
                 slot = firstEmpty;
                 firstEmpty = -1;
@@ -1671,8 +1652,10 @@ public class UnitUtil {
             if ((firstEmpty != -1) && (cs != null)) {
                 // move this to the first empty slot
                 mech.setCritical(loc, firstEmpty, cs);
+                CriticalSlotIndex.slotFilled(mech, loc, firstEmpty);
                 // mark the old slot empty
                 mech.setCritical(loc, slot, null);
+                CriticalSlotIndex.slotCleared(mech, loc, slot);
                 // restart just after the moved slot's new location
                 slot = firstEmpty;
                 firstEmpty = -1;
@@ -1911,7 +1894,9 @@ public class UnitUtil {
                         }
                     } else {
                         CriticalSlot cs = new CriticalSlot(mount);
-                        if (!unit.addCritical(locations.get(0), cs)) {
+                        final boolean added = unit.addCritical(locations.get(0), cs);
+                        CriticalSlotIndex.slotsFilled(unit, locations.get(0));
+                        if (!added) {
                             UnitUtil.removeCriticals(unit, mount);
                             JOptionPane.showMessageDialog(
                                     null,
@@ -3193,6 +3178,7 @@ public class UnitUtil {
                                     .getInternalName())) {
                         crit = null;
                         unit.setCritical(location, slot, crit);
+                        CriticalSlotIndex.slotCleared(unit, location, slot);
                     }
                 }
             }
@@ -3271,6 +3257,7 @@ public class UnitUtil {
                         && (null != crit.getMount()) && crit.getMount().getType().equals(eq)) {
                     unit.getMisc().remove(crit.getMount());
                     unit.setCritical(loc, slot, null);
+                    CriticalSlotIndex.slotCleared(unit, loc, slot);
                 }
             }
         }
@@ -3483,8 +3470,27 @@ public class UnitUtil {
         }
     }
 
+    /**
+     * Checks whether equipment may be mounted in a location. The answer depends only on the
+     * equipment and the configuration of the unit, so it is looked up in the
+     * {@link LocationValidityCache}.
+     *
+     * @param unit     The unit
+     * @param eq       The equipment
+     * @param location The location index
+     * @return         Whether the equipment may be mounted in the location
+     */
     public static boolean isValidLocation(Entity unit, EquipmentType eq,
             int location) {
+        return LocationValidityCache.getInstance().isValidLocation(unit, eq, location);
+    }
+
+    /**
+     * Applies the construction rules for equipment placement. This does the work for
+     * {@link #isValidLocation(Entity, EquipmentType, int)} when the answer is not cached.
+     */
+    static boolean computeValidLocation(Entity unit, EquipmentType eq,
+            int location) {
         if (unit.hasETypeFlag(Entity.ETYPE_BATTLEARMOR)) {
             // Infantry weapons can only be mounted in armored gloves/APMs
             if (eq.hasFlag(WeaponType.F_INFANTRY)) {
@@ -3747,6 +3753,7 @@ public class UnitUtil {
                         && (bay.isRearMounted() ? includeRear : includeForward)) {
                     Mounted newBay = new Mounted(entity, bay.getType());
                     entity.addEquipment(newBay, toLoc, bay.isRearMounted());
+                    CriticalSlotIndex.slotsFilled(entity, toLoc);
                     for (Integer eqNum : bay.getBayWeapons()) {
                         Mounted toAdd = copyEquipment(entity, toLoc, entity.getEquipment(eqNum), removed);
                         newBay.addWeaponToBay(entity.getEquipmentNum(toAdd));
@@ -3809,6 +3816,7 @@ public class UnitUtil {
             toAdd.setShotsLeft(toCopy.getBaseShotsLeft());
         }
         entity.addEquipment(toAdd, toLoc, toCopy.isRearMounted());
+        CriticalSlotIndex.slotsFilled(entity, toLoc);
         changeMountStatus(entity, toAdd, toLoc, Entity.LOC_NONE, toCopy.isRearMounted());
         return toAdd;
     }
@@ -4446,12 +4454,14 @@ public class UnitUtil {
     public static void removeHand(Mech mech, int location) {
         if (mech.hasSystem(Mech.ACTUATOR_HAND, location)) {
             mech.setCritical(location, 3, null);
+            CriticalSlotIndex.slotCleared(mech, location, 3);
         }
     }
 
     public static void removeArm(Mech mech, int location) {
         if (mech.hasSystem(Mech.ACTUATOR_LOWER_ARM, location)) {
             mech.setCritical(location, 2, null);
+            CriticalSlotIndex.slotCleared(mech, location, 2);
             // Only remove the next slot of it actually is a hand
             if (mech.hasSystem(Mech.ACTUATOR_HAND, location)) {
                 removeHand(mech, location);
@@ -4559,6 +4569,35 @@ public class UnitUtil {
         assignQuarters(aero, officer + firstClass, standardCrew, secondClass, steerageCrew + steeragePsgr);
     }
 
+    /**
+     * Makes a copy of a unit that shares no state with the original, by writing the unit in its
+     * file format and reading it back. Work that runs on another thread, such as building a preview
+     * or a record sheet, can use the copy while the original is being edited. If the unit is open
+     * in the editor, this must be called on the event dispatch thread.
+     *
+     * @param entity The unit
+     * @return       The copy
+     * @throws Exception If the unit cannot be written or read back
+     */
+    public static Entity copyEntity(Entity entity) throws Exception {
+        final boolean mech = entity instanceof Mech;
+        final File file = File.createTempFile("mml", mech ? ".mtf" : ".blk");
+        try {
+            if (mech) {
+                try (PrintStream p = new PrintStream(new FileOutputStream(file))) {
+                    p.println(((Mech) entity).getMtf());
+                }
+            } else {
+                BLKFile.encode(file.getPath(), entity);
+            }
+            return new MechFileParser(file).getEntity();
+        } finally {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
     public static MMLogger getLogger() {
         return MegaMekLab.getLogger();
     }